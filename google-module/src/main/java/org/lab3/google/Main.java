@@ -203,7 +203,7 @@ public final class Main {
       }
     } catch (Exception e) {
       error = e.getMessage();
-      LOGGER.error("Error processing message: " + error);
+      LOGGER.error("Error processing message: {}", error);
       success = false;
     } finally {
       METRICS.recordRequest(operation, success);
@@ -13,6 +13,12 @@ public final class MonetizationEvent {
   private int itemId;
   private double amount;
 
+  /**
+   * Number of actions folded into this event. Only AD_VIEW events from a batch carry more than
+   * one; their itemId is 0 when the views belong to different ads.
+   */
+  private int views = 1;
+
   public MonetizationEvent() {}
 
   public MonetizationEvent(
@@ -67,4 +73,12 @@ public final class MonetizationEvent {
   public void setAmount(final double amountParam) {
     this.amount = amountParam;
   }
+
+  public int getViews() {
+    return views;
+  }
+
+  public void setViews(final int viewsParam) {
+    this.views = viewsParam;
+  }
 }
@@ -31,6 +31,7 @@ import com.google.api.services.sheets.v4.model.SpreadsheetProperties;
 import com.google.api.services.sheets.v4.model.ValueRange;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -401,8 +402,11 @@ public final class GoogleConnectionImpl implements GoogleConnection {
   private void handleAdViewEvent(
       final String spreadsheetId, final String appName, final MonetizationEvent event)
       throws IOException {
-    appendToSheet(
-        spreadsheetId, appName + " Watched Adds", List.of(event.getUserId(), event.getItemId()));
+    List<Object> row = List.of(event.getUserId(), event.getItemId());
+    appendRowsToSheet(
+        spreadsheetId,
+        appName + " Watched Adds",
+        Collections.nCopies(Math.max(1, event.getViews()), row));
 
     updateRevenueColumn(spreadsheetId, appName + " Revenue", "revenueFromAdds", event.getAmount());
 
@@ -412,7 +416,13 @@ public final class GoogleConnectionImpl implements GoogleConnection {
   private void appendToSheet(
       final String spreadsheetId, final String sheetName, final List<Object> rowData)
       throws IOException {
-    ValueRange body = new ValueRange().setValues(List.of(rowData)).setMajorDimension("ROWS");
+    appendRowsToSheet(spreadsheetId, sheetName, List.of(rowData));
+  }
+
+  private void appendRowsToSheet(
+      final String spreadsheetId, final String sheetName, final List<List<Object>> rows)
+      throws IOException {
+    ValueRange body = new ValueRange().setValues(rows).setMajorDimension("ROWS");
 
     sheetsService
         .spreadsheets()
@@ -0,0 +1,45 @@
+package org.lab3.google.service;
+
+import com.sun.net.httpserver.HttpExchange;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+final class HttpExchanges {
+  private static final String CONTENT_TYPE_HEADER = "Content-Type";
+  private static final String TEXT_CONTENT_TYPE = "text/plain; charset=utf-8";
+
+  private HttpExchanges() {
+    throw new UnsupportedOperationException("Utility class");
+  }
+
+  static Map<String, String> parseQuery(final HttpExchange exchange) {
+    String rawQuery = exchange.getRequestURI().getRawQuery();
+    Map<String, String> parameters = new HashMap<>();
+    if (rawQuery == null || rawQuery.isEmpty()) {
+      return parameters;
+    }
+    for (String pair : rawQuery.split("&")) {
+      int separator = pair.indexOf('=');
+      String key = separator >= 0 ? pair.substring(0, separator) : pair;
+      String value = separator >= 0 ? pair.substring(separator + 1) : "";
+      parameters.put(
+          URLDecoder.decode(key, StandardCharsets.UTF_8),
+          URLDecoder.decode(value, StandardCharsets.UTF_8));
+    }
+    return parameters;
+  }
+
+  static void respond(final HttpExchange exchange, final int status, final String body)
+      throws IOException {
+    byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+    exchange.getResponseHeaders().set(CONTENT_TYPE_HEADER, TEXT_CONTENT_TYPE);
+    exchange.sendResponseHeaders(status, bytes.length);
+    try (OutputStream outputStream = exchange.getResponseBody()) {
+      outputStream.write(bytes);
+    }
+  }
+}
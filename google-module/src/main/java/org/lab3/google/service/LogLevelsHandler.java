@@ -0,0 +1,74 @@
+package org.lab3.google.service;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import java.io.IOException;
+import java.util.Map;
+import org.lab.logger.FileLogger;
+import org.lab.logger.LogLevels;
+import org.lab.logger.Logger;
+import org.lab.logger.Severity;
+
+/**
+ * HTTP hook for logger thresholds, served by the management server. GET lists the levels,
+ * POST /loglevels?logger=google-module-db&amp;level=DEBUG changes one (an empty level resets it to
+ * the LOGGER_LEVEL_* environment value).
+ */
+public final class LogLevelsHandler implements HttpHandler {
+  private static final Logger LOGGER = FileLogger.getInstance("google-module");
+  private static final String GET_METHOD = "GET";
+  private static final String POST_METHOD = "POST";
+  private static final String LOGGER_PARAMETER = "logger";
+  private static final String LEVEL_PARAMETER = "level";
+  private static final String LINE_FORMAT = "%s=%s%n";
+  private static final int OK_STATUS = 200;
+  private static final int BAD_REQUEST_STATUS = 400;
+  private static final int METHOD_NOT_ALLOWED_STATUS = 405;
+
+  @Override
+  public void handle(final HttpExchange exchange) throws IOException {
+    try {
+      String method = exchange.getRequestMethod();
+      if (GET_METHOD.equals(method)) {
+        HttpExchanges.respond(exchange, OK_STATUS, describeLevels());
+      } else if (POST_METHOD.equals(method)) {
+        handleUpdate(exchange);
+      } else {
+        HttpExchanges.respond(exchange, METHOD_NOT_ALLOWED_STATUS, "Unsupported method: " + method);
+      }
+    } finally {
+      exchange.close();
+    }
+  }
+
+  private void handleUpdate(final HttpExchange exchange) throws IOException {
+    Map<String, String> parameters = HttpExchanges.parseQuery(exchange);
+    String loggerName = parameters.get(LOGGER_PARAMETER);
+    if (loggerName == null || loggerName.isBlank()) {
+      HttpExchanges.respond(exchange, BAD_REQUEST_STATUS, "Missing 'logger' parameter");
+      return;
+    }
+
+    String level = parameters.get(LEVEL_PARAMETER);
+    try {
+      Severity severity = level == null || level.isBlank() ? null : Severity.parse(level);
+      LogLevels.setLevel(loggerName, severity);
+    } catch (IllegalArgumentException illegalArgumentException) {
+      HttpExchanges.respond(exchange, BAD_REQUEST_STATUS, illegalArgumentException.getMessage());
+      return;
+    }
+
+    LOGGER.info("Log level of '{}' set to {}", loggerName, LogLevels.getLevel(loggerName));
+    HttpExchanges.respond(
+        exchange,
+        OK_STATUS,
+        String.format(LINE_FORMAT, loggerName, LogLevels.getLevel(loggerName)));
+  }
+
+  private String describeLevels() {
+    StringBuilder builder = new StringBuilder();
+    LogLevels.getLevels()
+        .forEach((name, severity) -> builder.append(String.format(LINE_FORMAT, name, severity)));
+    return builder.toString();
+  }
+}
@@ -0,0 +1,47 @@
+package org.lab3.google.service;
+
+import com.sun.net.httpserver.Filter;
+import com.sun.net.httpserver.HttpExchange;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * Rejects management requests that do not carry the shared secret from MANAGEMENT_TOKEN in the
+ * X-Management-Token header. Without a configured token every request is rejected, so the hooks
+ * stay closed unless an operator opts in.
+ */
+final class ManagementTokenFilter extends Filter {
+  private static final String TOKEN_HEADER = "X-Management-Token";
+  private static final int UNAUTHORIZED_STATUS = 401;
+
+  private final byte[] expectedToken;
+
+  ManagementTokenFilter(final String expectedTokenParam) {
+    this.expectedToken =
+        expectedTokenParam == null || expectedTokenParam.isBlank()
+            ? null
+            : expectedTokenParam.getBytes(StandardCharsets.UTF_8);
+  }
+
+  @Override
+  public void doFilter(final HttpExchange exchange, final Chain chain) throws IOException {
+    String token = exchange.getRequestHeaders().getFirst(TOKEN_HEADER);
+    if (expectedToken == null
+        || token == null
+        || !MessageDigest.isEqual(expectedToken, token.getBytes(StandardCharsets.UTF_8))) {
+      try {
+        HttpExchanges.respond(exchange, UNAUTHORIZED_STATUS, "Missing or invalid " + TOKEN_HEADER);
+      } finally {
+        exchange.close();
+      }
+      return;
+    }
+    chain.doFilter(exchange);
+  }
+
+  @Override
+  public String description() {
+    return "Shared-secret check for management hooks";
+  }
+}
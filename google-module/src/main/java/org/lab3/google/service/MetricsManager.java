@@ -1,16 +1,29 @@
 package org.lab3.google.service;
 
+import com.sun.net.httpserver.HttpServer;
 import io.prometheus.client.Counter;
 import io.prometheus.client.Histogram;
 import io.prometheus.client.exporter.HTTPServer;
 import java.io.IOException;
+import java.net.InetSocketAddress;
 import java.util.HashMap;
 import java.util.Map;
 import org.lab.logger.FileLogger;
 import org.lab.logger.Logger;
+import org.lab.logger.LoggerCollector;
+import org.lab3.google.config.EnvConfig;
 
 public final class MetricsManager {
   private static final int METRICS_PORT = 8080;
+  private static final int DEFAULT_BACKLOG = 0;
+  private static final String MANAGEMENT_HOST_KEY = "MANAGEMENT_HOST";
+  private static final String DEFAULT_MANAGEMENT_HOST = "127.0.0.1";
+  private static final String MANAGEMENT_PORT_KEY = "MANAGEMENT_PORT";
+  private static final String DEFAULT_MANAGEMENT_PORT = "8081";
+  private static final String MANAGEMENT_TOKEN_KEY = "MANAGEMENT_TOKEN";
+  private static final int STOP_DELAY_SECONDS = 0;
+  private static final String LOG_LEVELS_PATH = "/loglevels";
+  private static final String RECENT_LOGS_PATH = "/logs";
   private static MetricsManager instance;
   private static final Logger LOGGER = FileLogger.getInstance("google-module");
 
@@ -36,6 +49,7 @@ public final class MetricsManager {
   private final Counter topUpdates;
 
   private HTTPServer metricsServer;
+  private HttpServer managementServer;
 
   private MetricsManager() {
     totalRequests =
@@ -45,6 +59,9 @@ public final class MetricsManager {
             .register();
     LOGGER.info("Prometheus counter '" + TOTAL_REQUESTS_NAME + "' registered.");
 
+    new LoggerCollector().register();
+    LOGGER.info("Logger self-metrics collector registered.");
+
     successfulRequests =
         Counter.build()
             .name(SUCCESSFUL_REQUESTS_NAME)
@@ -104,27 +121,27 @@ public final class MetricsManager {
 
   public void recordFormCreated() {
     formsCreated.inc();
-    LOGGER.info("Recorded a new Google Form creation.");
+    LOGGER.debug("Recorded a new Google Form creation.");
   }
 
   public void recordSheetCreated() {
     sheetsCreated.inc();
-    LOGGER.info("Recorded a new Google Sheet creation.");
+    LOGGER.debug("Recorded a new Google Sheet creation.");
   }
 
   public void recordTabsCreated(final int count) {
     tabsCreated.inc(count);
-    LOGGER.info("Recorded creation of " + count + " tab(s) in a Google Sheet.");
+    LOGGER.debug("Recorded creation of {} tab(s) in a Google Sheet.", count);
   }
 
   public void recordRevenueUpdate() {
     revenueUpdates.inc();
-    LOGGER.info("Recorded a revenue update.");
+    LOGGER.debug("Recorded a revenue update.");
   }
 
   public void recordTopUpdate() {
     topUpdates.inc();
-    LOGGER.info("Recorded an update of the top apps.");
+    LOGGER.debug("Recorded an update of the top apps.");
   }
 
   private void initializeOperationCounters() {
@@ -158,6 +175,32 @@ public final class MetricsManager {
       metricsServer = new HTTPServer(METRICS_PORT);
       LOGGER.info("Prometheus HTTP server started on port: " + METRICS_PORT);
     }
+    if (managementServer == null) {
+      startManagementServer();
+    }
+  }
+
+  /**
+   * Log management hooks expose log contents and change logger state, so they are kept off the
+   * published Prometheus port: they listen on MANAGEMENT_HOST:MANAGEMENT_PORT (loopback by
+   * default) and require the MANAGEMENT_TOKEN shared secret.
+   */
+  private void startManagementServer() throws IOException {
+    String host = EnvConfig.get(MANAGEMENT_HOST_KEY, DEFAULT_MANAGEMENT_HOST);
+    int port = Integer.parseInt(EnvConfig.get(MANAGEMENT_PORT_KEY, DEFAULT_MANAGEMENT_PORT));
+    ManagementTokenFilter tokenFilter =
+        new ManagementTokenFilter(EnvConfig.get(MANAGEMENT_TOKEN_KEY));
+    managementServer = HttpServer.create(new InetSocketAddress(host, port), DEFAULT_BACKLOG);
+    managementServer
+        .createContext(LOG_LEVELS_PATH, new LogLevelsHandler())
+        .getFilters()
+        .add(tokenFilter);
+    managementServer
+        .createContext(RECENT_LOGS_PATH, new RecentLogsHandler())
+        .getFilters()
+        .add(tokenFilter);
+    managementServer.start();
+    LOGGER.info("Management HTTP server started on {}:{}", host, port);
   }
 
   public void stop() {
@@ -165,36 +208,38 @@ public final class MetricsManager {
       metricsServer.stop();
       LOGGER.info("Prometheus HTTP server stopped.");
     }
+    if (managementServer != null) {
+      managementServer.stop(STOP_DELAY_SECONDS);
+      LOGGER.info("Management HTTP server stopped.");
+    }
   }
 
   public void recordRequest(final String operation, final boolean success) {
     totalRequests.inc();
-    LOGGER.info("Total requests count incremented. Current total: " + totalRequests.get());
+    LOGGER.debug("Total requests count incremented. Current total: {}", totalRequests.get());
     if (success) {
       successfulRequests.inc();
-      LOGGER.info(
-          "Successful requests count incremented. Current successful: " + successfulRequests.get());
+      LOGGER.debug(
+          "Successful requests count incremented. Current successful: {}",
+          successfulRequests.get());
     } else {
       failedRequests.inc();
-      LOGGER.error("Failed requests count incremented. Current failed: " + failedRequests.get());
+      LOGGER.error("Failed requests count incremented. Current failed: {}", failedRequests.get());
     }
 
     Counter operationCounter = operationCounters.get(operation);
     if (operationCounter != null) {
       operationCounter.inc();
-      LOGGER.info(
-          "Operation '"
-              + operation
-              + "' count incremented. Current count: "
-              + operationCounter.get());
+      LOGGER.debug(
+          "Operation '{}' count incremented. Current count: {}", operation, operationCounter.get());
     } else {
-      LOGGER.error("No counter found for operation: " + operation);
+      LOGGER.error("No counter found for operation: {}", operation);
     }
   }
 
   public Histogram.Timer startRequestTimer() {
     Histogram.Timer timer = requestDuration.startTimer();
-    LOGGER.info("Started request timer.");
+    LOGGER.debug("Started request timer.");
     return timer;
   }
 }
@@ -0,0 +1,84 @@
+package org.lab3.google.service;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import org.lab.logger.RecentLogRecord;
+import org.lab.logger.RecentLogs;
+import org.lab.logger.Severity;
+
+/**
+ * Serves the in-memory ring of recent log lines from the management server. GET /logs accepts
+ * optional logger, traceId, level (minimum severity), contains and limit parameters and answers
+ * with matching lines, newest first, without reading from disk.
+ */
+public final class RecentLogsHandler implements HttpHandler {
+  private static final String GET_METHOD = "GET";
+  private static final String LOGGER_PARAMETER = "logger";
+  private static final String TRACE_ID_PARAMETER = "traceId";
+  private static final String LEVEL_PARAMETER = "level";
+  private static final String CONTAINS_PARAMETER = "contains";
+  private static final String LIMIT_PARAMETER = "limit";
+  private static final int DEFAULT_LIMIT = 100;
+  private static final int MAX_LIMIT = 2048;
+  private static final int OK_STATUS = 200;
+  private static final int BAD_REQUEST_STATUS = 400;
+  private static final int METHOD_NOT_ALLOWED_STATUS = 405;
+
+  @Override
+  public void handle(final HttpExchange exchange) throws IOException {
+    try {
+      if (!GET_METHOD.equals(exchange.getRequestMethod())) {
+        HttpExchanges.respond(
+            exchange,
+            METHOD_NOT_ALLOWED_STATUS,
+            "Unsupported method: " + exchange.getRequestMethod());
+        return;
+      }
+      Map<String, String> parameters = HttpExchanges.parseQuery(exchange);
+      List<RecentLogRecord> records;
+      try {
+        records =
+            RecentLogs.query(
+                emptyToNull(parameters.get(LOGGER_PARAMETER)),
+                emptyToNull(parameters.get(TRACE_ID_PARAMETER)),
+                parseLevel(parameters.get(LEVEL_PARAMETER)),
+                emptyToNull(parameters.get(CONTAINS_PARAMETER)),
+                parseLimit(parameters.get(LIMIT_PARAMETER)));
+      } catch (IllegalArgumentException illegalArgumentException) {
+        HttpExchanges.respond(
+            exchange, BAD_REQUEST_STATUS, illegalArgumentException.getMessage());
+        return;
+      }
+
+      StringBuilder body = new StringBuilder();
+      for (RecentLogRecord record : records) {
+        body.append(record.getLine()).append('\n');
+      }
+      HttpExchanges.respond(exchange, OK_STATUS, body.toString());
+    } finally {
+      exchange.close();
+    }
+  }
+
+  private static String emptyToNull(final String value) {
+    return value == null || value.isBlank() ? null : value;
+  }
+
+  private static Severity parseLevel(final String value) {
+    return emptyToNull(value) == null ? null : Severity.parse(value);
+  }
+
+  private static int parseLimit(final String value) {
+    if (emptyToNull(value) == null) {
+      return DEFAULT_LIMIT;
+    }
+    try {
+      return Math.max(1, Math.min(Integer.parseInt(value.trim()), MAX_LIMIT));
+    } catch (NumberFormatException numberFormatException) {
+      throw new IllegalArgumentException("Invalid limit: " + value);
+    }
+  }
+}
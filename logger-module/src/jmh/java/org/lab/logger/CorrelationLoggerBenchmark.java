@@ -0,0 +1,136 @@
+package org.lab.logger;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanContext;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures one {@code info(pattern, args...)} call on the real {@link CorrelationLogger} against
+ * the logger as it was before lines were encoded into a {@link LineBuffer}: {@code LocalTime.now()}
+ * plus {@code String.format} per line, with the message concatenated by the caller. The real call
+ * includes everything a production call pays for, the {@link LogEvent} and the {@link LogContext}
+ * snapshot among them, and {@code async} switches it to the {@link AsyncAppender} path. Standard
+ * output is discarded for both variants; both append to a log file, the baseline to a single file
+ * instead of the old file-per-flush so that file creation is not part of the number.
+ *
+ * <p>Run with the gc profiler to see allocation per call (gc.alloc.rate.norm):
+ *
+ * <pre>
+ * mvn -Pbenchmarks -pl logger-module test-compile exec:exec
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CorrelationLoggerBenchmark {
+  private static final String BASE_FILE_NAME = "benchmark";
+  private static final String PATTERN = "Processed request {} for user {} in {} ms";
+  private static final String REQUEST = "GET /api/apps";
+  private static final int USER_ID = 42;
+  private static final long ELAPSED_MILLIS = 17L;
+  private static final String DISABLED = "0";
+
+  @Param({"false", "true"})
+  private String async;
+
+  private PrintStream originalOut;
+  private CorrelationLogger logger;
+  private LegacyCorrelationLogger legacyLogger;
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    System.setProperty(LoggerConfig.ASYNC_ENABLED_KEY, async);
+    System.setProperty(LoggerConfig.RATE_LIMIT_PER_SECOND_KEY, DISABLED);
+    originalOut = System.out;
+    System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+    logger = CorrelationLogger.getInstance(BASE_FILE_NAME);
+    legacyLogger = new LegacyCorrelationLogger(Files.createTempFile(BASE_FILE_NAME, ".log"));
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    logger.flush();
+    Files.deleteIfExists(legacyLogger.logFile);
+    System.setOut(originalOut);
+  }
+
+  @Benchmark
+  public void legacyStringFormat() {
+    legacyLogger.info(
+        "Processed request " + REQUEST + " for user " + USER_ID + " in " + ELAPSED_MILLIS + " ms");
+  }
+
+  @Benchmark
+  public void correlationLogger() {
+    logger.info(PATTERN, REQUEST, USER_ID, ELAPSED_MILLIS);
+  }
+
+  /** The pre-LineBuffer CorrelationLogger text path, kept here only as a baseline. */
+  static final class LegacyCorrelationLogger {
+    private static final String LOG_MESSAGE_FORMAT = "[%s] [%s] [traceId=%s] %s%n";
+    private static final String SEVERITY_NAME = "INF";
+    private static final int BUFFER_SIZE = 50;
+    private static final DateTimeFormatter TIME_FORMATTER =
+        DateTimeFormatter.ofPattern(AbstractLogger.TIME_FORMAT_PATTERN);
+
+    private final Path logFile;
+    private final StringBuilder buffer = new StringBuilder();
+    private int currentBufferSize;
+
+    LegacyCorrelationLogger(final Path logFileParam) {
+      this.logFile = logFileParam;
+    }
+
+    synchronized void info(final String message) {
+      SpanContext spanContext = Span.current().getSpanContext();
+      String traceId = spanContext.isValid() ? spanContext.getTraceId() : "no-trace";
+      String formattedTime = LocalTime.now().format(TIME_FORMATTER);
+      String logMessage =
+          String.format(LOG_MESSAGE_FORMAT, formattedTime, SEVERITY_NAME, traceId, message);
+      System.out.print(logMessage);
+      buffer.append(logMessage);
+      currentBufferSize++;
+      if (currentBufferSize >= BUFFER_SIZE) {
+        saveToFile();
+      }
+    }
+
+    private void saveToFile() {
+      try {
+        Files.write(
+            logFile,
+            buffer.toString().getBytes(StandardCharsets.UTF_8),
+            StandardOpenOption.APPEND);
+      } catch (IOException ioException) {
+        System.err.println("Failed to write logs to file: " + ioException.getMessage());
+      }
+      buffer.setLength(0);
+      currentBufferSize = 0;
+    }
+  }
+}
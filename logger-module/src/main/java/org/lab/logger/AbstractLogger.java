@@ -2,35 +2,50 @@ package org.lab.logger;
 
 import java.io.File;
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.StandardOpenOption;
-import java.time.LocalDateTime;
-import java.time.LocalTime;
+import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
-import java.util.UUID;
+import java.util.Locale;
+import java.util.function.Supplier;
 
 public abstract class AbstractLogger implements Logger {
   protected static final int DEFAULT_BUFFER_SIZE = 50;
   protected static final String DEFAULT_LOG_DIRECTORY = "logs";
   protected static final String DEFAULT_BASE_FILE_NAME = "app";
   protected static final String TIME_FORMAT_PATTERN = "HH:mm:ss";
-  protected static final String DATE_TIME_FORMAT_PATTERN = "yyyyMMdd_HHmmss";
-  protected static final int UUID_SUBSTRING_LENGTH = 8;
-  protected static final String LOG_MESSAGE_FORMAT = "[%s] [%s] %s%n";
-  protected static final String LOG_FILE_NAME_FORMAT = "%s_%s_%s.log";
+  protected static final String TRACE_ID_PREFIX = "[traceId=";
+  protected static final String TRACE_ID_SUFFIX = "] ";
+  protected static final String NO_TRACE_ID = "no-trace";
+  private static final String SUPPRESSED_PATTERN =
+      "Suppressed {} similar lines in the last {}s: {}";
+  private static final String COUNT_FORMAT = "%,d";
+  protected static final int DEFAULT_QUEUE_CAPACITY = 8192;
+  protected static final String WRITER_THREAD_NAME_FORMAT = "logger-%s-writer";
+  private static final String TIME_PREFIX_FORMAT = "[%s] ";
+  private static final String SEVERITY_PREFIX_FORMAT = "[%s] ";
+  private static final String RENDERING_FAILED_PREFIX = "[message rendering failed: ";
+  private static final byte[] TRACE_ID_PREFIX_BYTES = LineBuffer.ascii(TRACE_ID_PREFIX);
+  private static final byte[] TRACE_ID_SUFFIX_BYTES = LineBuffer.ascii(TRACE_ID_SUFFIX);
+  private static final byte[] LINE_SEPARATOR_BYTES = LineBuffer.ascii(System.lineSeparator());
+  private static final byte[][] SEVERITY_PREFIXES = createSeverityPrefixes();
 
   private final int bufferSize;
   private final String logDirectory;
   private final String baseFileName;
-  private final StringBuilder buffer = new StringBuilder();
+  private final RollingFileWriter fileWriter;
   private int currentBufferSize = 0;
-  private File logFile;
   private boolean shutdownHookAdded = false;
+  private final AsyncAppender<LogEvent> appender;
+  private final LogLevels.Threshold threshold;
+  private final JsonLineEncoder jsonEncoder;
+  private final LoggerStats stats;
+  private final RecentLogs recentLogs;
+  private final LogRateLimiter rateLimiter;
 
   protected static final DateTimeFormatter TIME_FORMATTER =
       DateTimeFormatter.ofPattern(TIME_FORMAT_PATTERN);
-  protected static final DateTimeFormatter DATE_TIME_FORMATTER =
-      DateTimeFormatter.ofPattern(DATE_TIME_FORMAT_PATTERN);
+
+  private final TimestampCache timestampCache =
+      new TimestampCache(ZoneId.systemDefault(), TIME_FORMATTER, TIME_PREFIX_FORMAT);
 
   protected AbstractLogger() {
     this(DEFAULT_BUFFER_SIZE, DEFAULT_LOG_DIRECTORY, DEFAULT_BASE_FILE_NAME);
@@ -41,7 +56,17 @@ public abstract class AbstractLogger implements Logger {
     this.bufferSize = bufferSizeParam;
     this.logDirectory = logDirectoryParam;
     this.baseFileName = baseFileNameParam;
+    this.threshold = LogLevels.thresholdFor(baseFileNameParam);
+    this.stats = LoggerStats.forName(baseFileNameParam);
+    this.recentLogs = RecentLogs.forName(baseFileNameParam);
+    this.rateLimiter = LogRateLimiter.create(this::reportSuppressed);
+    this.jsonEncoder = createJsonEncoder(baseFileNameParam);
     createLogDirectory();
+    this.fileWriter = RollingFileWriter.forBaseName(logDirectoryParam, baseFileNameParam);
+    this.appender = createAppender();
+    if (appender != null) {
+      stats.addAppender(appender);
+    }
     addShutdownHook();
   }
 
@@ -57,10 +82,6 @@ public abstract class AbstractLogger implements Logger {
     return baseFileName;
   }
 
-  protected StringBuilder getBuffer() {
-    return buffer;
-  }
-
   protected int getCurrentBufferSize() {
     return currentBufferSize;
   }
@@ -69,20 +90,39 @@ public abstract class AbstractLogger implements Logger {
     this.currentBufferSize = newCurrentBufferSize;
   }
 
-  protected File getLogFile() {
-    return logFile;
+  protected boolean isShutdownHookAdded() {
+    return shutdownHookAdded;
   }
 
-  protected void setLogFile(final File newLogFile) {
-    this.logFile = newLogFile;
+  private static byte[][] createSeverityPrefixes() {
+    Severity[] severities = Severity.values();
+    byte[][] prefixes = new byte[severities.length][];
+    for (Severity severity : severities) {
+      prefixes[severity.ordinal()] =
+          LineBuffer.ascii(String.format(SEVERITY_PREFIX_FORMAT, severity.getLabel()));
+    }
+    return prefixes;
   }
 
-  protected boolean isShutdownHookAdded() {
-    return shutdownHookAdded;
+  private static JsonLineEncoder createJsonEncoder(final String loggerName) {
+    LogFormat format =
+        LoggerConfig.getEnum(LoggerConfig.FORMAT_KEY, LogFormat.class, LogFormat.TEXT);
+    return format == LogFormat.JSON ? new JsonLineEncoder(loggerName) : null;
   }
 
-  protected void setShutdownHookAdded(final boolean newShutdownHookAdded) {
-    this.shutdownHookAdded = newShutdownHookAdded;
+  private AsyncAppender<LogEvent> createAppender() {
+    if (!LoggerConfig.getBoolean(LoggerConfig.ASYNC_ENABLED_KEY, false)) {
+      return null;
+    }
+    int capacity = LoggerConfig.getInt(LoggerConfig.QUEUE_CAPACITY_KEY, DEFAULT_QUEUE_CAPACITY);
+    OverflowPolicy overflowPolicy =
+        LoggerConfig.getEnum(
+            LoggerConfig.OVERFLOW_POLICY_KEY, OverflowPolicy.class, OverflowPolicy.BLOCK);
+    return new AsyncAppender<>(
+        String.format(WRITER_THREAD_NAME_FORMAT, baseFileName),
+        capacity,
+        overflowPolicy,
+        this::writeEvent);
   }
 
   private void createLogDirectory() {
@@ -98,6 +138,12 @@ public abstract class AbstractLogger implements Logger {
           .addShutdownHook(
               new Thread(
                   () -> {
+                    if (rateLimiter != null) {
+                      rateLimiter.emitSummaries();
+                    }
+                    if (appender != null) {
+                      appender.shutdown();
+                    }
                     if (currentBufferSize > 0) {
                       System.out.println("Shutdown hook: flushing logs...");
                       flush();
@@ -107,57 +153,343 @@ public abstract class AbstractLogger implements Logger {
     }
   }
 
-  protected synchronized void logInternal(final Severity severity, final String message) {
-    LocalTime currentLocalTime = LocalTime.now();
-    String formattedTime = currentLocalTime.format(TIME_FORMATTER);
-    String logMessage = String.format(LOG_MESSAGE_FORMAT, formattedTime, severity.name(), message);
+  @Override
+  public void debug(final String message) {
+    logMessage(Severity.DEBUG, message);
+  }
+
+  @Override
+  public void debug(final String pattern, final Object argument) {
+    logPattern(Severity.DEBUG, pattern, argument);
+  }
 
-    if (logFile == null) {
-      logFile = createLogFile();
+  @Override
+  public void debug(final String pattern, final Object firstArgument, final Object secondArgument) {
+    logPattern(Severity.DEBUG, pattern, firstArgument, secondArgument);
+  }
+
+  @Override
+  public void debug(final String pattern, final Object... arguments) {
+    logPattern(Severity.DEBUG, pattern, arguments);
+  }
+
+  @Override
+  public void debug(final String pattern, final long argument) {
+    logLong(Severity.DEBUG, pattern, argument);
+  }
+
+  @Override
+  public void debug(final String pattern, final double argument) {
+    logDouble(Severity.DEBUG, pattern, argument);
+  }
+
+  @Override
+  public void debug(final Supplier<String> messageSupplier) {
+    logSupplier(Severity.DEBUG, messageSupplier);
+  }
+
+  @Override
+  public void info(final String message) {
+    logMessage(Severity.INFO, message);
+  }
+
+  @Override
+  public void info(final String pattern, final Object argument) {
+    logPattern(Severity.INFO, pattern, argument);
+  }
+
+  @Override
+  public void info(final String pattern, final Object firstArgument, final Object secondArgument) {
+    logPattern(Severity.INFO, pattern, firstArgument, secondArgument);
+  }
+
+  @Override
+  public void info(final String pattern, final Object... arguments) {
+    logPattern(Severity.INFO, pattern, arguments);
+  }
+
+  @Override
+  public void info(final String pattern, final long argument) {
+    logLong(Severity.INFO, pattern, argument);
+  }
+
+  @Override
+  public void info(final String pattern, final double argument) {
+    logDouble(Severity.INFO, pattern, argument);
+  }
+
+  @Override
+  public void info(final Supplier<String> messageSupplier) {
+    logSupplier(Severity.INFO, messageSupplier);
+  }
+
+  @Override
+  public void warn(final String message) {
+    logMessage(Severity.WARN, message);
+  }
+
+  @Override
+  public void warn(final String pattern, final Object argument) {
+    logPattern(Severity.WARN, pattern, argument);
+  }
+
+  @Override
+  public void warn(final String pattern, final Object firstArgument, final Object secondArgument) {
+    logPattern(Severity.WARN, pattern, firstArgument, secondArgument);
+  }
+
+  @Override
+  public void warn(final String pattern, final Object... arguments) {
+    logPattern(Severity.WARN, pattern, arguments);
+  }
+
+  @Override
+  public void warn(final String pattern, final long argument) {
+    logLong(Severity.WARN, pattern, argument);
+  }
+
+  @Override
+  public void warn(final String pattern, final double argument) {
+    logDouble(Severity.WARN, pattern, argument);
+  }
+
+  @Override
+  public void warn(final Supplier<String> messageSupplier) {
+    logSupplier(Severity.WARN, messageSupplier);
+  }
+
+  @Override
+  public void error(final String message) {
+    logMessage(Severity.ERROR, message);
+  }
+
+  @Override
+  public void error(final String pattern, final Object argument) {
+    logPattern(Severity.ERROR, pattern, argument);
+  }
+
+  @Override
+  public void error(final String pattern, final Object firstArgument, final Object secondArgument) {
+    logPattern(Severity.ERROR, pattern, firstArgument, secondArgument);
+  }
+
+  @Override
+  public void error(final String pattern, final Object... arguments) {
+    logPattern(Severity.ERROR, pattern, arguments);
+  }
+
+  @Override
+  public void error(final String pattern, final long argument) {
+    logLong(Severity.ERROR, pattern, argument);
+  }
+
+  @Override
+  public void error(final String pattern, final double argument) {
+    logDouble(Severity.ERROR, pattern, argument);
+  }
+
+  @Override
+  public void error(final Supplier<String> messageSupplier) {
+    logSupplier(Severity.ERROR, messageSupplier);
+  }
+
+  @Override
+  public boolean isDebugEnabled() {
+    return isEnabled(Severity.DEBUG);
+  }
+
+  @Override
+  public boolean isInfoEnabled() {
+    return isEnabled(Severity.INFO);
+  }
+
+  @Override
+  public boolean isWarnEnabled() {
+    return isEnabled(Severity.WARN);
+  }
+
+  @Override
+  public boolean isErrorEnabled() {
+    return isEnabled(Severity.ERROR);
+  }
+
+  protected boolean isEnabled(final Severity severity) {
+    return threshold.isEnabled(severity);
+  }
+
+  @Override
+  public LogScope with(final String key, final Object value) {
+    return new LogScope(LogContext.current()).with(key, value);
+  }
+
+  protected String currentTraceId() {
+    return null;
+  }
+
+  protected String currentSpanId() {
+    return null;
+  }
+
+  private String spanIdForEvent() {
+    return jsonEncoder != null ? currentSpanId() : null;
+  }
+
+  private boolean admit(final Severity severity, final Object template) {
+    if (rateLimiter == null || rateLimiter.tryAcquire(template, severity)) {
+      return true;
     }
+    stats.recordSuppressed();
+    return false;
+  }
 
-    System.out.print(logMessage);
-    buffer.append(logMessage);
-    currentBufferSize++;
+  private void reportSuppressed(final Severity severity, final Object template, final long count) {
+    if (isEnabled(severity)) {
+      Object[] arguments = {
+        String.format(Locale.US, COUNT_FORMAT, count), rateLimiter.getSummarySeconds(), template
+      };
+      dispatch(LogEvent.of(severity, null, null, SUPPRESSED_PATTERN, arguments));
+    }
+  }
 
-    if (currentBufferSize >= bufferSize) {
-      saveToFile();
-      logFile = createLogFile();
+  private void logMessage(final Severity severity, final String message) {
+    if (isEnabled(severity) && admit(severity, message)) {
+      dispatch(LogEvent.of(severity, currentTraceId(), spanIdForEvent(), message, null));
+    }
+  }
+
+  private void logPattern(
+      final Severity severity, final String pattern, final Object... arguments) {
+    if (isEnabled(severity) && admit(severity, pattern)) {
+      dispatch(LogEvent.of(severity, currentTraceId(), spanIdForEvent(), pattern, arguments));
     }
   }
 
-  protected File createLogFile() {
-    String timestamp = LocalDateTime.now().format(DATE_TIME_FORMATTER);
-    String uuid = UUID.randomUUID().toString().substring(0, UUID_SUBSTRING_LENGTH);
+  private void logLong(final Severity severity, final String pattern, final long value) {
+    if (isEnabled(severity) && admit(severity, pattern)) {
+      dispatch(LogEvent.ofLong(severity, currentTraceId(), spanIdForEvent(), pattern, value));
+    }
+  }
+
+  private void logDouble(final Severity severity, final String pattern, final double value) {
+    if (isEnabled(severity) && admit(severity, pattern)) {
+      dispatch(LogEvent.ofDouble(severity, currentTraceId(), spanIdForEvent(), pattern, value));
+    }
+  }
+
+  private void logSupplier(final Severity severity, final Supplier<String> messageSupplier) {
+    if (isEnabled(severity) && admit(severity, messageSupplier.getClass())) {
+      dispatch(LogEvent.ofSupplier(severity, currentTraceId(), spanIdForEvent(), messageSupplier));
+    }
+  }
+
+  private void dispatch(final LogEvent event) {
+    long startedAt = System.nanoTime();
+    if (appender != null) {
+      event.snapshotArguments();
+      appender.append(event);
+    } else {
+      writeEvent(event);
+    }
+    stats.recordEnqueue(System.nanoTime() - startedAt);
+  }
+
+  private void writeEvent(final LogEvent event) {
+    LineBuffer line = LineBuffer.current();
+    if (jsonEncoder != null) {
+      jsonEncoder.encode(event, line);
+    } else {
+      encodeText(event, line);
+    }
+    writeEncoded(line.array(), line.length(), indexedTraceId(event.getTraceId()));
+    stats.recordLine(event.getSeverity());
+    if (event.getSeverity() == Severity.ERROR
+        && fileWriter.getDurabilityMode() == DurabilityMode.SYNC_ON_ERROR) {
+      syncFile();
+    }
+    if (recentLogs != null) {
+      recentLogs.append(
+          event.getTimestampMillis(),
+          event.getSeverity(),
+          event.getTraceId(),
+          line.array(),
+          line.length());
+    }
+  }
+
+  private void encodeText(final LogEvent event, final LineBuffer line) {
+    line.append(timestampCache.prefix(event.getTimestampMillis()));
+    line.append(SEVERITY_PREFIXES[event.getSeverity().ordinal()]);
+    if (event.getTraceId() != null) {
+      line.append(TRACE_ID_PREFIX_BYTES).appendUtf8(event.getTraceId());
+      line.append(TRACE_ID_SUFFIX_BYTES);
+    }
+    StringBuilder message = line.text();
+    try {
+      event.appendMessage(message);
+    } catch (RuntimeException runtimeException) {
+      message.append(RENDERING_FAILED_PREFIX).append(runtimeException).append(']');
+    }
+    Object[] fields = event.getContextFields();
+    if (fields != null) {
+      for (int index = 0; index < fields.length; index += 2) {
+        message.append(' ').append(fields[index]).append('=');
+        MessagePattern.appendArgument(message, fields[index + 1]);
+      }
+    }
+    line.appendUtf8(message).append(LINE_SEPARATOR_BYTES);
+  }
+
+  private static String indexedTraceId(final String traceId) {
+    return NO_TRACE_ID.equals(traceId) ? null : traceId;
+  }
 
-    String fileName = String.format(LOG_FILE_NAME_FORMAT, baseFileName, timestamp, uuid);
-    File file = new File(logDirectory, fileName);
+  private synchronized void writeEncoded(
+      final byte[] bytes, final int length, final String traceId) {
+    System.out.write(bytes, 0, length);
     try {
-      file.createNewFile();
+      fileWriter.write(bytes, 0, length, traceId);
     } catch (IOException ioException) {
-      System.err.println("Failed to create log file: " + ioException.getMessage());
+      System.err.println("Failed to buffer log line: " + ioException.getMessage());
+    }
+    currentBufferSize++;
+
+    if (currentBufferSize >= bufferSize) {
+      saveToFile();
     }
-    return file;
   }
 
   protected synchronized void saveToFile() {
     try {
-      if (logFile != null && !buffer.isEmpty()) {
-        Files.write(logFile.toPath(), buffer.toString().getBytes(), StandardOpenOption.APPEND);
-        clearBuffer();
-      }
-    } catch (Exception exception) {
-      System.err.println("Failed to write logs to file: " + exception.getMessage());
+      fileWriter.flush();
+      currentBufferSize = 0;
+    } catch (IOException ioException) {
+      System.err.println("Failed to write logs to file: " + ioException.getMessage());
     }
   }
 
-  private void clearBuffer() {
-    buffer.setLength(0);
-    currentBufferSize = 0;
+  @Override
+  public void flush() {
+    if (appender != null) {
+      appender.awaitDrained();
+    }
+    flushBuffer();
+    if (fileWriter.getDurabilityMode() != DurabilityMode.BUFFERED) {
+      syncFile();
+    }
   }
 
-  @Override
-  public synchronized void flush() {
+  private void syncFile() {
+    try {
+      fileWriter.sync();
+      synchronized (this) {
+        currentBufferSize = 0;
+      }
+    } catch (IOException ioException) {
+      System.err.println("Failed to sync logs to disk: " + ioException.getMessage());
+    }
+  }
+
+  private synchronized void flushBuffer() {
     if (currentBufferSize > 0) {
       saveToFile();
     }
@@ -0,0 +1,121 @@
+package org.lab.logger;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Hands log entries over to a single background writer thread. Producers only enqueue into a
+ * lock-free ring buffer; what happens when it is full is decided by the {@link OverflowPolicy}.
+ */
+final class AsyncAppender<E> {
+  private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+  private static final long BLOCKED_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+  private static final long SHUTDOWN_TIMEOUT_MILLIS = 5000;
+  private static final long DRAIN_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(5);
+
+  private final RingBuffer<E> queue;
+  private final OverflowPolicy overflowPolicy;
+  private final Consumer<E> handler;
+  private final Thread writerThread;
+  private final AtomicLong droppedCount = new AtomicLong();
+  private volatile boolean running = true;
+  private volatile boolean busy;
+
+  AsyncAppender(
+      final String threadName,
+      final int capacity,
+      final OverflowPolicy overflowPolicyParam,
+      final Consumer<E> handlerParam) {
+    this.queue = new RingBuffer<>(capacity);
+    this.overflowPolicy = overflowPolicyParam;
+    this.handler = handlerParam;
+    this.writerThread = new Thread(this::drainLoop, threadName);
+    this.writerThread.setDaemon(true);
+    this.writerThread.start();
+  }
+
+  boolean append(final E element) {
+    if (!running) {
+      handler.accept(element);
+      return true;
+    }
+    if (queue.offer(element)) {
+      return true;
+    }
+
+    switch (overflowPolicy) {
+      case DROP_NEW:
+        droppedCount.incrementAndGet();
+        return false;
+      case DROP_OLDEST:
+        while (!queue.offer(element)) {
+          if (queue.poll() != null) {
+            droppedCount.incrementAndGet();
+          }
+        }
+        return true;
+      case BLOCK:
+      default:
+        while (!queue.offer(element)) {
+          if (!running) {
+            handler.accept(element);
+            return true;
+          }
+          LockSupport.parkNanos(BLOCKED_PARK_NANOS);
+        }
+        return true;
+    }
+  }
+
+  void awaitDrained() {
+    long deadline = System.nanoTime() + DRAIN_TIMEOUT_NANOS;
+    while ((!queue.isEmpty() || busy) && writerThread.isAlive()) {
+      if (System.nanoTime() - deadline > 0) {
+        return;
+      }
+      LockSupport.parkNanos(BLOCKED_PARK_NANOS);
+    }
+  }
+
+  void shutdown() {
+    running = false;
+    LockSupport.unpark(writerThread);
+    try {
+      writerThread.join(SHUTDOWN_TIMEOUT_MILLIS);
+    } catch (InterruptedException interruptedException) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  int getQueueSize() {
+    return queue.size();
+  }
+
+  int getCapacity() {
+    return queue.capacity();
+  }
+
+  long getDroppedCount() {
+    return droppedCount.get();
+  }
+
+  private void drainLoop() {
+    while (running || !queue.isEmpty()) {
+      busy = true;
+      E element = queue.poll();
+      if (element == null) {
+        busy = false;
+        LockSupport.parkNanos(IDLE_PARK_NANOS);
+        continue;
+      }
+      try {
+        handler.accept(element);
+      } catch (RuntimeException runtimeException) {
+        System.err.println("Failed to write log entry: " + runtimeException.getMessage());
+      }
+    }
+    busy = false;
+  }
+}
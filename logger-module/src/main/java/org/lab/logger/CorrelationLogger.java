@@ -2,13 +2,10 @@ package org.lab.logger;
 
 import io.opentelemetry.api.trace.Span;
 import io.opentelemetry.api.trace.SpanContext;
-import java.time.LocalTime;
 import java.util.HashMap;
 import java.util.Map;
 
 public final class CorrelationLogger extends AbstractLogger {
-  private static final String LOG_MESSAGE_FORMAT_WITH_CONTEXT = "[%s] [%s] [traceId=%s] %s%n";
-
   private static final Map<String, CorrelationLogger> LOGGER_INSTANCES = new HashMap<>();
 
   public static CorrelationLogger getInstance() {
@@ -29,57 +26,14 @@ public final class CorrelationLogger extends AbstractLogger {
   }
 
   @Override
-  public void info(final String message) {
-    logInternalWithContext(Severity.INF, message);
+  protected String currentTraceId() {
+    SpanContext spanContext = Span.current().getSpanContext();
+    return spanContext.isValid() ? spanContext.getTraceId() : NO_TRACE_ID;
   }
 
   @Override
-  public void error(final String message) {
-    logInternalWithContext(Severity.ERR, message);
-  }
-
-  private synchronized void logInternalWithContext(final Severity severity, final String message) {
-    Span currentSpan = Span.current();
-    SpanContext spanContext = currentSpan.getSpanContext();
-
-    String traceId = spanContext.isValid() ? spanContext.getTraceId() : "no-trace";
-    String correlationId = traceId;
-
-    String logMessage = createLogMessage(severity, message, traceId, correlationId);
-    writeLog(severity, logMessage);
-  }
-
-  private String createLogMessage(
-      final Severity severity,
-      final String message,
-      final String traceId,
-      final String correlationId) {
-    LocalTime currentLocalTime = LocalTime.now();
-    String formattedTime = currentLocalTime.format(TIME_FORMATTER);
-
-    if (correlationId != null && !correlationId.equals(traceId)) {
-      return String.format(
-          "[%s] [%s] [traceId=%s, correlationId=%s] %s%n",
-          formattedTime, severity.name(), traceId, correlationId, message);
-    }
-
-    return String.format(
-        LOG_MESSAGE_FORMAT_WITH_CONTEXT, formattedTime, severity.name(), traceId, message);
-  }
-
-  private void writeLog(final Severity severity, final String logMessage) {
-    System.out.print(logMessage);
-
-    if (getLogFile() == null) {
-      setLogFile(createLogFile());
-    }
-
-    getBuffer().append(logMessage);
-    setCurrentBufferSize(getCurrentBufferSize() + 1);
-
-    if (getCurrentBufferSize() >= getBufferSize()) {
-      saveToFile();
-      setLogFile(createLogFile());
-    }
+  protected String currentSpanId() {
+    SpanContext spanContext = Span.current().getSpanContext();
+    return spanContext.isValid() ? spanContext.getSpanId() : null;
   }
 }
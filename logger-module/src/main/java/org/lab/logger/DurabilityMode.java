@@ -0,0 +1,7 @@
+package org.lab.logger;
+
+public enum DurabilityMode {
+  BUFFERED,
+  GROUP_COMMIT,
+  SYNC_ON_ERROR
+}
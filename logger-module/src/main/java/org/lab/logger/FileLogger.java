@@ -22,14 +22,4 @@ public final class FileLogger extends AbstractLogger {
       final int bufferSizeParam, final String logDirectoryParam, final String baseFileNameParam) {
     super(bufferSizeParam, logDirectoryParam, baseFileNameParam);
   }
-
-  @Override
-  public void info(final String message) {
-    logInternal(Severity.INF, message);
-  }
-
-  @Override
-  public void error(final String message) {
-    logInternal(Severity.ERR, message);
-  }
 }
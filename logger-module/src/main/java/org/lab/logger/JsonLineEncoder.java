@@ -0,0 +1,114 @@
+package org.lab.logger;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+
+/**
+ * Writes an event as one JSON object per line straight into a {@link LineBuffer}. Context pairs
+ * become top-level fields after the fixed ones; numbers and booleans keep their JSON types.
+ */
+final class JsonLineEncoder {
+  private static final String TIMESTAMP_PATTERN = "yyyy-MM-dd'T'HH:mm:ss";
+  private static final String TIMESTAMP_PREFIX_FORMAT = "{\"timestamp\":\"%s.";
+  private static final String LEVEL_FIELD_FORMAT = "Z\",\"level\":\"%s\"";
+  private static final String RENDERING_FAILED_PREFIX = "[message rendering failed: ";
+  private static final long MILLIS_PER_SECOND = 1000;
+  private static final byte[] LOGGER_FIELD = LineBuffer.ascii(",\"logger\":\"");
+  private static final byte[] TRACE_ID_FIELD = LineBuffer.ascii(",\"traceId\":\"");
+  private static final byte[] SPAN_ID_FIELD = LineBuffer.ascii(",\"spanId\":\"");
+  private static final byte[] THREAD_FIELD = LineBuffer.ascii(",\"thread\":\"");
+  private static final byte[] MESSAGE_FIELD = LineBuffer.ascii(",\"message\":\"");
+  private static final byte[] FIELD_START = LineBuffer.ascii(",\"");
+  private static final byte[] FIELD_SEPARATOR = LineBuffer.ascii("\":");
+  private static final byte[] QUOTE = LineBuffer.ascii("\"");
+  private static final byte[] NULL_VALUE = LineBuffer.ascii("null");
+  private static final byte[] TRUE_VALUE = LineBuffer.ascii("true");
+  private static final byte[] FALSE_VALUE = LineBuffer.ascii("false");
+  private static final byte[] LINE_END = LineBuffer.ascii("}\n");
+  private static final byte[][] LEVEL_FIELDS = createLevelFields();
+
+  private final TimestampCache timestampCache =
+      new TimestampCache(
+          ZoneOffset.UTC, DateTimeFormatter.ofPattern(TIMESTAMP_PATTERN), TIMESTAMP_PREFIX_FORMAT);
+  private final byte[] loggerField;
+
+  JsonLineEncoder(final String loggerName) {
+    LineBuffer buffer =
+        new LineBuffer().append(LOGGER_FIELD).appendJsonString(loggerName).append(QUOTE);
+    this.loggerField = Arrays.copyOf(buffer.array(), buffer.length());
+  }
+
+  void encode(final LogEvent event, final LineBuffer line) {
+    long timestampMillis = event.getTimestampMillis();
+    line.append(timestampCache.prefix(timestampMillis));
+    line.appendThreeDigits((int) Math.floorMod(timestampMillis, MILLIS_PER_SECOND));
+    line.append(LEVEL_FIELDS[event.getSeverity().ordinal()]).append(loggerField);
+    appendStringField(line, TRACE_ID_FIELD, event.getTraceId());
+    appendStringField(line, SPAN_ID_FIELD, event.getSpanId());
+    appendStringField(line, THREAD_FIELD, event.getThreadName());
+
+    StringBuilder message = line.text();
+    try {
+      event.appendMessage(message);
+    } catch (RuntimeException runtimeException) {
+      message.append(RENDERING_FAILED_PREFIX).append(runtimeException).append(']');
+    }
+    line.append(MESSAGE_FIELD).appendJsonString(message).append(QUOTE);
+
+    Object[] fields = event.getContextFields();
+    if (fields != null) {
+      for (int index = 0; index < fields.length; index += 2) {
+        line.append(FIELD_START).appendJsonString((String) fields[index]).append(FIELD_SEPARATOR);
+        appendValue(line, fields[index + 1]);
+      }
+    }
+    line.append(LINE_END);
+  }
+
+  private static void appendStringField(
+      final LineBuffer line, final byte[] fieldStart, final String value) {
+    if (value != null) {
+      line.append(fieldStart).appendJsonString(value).append(QUOTE);
+    }
+  }
+
+  private static void appendValue(final LineBuffer line, final Object value) {
+    if (value == null) {
+      line.append(NULL_VALUE);
+    } else if (value instanceof Boolean flag) {
+      line.append(flag ? TRUE_VALUE : FALSE_VALUE);
+    } else if (value instanceof Long || value instanceof Integer
+        || value instanceof Short || value instanceof Byte) {
+      line.appendLong(((Number) value).longValue());
+    } else if (isFiniteDecimal(value)) {
+      line.appendUtf8(line.text().append(value));
+    } else {
+      StringBuilder text = line.text();
+      MessagePattern.appendArgument(text, value);
+      line.append(QUOTE).appendJsonString(text).append(QUOTE);
+    }
+  }
+
+  private static boolean isFiniteDecimal(final Object value) {
+    if (value instanceof Double number) {
+      return Double.isFinite(number);
+    }
+    if (value instanceof Float number) {
+      return Float.isFinite(number);
+    }
+    return value instanceof BigDecimal || value instanceof BigInteger;
+  }
+
+  private static byte[][] createLevelFields() {
+    Severity[] severities = Severity.values();
+    byte[][] fields = new byte[severities.length][];
+    for (Severity severity : severities) {
+      fields[severity.ordinal()] =
+          LineBuffer.ascii(String.format(LEVEL_FIELD_FORMAT, severity.name()));
+    }
+    return fields;
+  }
+}
@@ -0,0 +1,75 @@
+package org.lab.logger;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fixed-bucket latency histogram that is cheap to update from many threads. Buckets grow roughly
+ * by powers of ten from one microsecond to one second; anything slower lands in the last one.
+ */
+public final class LatencyHistogram {
+  private static final long[] BOUNDS_NANOS = {
+    TimeUnit.MICROSECONDS.toNanos(1),
+    TimeUnit.MICROSECONDS.toNanos(5),
+    TimeUnit.MICROSECONDS.toNanos(10),
+    TimeUnit.MICROSECONDS.toNanos(50),
+    TimeUnit.MICROSECONDS.toNanos(100),
+    TimeUnit.MICROSECONDS.toNanos(500),
+    TimeUnit.MILLISECONDS.toNanos(1),
+    TimeUnit.MILLISECONDS.toNanos(5),
+    TimeUnit.MILLISECONDS.toNanos(10),
+    TimeUnit.MILLISECONDS.toNanos(50),
+    TimeUnit.MILLISECONDS.toNanos(100),
+    TimeUnit.MILLISECONDS.toNanos(500),
+    TimeUnit.SECONDS.toNanos(1)
+  };
+
+  private final LongAdder[] buckets = new LongAdder[BOUNDS_NANOS.length + 1];
+  private final LongAdder count = new LongAdder();
+  private final LongAdder sumNanos = new LongAdder();
+  private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+  LatencyHistogram() {
+    for (int index = 0; index < buckets.length; index++) {
+      buckets[index] = new LongAdder();
+    }
+  }
+
+  void record(final long nanos) {
+    int index = 0;
+    while (index < BOUNDS_NANOS.length && nanos > BOUNDS_NANOS[index]) {
+      index++;
+    }
+    buckets[index].increment();
+    count.increment();
+    sumNanos.add(nanos);
+    maxNanos.accumulate(nanos);
+  }
+
+  public long[] getBucketBoundsNanos() {
+    return BOUNDS_NANOS.clone();
+  }
+
+  public long[] getCumulativeCounts() {
+    long[] cumulative = new long[buckets.length];
+    long total = 0;
+    for (int index = 0; index < buckets.length; index++) {
+      total += buckets[index].sum();
+      cumulative[index] = total;
+    }
+    return cumulative;
+  }
+
+  public long getCount() {
+    return count.sum();
+  }
+
+  public long getSumNanos() {
+    return sumNanos.sum();
+  }
+
+  public long getMaxNanos() {
+    return maxNanos.get();
+  }
+}
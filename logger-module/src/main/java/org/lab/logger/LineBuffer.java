@@ -0,0 +1,183 @@
+package org.lab.logger;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Reusable UTF-8 byte buffer for one rendered log line. Each thread that formats lines keeps its
+ * own instance, so the hot path only copies characters into an array it already owns.
+ */
+final class LineBuffer {
+  private static final int INITIAL_CAPACITY = 512;
+  private static final int MAX_RETAINED_CAPACITY = 64 * 1024;
+  private static final int ONE_BYTE_LIMIT = 0x80;
+  private static final int TWO_BYTE_LIMIT = 0x800;
+  private static final int TWO_BYTE_LEAD = 0xC0;
+  private static final int THREE_BYTE_LEAD = 0xE0;
+  private static final int FOUR_BYTE_LEAD = 0xF0;
+  private static final int CONTINUATION = 0x80;
+  private static final int CONTINUATION_MASK = 0x3F;
+  private static final int SIX_BITS = 6;
+  private static final int TWELVE_BITS = 12;
+  private static final int EIGHTEEN_BITS = 18;
+  private static final int MAX_BYTES_PER_CHAR = 3;
+  private static final int MAX_BYTES_PER_ESCAPED_CHAR = 6;
+  private static final int MAX_LONG_DIGITS = 20;
+  private static final int FIRST_PRINTABLE = 0x20;
+  private static final int HEX_RADIX = 16;
+  private static final int DECIMAL_RADIX = 10;
+  private static final int HUNDREDS = 100;
+  private static final byte[] HEX_DIGITS = ascii("0123456789abcdef");
+  private static final byte[] UNICODE_ESCAPE = ascii("\\u00");
+  private static final byte[] LONG_MIN_VALUE = ascii(Long.toString(Long.MIN_VALUE));
+  private static final byte REPLACEMENT = '?';
+
+  private static final ThreadLocal<LineBuffer> CURRENT = ThreadLocal.withInitial(LineBuffer::new);
+
+  private final StringBuilder text = new StringBuilder(INITIAL_CAPACITY);
+  private byte[] bytes = new byte[INITIAL_CAPACITY];
+  private int length;
+
+  static LineBuffer current() {
+    LineBuffer buffer = CURRENT.get();
+    buffer.reset();
+    return buffer;
+  }
+
+  static byte[] ascii(final String value) {
+    return value.getBytes(StandardCharsets.US_ASCII);
+  }
+
+  StringBuilder text() {
+    text.setLength(0);
+    return text;
+  }
+
+  byte[] array() {
+    return bytes;
+  }
+
+  int length() {
+    return length;
+  }
+
+  LineBuffer append(final byte[] source) {
+    ensureCapacity(source.length);
+    System.arraycopy(source, 0, bytes, length, source.length);
+    length += source.length;
+    return this;
+  }
+
+  LineBuffer appendUtf8(final CharSequence source) {
+    return appendEncoded(source, false);
+  }
+
+  LineBuffer appendJsonString(final CharSequence source) {
+    return appendEncoded(source, true);
+  }
+
+  LineBuffer appendLong(final long value) {
+    if (value == Long.MIN_VALUE) {
+      return append(LONG_MIN_VALUE);
+    }
+    ensureCapacity(MAX_LONG_DIGITS);
+    long remaining = value;
+    if (remaining < 0) {
+      bytes[length++] = '-';
+      remaining = -remaining;
+    }
+    int start = length;
+    do {
+      bytes[length++] = (byte) ('0' + remaining % DECIMAL_RADIX);
+      remaining /= DECIMAL_RADIX;
+    } while (remaining > 0);
+    for (int left = start, right = length - 1; left < right; left++, right--) {
+      byte swapped = bytes[left];
+      bytes[left] = bytes[right];
+      bytes[right] = swapped;
+    }
+    return this;
+  }
+
+  LineBuffer appendThreeDigits(final int value) {
+    ensureCapacity(MAX_BYTES_PER_CHAR);
+    bytes[length++] = (byte) ('0' + value / HUNDREDS % DECIMAL_RADIX);
+    bytes[length++] = (byte) ('0' + value / DECIMAL_RADIX % DECIMAL_RADIX);
+    bytes[length++] = (byte) ('0' + value % DECIMAL_RADIX);
+    return this;
+  }
+
+  private LineBuffer appendEncoded(final CharSequence source, final boolean escapeJson) {
+    int size = source.length();
+    ensureCapacity(size * (escapeJson ? MAX_BYTES_PER_ESCAPED_CHAR : MAX_BYTES_PER_CHAR));
+    for (int index = 0; index < size; index++) {
+      char current = source.charAt(index);
+      if (escapeJson && (current < FIRST_PRINTABLE || current == '"' || current == '\\')) {
+        appendJsonEscape(current);
+      } else if (current < ONE_BYTE_LIMIT) {
+        bytes[length++] = (byte) current;
+      } else if (current < TWO_BYTE_LIMIT) {
+        bytes[length++] = (byte) (TWO_BYTE_LEAD | current >> SIX_BITS);
+        bytes[length++] = (byte) (CONTINUATION | current & CONTINUATION_MASK);
+      } else if (Character.isSurrogate(current)) {
+        index = appendSurrogatePair(source, index);
+      } else {
+        bytes[length++] = (byte) (THREE_BYTE_LEAD | current >> TWELVE_BITS);
+        bytes[length++] = (byte) (CONTINUATION | current >> SIX_BITS & CONTINUATION_MASK);
+        bytes[length++] = (byte) (CONTINUATION | current & CONTINUATION_MASK);
+      }
+    }
+    return this;
+  }
+
+  private void appendJsonEscape(final char current) {
+    bytes[length++] = '\\';
+    switch (current) {
+      case '"', '\\' -> bytes[length++] = (byte) current;
+      case '\n' -> bytes[length++] = 'n';
+      case '\r' -> bytes[length++] = 'r';
+      case '\t' -> bytes[length++] = 't';
+      default -> {
+        length--;
+        System.arraycopy(UNICODE_ESCAPE, 0, bytes, length, UNICODE_ESCAPE.length);
+        length += UNICODE_ESCAPE.length;
+        bytes[length++] = HEX_DIGITS[current / HEX_RADIX];
+        bytes[length++] = HEX_DIGITS[current % HEX_RADIX];
+      }
+    }
+  }
+
+  private int appendSurrogatePair(final CharSequence source, final int index) {
+    char high = source.charAt(index);
+    if (!Character.isHighSurrogate(high)
+        || index + 1 >= source.length()
+        || !Character.isLowSurrogate(source.charAt(index + 1))) {
+      bytes[length++] = REPLACEMENT;
+      return index;
+    }
+    int codePoint = Character.toCodePoint(high, source.charAt(index + 1));
+    bytes[length++] = (byte) (FOUR_BYTE_LEAD | codePoint >> EIGHTEEN_BITS);
+    bytes[length++] = (byte) (CONTINUATION | codePoint >> TWELVE_BITS & CONTINUATION_MASK);
+    bytes[length++] = (byte) (CONTINUATION | codePoint >> SIX_BITS & CONTINUATION_MASK);
+    bytes[length++] = (byte) (CONTINUATION | codePoint & CONTINUATION_MASK);
+    return index + 1;
+  }
+
+  private void ensureCapacity(final int additional) {
+    int required = length + additional;
+    if (required > bytes.length) {
+      bytes = Arrays.copyOf(bytes, Math.max(required, bytes.length * 2));
+    }
+  }
+
+  private void reset() {
+    length = 0;
+    if (bytes.length > MAX_RETAINED_CAPACITY) {
+      bytes = new byte[INITIAL_CAPACITY];
+    }
+    if (text.capacity() > MAX_RETAINED_CAPACITY) {
+      text.setLength(0);
+      text.trimToSize();
+    }
+  }
+}
@@ -0,0 +1,80 @@
+package org.lab.logger;
+
+import java.util.Arrays;
+
+/**
+ * Per-thread stack of key-value pairs attached to every event logged on that thread. Pairs are
+ * pushed by {@link LogScope} and popped when the scope closes; events keep a compact copy.
+ */
+final class LogContext {
+  private static final int INITIAL_CAPACITY = 8;
+
+  private static final ThreadLocal<LogContext> CURRENT = ThreadLocal.withInitial(LogContext::new);
+
+  private String[] keys = new String[INITIAL_CAPACITY];
+  private Object[] values = new Object[INITIAL_CAPACITY];
+  private int size;
+
+  static LogContext current() {
+    return CURRENT.get();
+  }
+
+  static Object[] snapshot() {
+    return CURRENT.get().copyFields();
+  }
+
+  int size() {
+    return size;
+  }
+
+  void push(final String key, final Object value) {
+    if (key == null) {
+      throw new IllegalArgumentException("Context key must not be null");
+    }
+    if (size == keys.length) {
+      keys = Arrays.copyOf(keys, size * 2);
+      values = Arrays.copyOf(values, size * 2);
+    }
+    keys[size] = key;
+    values[size] = value;
+    size++;
+  }
+
+  void truncate(final int newSize) {
+    for (int index = newSize; index < size; index++) {
+      keys[index] = null;
+      values[index] = null;
+    }
+    size = Math.min(size, newSize);
+  }
+
+  private Object[] copyFields() {
+    if (size == 0) {
+      return null;
+    }
+    int visible = 0;
+    for (int index = 0; index < size; index++) {
+      if (!isShadowed(index)) {
+        visible++;
+      }
+    }
+    Object[] fields = new Object[visible * 2];
+    int position = 0;
+    for (int index = 0; index < size; index++) {
+      if (!isShadowed(index)) {
+        fields[position++] = keys[index];
+        fields[position++] = values[index];
+      }
+    }
+    return fields;
+  }
+
+  private boolean isShadowed(final int index) {
+    for (int later = index + 1; later < size; later++) {
+      if (keys[later].equals(keys[index])) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
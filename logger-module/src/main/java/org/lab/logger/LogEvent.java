@@ -0,0 +1,186 @@
+package org.lab.logger;
+
+import java.util.function.Supplier;
+
+/**
+ * Everything captured on the calling thread for one log call. The message itself is rendered later,
+ * by whichever thread writes the event out; before an event is queued for another thread, {@link
+ * #snapshotArguments} renders the arguments that could still change.
+ */
+final class LogEvent {
+  private static final int NO_PRIMITIVE = 0;
+  private static final int LONG_PRIMITIVE = 1;
+  private static final int DOUBLE_PRIMITIVE = 2;
+
+  private final Severity severity;
+  private final long timestampMillis;
+  private final String traceId;
+  private final String spanId;
+  private final String threadName;
+  private final Object[] contextFields;
+  private final String pattern;
+  private Object[] arguments;
+  private final Supplier<String> messageSupplier;
+  private final int primitiveKind;
+  private final long primitiveBits;
+
+  private LogEvent(
+      final Severity severityParam,
+      final String traceIdParam,
+      final String spanIdParam,
+      final String patternParam,
+      final Object[] argumentsParam,
+      final Supplier<String> messageSupplierParam,
+      final int primitiveKindParam,
+      final long primitiveBitsParam) {
+    this.severity = severityParam;
+    this.timestampMillis = System.currentTimeMillis();
+    this.traceId = traceIdParam;
+    this.spanId = spanIdParam;
+    this.threadName = Thread.currentThread().getName();
+    this.contextFields = LogContext.snapshot();
+    this.pattern = patternParam;
+    this.arguments = argumentsParam;
+    this.messageSupplier = messageSupplierParam;
+    this.primitiveKind = primitiveKindParam;
+    this.primitiveBits = primitiveBitsParam;
+  }
+
+  static LogEvent of(
+      final Severity severity,
+      final String traceId,
+      final String spanId,
+      final String pattern,
+      final Object[] arguments) {
+    return new LogEvent(severity, traceId, spanId, pattern, arguments, null, NO_PRIMITIVE, 0);
+  }
+
+  static LogEvent ofLong(
+      final Severity severity,
+      final String traceId,
+      final String spanId,
+      final String pattern,
+      final long value) {
+    return new LogEvent(severity, traceId, spanId, pattern, null, null, LONG_PRIMITIVE, value);
+  }
+
+  static LogEvent ofDouble(
+      final Severity severity,
+      final String traceId,
+      final String spanId,
+      final String pattern,
+      final double value) {
+    long bits = Double.doubleToRawLongBits(value);
+    return new LogEvent(severity, traceId, spanId, pattern, null, null, DOUBLE_PRIMITIVE, bits);
+  }
+
+  static LogEvent ofSupplier(
+      final Severity severity,
+      final String traceId,
+      final String spanId,
+      final Supplier<String> messageSupplier) {
+    return new LogEvent(severity, traceId, spanId, null, null, messageSupplier, NO_PRIMITIVE, 0);
+  }
+
+  Severity getSeverity() {
+    return severity;
+  }
+
+  long getTimestampMillis() {
+    return timestampMillis;
+  }
+
+  String getTraceId() {
+    return traceId;
+  }
+
+  String getSpanId() {
+    return spanId;
+  }
+
+  String getThreadName() {
+    return threadName;
+  }
+
+  Object[] getContextFields() {
+    return contextFields;
+  }
+
+  /**
+   * Replaces arguments that are not known to be immutable with their rendered text, so an event
+   * written by the async appender shows the values as they were at the call. Strings, primitive
+   * wrappers and enums are kept as they are; the caller's array is copied, never modified.
+   */
+  void snapshotArguments() {
+    if (arguments == null) {
+      return;
+    }
+    Object[] snapshot = null;
+    for (int index = 0; index < arguments.length; index++) {
+      Object argument = arguments[index];
+      if (isImmutable(argument)) {
+        continue;
+      }
+      if (snapshot == null) {
+        snapshot = arguments.clone();
+      }
+      StringBuilder rendered = new StringBuilder();
+      MessagePattern.appendArgument(rendered, argument);
+      snapshot[index] = rendered.toString();
+    }
+    if (snapshot != null) {
+      arguments = snapshot;
+    }
+  }
+
+  private static boolean isImmutable(final Object argument) {
+    return argument == null
+        || argument instanceof String
+        || argument instanceof Integer
+        || argument instanceof Long
+        || argument instanceof Double
+        || argument instanceof Boolean
+        || argument instanceof Character
+        || argument instanceof Float
+        || argument instanceof Short
+        || argument instanceof Byte
+        || argument instanceof Enum<?>;
+  }
+
+  void appendMessage(final StringBuilder target) {
+    if (messageSupplier != null) {
+      target.append(messageSupplier.get());
+      return;
+    }
+    if (pattern == null) {
+      target.append((String) null);
+      return;
+    }
+
+    int objectCount = arguments != null ? arguments.length : 0;
+    int argumentCount = objectCount + (primitiveKind != NO_PRIMITIVE ? 1 : 0);
+    int start = 0;
+    for (int index = 0; index < argumentCount; index++) {
+      int placeholder = pattern.indexOf(MessagePattern.PLACEHOLDER, start);
+      if (placeholder < 0) {
+        break;
+      }
+      target.append(pattern, start, placeholder);
+      if (index < objectCount) {
+        MessagePattern.appendArgument(target, arguments[index]);
+      } else {
+        appendPrimitive(target);
+      }
+      start = placeholder + MessagePattern.PLACEHOLDER.length();
+    }
+    target.append(pattern, start, pattern.length());
+  }
+
+  private void appendPrimitive(final StringBuilder target) {
+    if (primitiveKind == DOUBLE_PRIMITIVE) {
+      target.append(Double.longBitsToDouble(primitiveBits));
+    } else {
+      target.append(primitiveBits);
+    }
+  }
+}
@@ -0,0 +1,6 @@
+package org.lab.logger;
+
+public enum LogFormat {
+  TEXT,
+  JSON
+}
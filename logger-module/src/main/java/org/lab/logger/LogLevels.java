@@ -0,0 +1,64 @@
+package org.lab.logger;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Severity thresholds per named logger. Initial values come from LOGGER_LEVEL_&lt;NAME&gt; (for
+ * example LOGGER_LEVEL_GOOGLE_MODULE_DB) or LOGGER_LEVEL, and can be changed at runtime.
+ */
+public final class LogLevels {
+  public static final String DEFAULT_LEVEL_KEY = "LOGGER_LEVEL";
+  private static final String LEVEL_KEY_PREFIX = "LOGGER_LEVEL_";
+  private static final String KEY_SEPARATOR_PATTERN = "[^A-Z0-9]";
+  private static final String KEY_SEPARATOR = "_";
+  private static final Severity DEFAULT_LEVEL = Severity.INFO;
+
+  private static final Map<String, Threshold> THRESHOLDS = new ConcurrentHashMap<>();
+
+  private LogLevels() {
+    throw new UnsupportedOperationException("Utility class");
+  }
+
+  public static Severity getLevel(final String loggerName) {
+    return thresholdFor(loggerName).level;
+  }
+
+  public static void setLevel(final String loggerName, final Severity level) {
+    thresholdFor(loggerName).level = level != null ? level : configuredLevel(loggerName);
+  }
+
+  public static Map<String, Severity> getLevels() {
+    Map<String, Severity> levels = new TreeMap<>();
+    THRESHOLDS.forEach((name, threshold) -> levels.put(name, threshold.level));
+    return levels;
+  }
+
+  static Threshold thresholdFor(final String loggerName) {
+    return THRESHOLDS.computeIfAbsent(
+        loggerName, name -> new Threshold(configuredLevel(name)));
+  }
+
+  private static Severity configuredLevel(final String loggerName) {
+    Severity defaultLevel =
+        LoggerConfig.getEnum(DEFAULT_LEVEL_KEY, Severity.class, DEFAULT_LEVEL);
+    String key =
+        LEVEL_KEY_PREFIX
+            + loggerName.toUpperCase(Locale.ROOT).replaceAll(KEY_SEPARATOR_PATTERN, KEY_SEPARATOR);
+    return LoggerConfig.getEnum(key, Severity.class, defaultLevel);
+  }
+
+  static final class Threshold {
+    private volatile Severity level;
+
+    private Threshold(final Severity levelParam) {
+      this.level = levelParam;
+    }
+
+    boolean isEnabled(final Severity severity) {
+      return severity.ordinal() >= level.ordinal();
+    }
+  }
+}
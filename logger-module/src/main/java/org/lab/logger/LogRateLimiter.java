@@ -0,0 +1,128 @@
+package org.lab.logger;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Token bucket per message template, so a single line repeated in a failure storm cannot flood the
+ * log. Buckets use the generic cell rate algorithm: one CAS on a theoretical arrival time per call.
+ * Suppressed lines are counted and reported periodically through a {@link SummarySink}.
+ */
+final class LogRateLimiter {
+  private static final long DEFAULT_LINES_PER_SECOND = 100;
+  private static final long DEFAULT_BURST = 200;
+  private static final long DEFAULT_SUMMARY_SECONDS = 10;
+  private static final int MAX_TRACKED_TEMPLATES = 4096;
+
+  private static final ScheduledExecutorService SUMMARY_EXECUTOR =
+      Executors.newSingleThreadScheduledExecutor(
+          runnable -> {
+            Thread thread = new Thread(runnable, "logger-suppression");
+            thread.setDaemon(true);
+            return thread;
+          });
+
+  private final Map<Object, Bucket> buckets = new ConcurrentHashMap<>();
+  private final long intervalNanos;
+  private final long burstNanos;
+  private final long summarySeconds;
+  private final SummarySink sink;
+
+  private LogRateLimiter(
+      final long linesPerSecond,
+      final long burst,
+      final long summarySecondsParam,
+      final SummarySink sinkParam) {
+    this.intervalNanos = Math.max(1, TimeUnit.SECONDS.toNanos(1) / linesPerSecond);
+    this.burstNanos = intervalNanos * Math.max(1, burst);
+    this.summarySeconds = summarySecondsParam;
+    this.sink = sinkParam;
+  }
+
+  static LogRateLimiter create(final SummarySink sink) {
+    long linesPerSecond =
+        LoggerConfig.getLong(LoggerConfig.RATE_LIMIT_PER_SECOND_KEY, DEFAULT_LINES_PER_SECOND);
+    if (linesPerSecond <= 0) {
+      return null;
+    }
+    long burst = LoggerConfig.getLong(LoggerConfig.RATE_LIMIT_BURST_KEY, DEFAULT_BURST);
+    long summarySeconds =
+        Math.max(
+            1, LoggerConfig.getLong(LoggerConfig.SUPPRESSION_SUMMARY_KEY, DEFAULT_SUMMARY_SECONDS));
+    LogRateLimiter limiter = new LogRateLimiter(linesPerSecond, burst, summarySeconds, sink);
+    SUMMARY_EXECUTOR.scheduleAtFixedRate(
+        limiter::emitSummaries, summarySeconds, summarySeconds, TimeUnit.SECONDS);
+    return limiter;
+  }
+
+  long getSummarySeconds() {
+    return summarySeconds;
+  }
+
+  boolean tryAcquire(final Object template, final Severity severity) {
+    if (template == null) {
+      return true;
+    }
+    Bucket bucket = buckets.get(template);
+    if (bucket == null) {
+      if (buckets.size() >= MAX_TRACKED_TEMPLATES) {
+        return true;
+      }
+      bucket = buckets.computeIfAbsent(template, key -> new Bucket(severity));
+    }
+    if (bucket.tryAcquire(System.nanoTime(), intervalNanos, burstNanos)) {
+      return true;
+    }
+    bucket.suppressed.increment();
+    return false;
+  }
+
+  void emitSummaries() {
+    long now = System.nanoTime();
+    for (Map.Entry<Object, Bucket> entry : buckets.entrySet()) {
+      Bucket bucket = entry.getValue();
+      long suppressed = bucket.suppressed.sumThenReset();
+      if (suppressed > 0) {
+        try {
+          sink.suppressed(bucket.severity, entry.getKey(), suppressed);
+        } catch (RuntimeException runtimeException) {
+          System.err.println("Failed to report suppressed lines: " + runtimeException.getMessage());
+        }
+      } else if (bucket.theoreticalArrival.get() - now < 0) {
+        buckets.remove(entry.getKey(), bucket);
+      }
+    }
+  }
+
+  interface SummarySink {
+    void suppressed(Severity severity, Object template, long count);
+  }
+
+  private static final class Bucket {
+    private final Severity severity;
+    private final AtomicLong theoreticalArrival = new AtomicLong(System.nanoTime());
+    private final LongAdder suppressed = new LongAdder();
+
+    private Bucket(final Severity severityParam) {
+      this.severity = severityParam;
+    }
+
+    private boolean tryAcquire(final long now, final long interval, final long burst) {
+      while (true) {
+        long arrival = theoreticalArrival.get();
+        long next = (arrival - now > 0 ? arrival : now) + interval;
+        if (next - now > burst) {
+          return false;
+        }
+        if (theoreticalArrival.compareAndSet(arrival, next)) {
+          return true;
+        }
+      }
+    }
+  }
+}
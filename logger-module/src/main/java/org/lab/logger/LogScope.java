@@ -0,0 +1,25 @@
+package org.lab.logger;
+
+/**
+ * Key-value pairs added to the logging context of the current thread. Close it on the same thread,
+ * ideally with try-with-resources, to remove the pairs it added.
+ */
+public final class LogScope implements AutoCloseable {
+  private final LogContext context;
+  private final int mark;
+
+  LogScope(final LogContext contextParam) {
+    this.context = contextParam;
+    this.mark = contextParam.size();
+  }
+
+  public LogScope with(final String key, final Object value) {
+    context.push(key, value);
+    return this;
+  }
+
+  @Override
+  public void close() {
+    context.truncate(mark);
+  }
+}
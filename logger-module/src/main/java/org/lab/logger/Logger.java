@@ -1,9 +1,73 @@
 package org.lab.logger;
 
+import java.util.function.Supplier;
+
 public interface Logger extends AutoCloseable {
+  void debug(String message);
+
+  void debug(String pattern, Object argument);
+
+  void debug(String pattern, Object firstArgument, Object secondArgument);
+
+  void debug(String pattern, Object... arguments);
+
+  void debug(String pattern, long argument);
+
+  void debug(String pattern, double argument);
+
+  void debug(Supplier<String> messageSupplier);
+
   void info(String message);
 
+  void info(String pattern, Object argument);
+
+  void info(String pattern, Object firstArgument, Object secondArgument);
+
+  void info(String pattern, Object... arguments);
+
+  void info(String pattern, long argument);
+
+  void info(String pattern, double argument);
+
+  void info(Supplier<String> messageSupplier);
+
+  void warn(String message);
+
+  void warn(String pattern, Object argument);
+
+  void warn(String pattern, Object firstArgument, Object secondArgument);
+
+  void warn(String pattern, Object... arguments);
+
+  void warn(String pattern, long argument);
+
+  void warn(String pattern, double argument);
+
+  void warn(Supplier<String> messageSupplier);
+
   void error(String message);
 
+  void error(String pattern, Object argument);
+
+  void error(String pattern, Object firstArgument, Object secondArgument);
+
+  void error(String pattern, Object... arguments);
+
+  void error(String pattern, long argument);
+
+  void error(String pattern, double argument);
+
+  void error(Supplier<String> messageSupplier);
+
+  boolean isDebugEnabled();
+
+  boolean isInfoEnabled();
+
+  boolean isWarnEnabled();
+
+  boolean isErrorEnabled();
+
+  LogScope with(String key, Object value);
+
   void flush();
 }
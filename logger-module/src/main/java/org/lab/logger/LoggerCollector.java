@@ -0,0 +1,123 @@
+package org.lab.logger;
+
+import io.prometheus.client.Collector;
+import io.prometheus.client.CounterMetricFamily;
+import io.prometheus.client.GaugeMetricFamily;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Publishes {@link LoggerStats} through the Prometheus simpleclient. Only usable where simpleclient
+ * is on the class path.
+ */
+public final class LoggerCollector extends Collector {
+  private static final String LOGGER_LABEL = "logger";
+  private static final String SEVERITY_LABEL = "severity";
+  private static final String LE_LABEL = "le";
+  private static final String INFINITE_BOUND = "+Inf";
+  private static final String BUCKET_SUFFIX = "_bucket";
+  private static final String COUNT_SUFFIX = "_count";
+  private static final String SUM_SUFFIX = "_sum";
+  private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+
+  private final Map<String, LoggerStats> stats = new ConcurrentHashMap<>();
+
+  public LoggerCollector() {
+    LoggerStats.subscribe(value -> stats.put(value.getName(), value));
+  }
+
+  @Override
+  public List<MetricFamilySamples> collect() {
+    List<String> label = List.of(LOGGER_LABEL);
+    GaugeMetricFamily queueDepth =
+        new GaugeMetricFamily("logger_queue_depth", "Entries waiting for the writer", label);
+    GaugeMetricFamily queueCapacity =
+        new GaugeMetricFamily("logger_queue_capacity", "Capacity of the writer queue", label);
+    CounterMetricFamily dropped =
+        new CounterMetricFamily("logger_dropped_lines", "Lines dropped on overflow", label);
+    CounterMetricFamily written =
+        new CounterMetricFamily("logger_written_bytes", "Bytes written to log files", label);
+    CounterMetricFamily rolls =
+        new CounterMetricFamily("logger_file_rolls", "Log segment rolls", label);
+    CounterMetricFamily suppressed =
+        new CounterMetricFamily(
+            "logger_suppressed_lines", "Lines suppressed by rate limiting", label);
+    CounterMetricFamily lines =
+        new CounterMetricFamily(
+            "logger_lines", "Lines written per severity", List.of(LOGGER_LABEL, SEVERITY_LABEL));
+    List<MetricFamilySamples.Sample> enqueueSamples = new ArrayList<>();
+    List<MetricFamilySamples.Sample> flushSamples = new ArrayList<>();
+    List<MetricFamilySamples.Sample> forceSamples = new ArrayList<>();
+
+    for (LoggerStats value : stats.values()) {
+      List<String> name = List.of(value.getName());
+      queueDepth.addMetric(name, value.getQueueDepth());
+      queueCapacity.addMetric(name, value.getQueueCapacity());
+      dropped.addMetric(name, value.getDroppedLines());
+      written.addMetric(name, value.getBytesWritten());
+      rolls.addMetric(name, value.getFileRolls());
+      suppressed.addMetric(name, value.getSuppressedLines());
+      for (Severity severity : Severity.values()) {
+        lines.addMetric(
+            List.of(value.getName(), severity.name().toLowerCase(Locale.ROOT)),
+            value.getLines(severity));
+      }
+      addHistogram(
+          enqueueSamples, "logger_enqueue_latency_seconds", value, value.getEnqueueLatency());
+      addHistogram(flushSamples, "logger_flush_duration_seconds", value, value.getFlushDuration());
+      addHistogram(forceSamples, "logger_fsync_duration_seconds", value, value.getForceDuration());
+    }
+
+    return List.of(
+        queueDepth,
+        queueCapacity,
+        dropped,
+        written,
+        rolls,
+        suppressed,
+        lines,
+        new MetricFamilySamples(
+            "logger_enqueue_latency_seconds",
+            Type.HISTOGRAM,
+            "Time callers spend handing a line to the logger",
+            enqueueSamples),
+        new MetricFamilySamples(
+            "logger_flush_duration_seconds",
+            Type.HISTOGRAM,
+            "Time spent writing buffered lines to the segment file",
+            flushSamples),
+        new MetricFamilySamples(
+            "logger_fsync_duration_seconds",
+            Type.HISTOGRAM,
+            "Time spent forcing written lines to disk",
+            forceSamples));
+  }
+
+  private static void addHistogram(
+      final List<MetricFamilySamples.Sample> samples,
+      final String name,
+      final LoggerStats stats,
+      final LatencyHistogram histogram) {
+    long[] bounds = histogram.getBucketBoundsNanos();
+    long[] counts = histogram.getCumulativeCounts();
+    List<String> bucketLabels = List.of(LOGGER_LABEL, LE_LABEL);
+    for (int index = 0; index < counts.length; index++) {
+      String bound = INFINITE_BOUND;
+      if (index < bounds.length) {
+        bound = doubleToGoString(bounds[index] / NANOS_PER_SECOND);
+      }
+      samples.add(
+          new MetricFamilySamples.Sample(
+              name + BUCKET_SUFFIX, bucketLabels, List.of(stats.getName(), bound), counts[index]));
+    }
+    List<String> labels = List.of(LOGGER_LABEL);
+    List<String> values = List.of(stats.getName());
+    long count = counts[counts.length - 1];
+    double sumSeconds = histogram.getSumNanos() / NANOS_PER_SECOND;
+    samples.add(new MetricFamilySamples.Sample(name + COUNT_SUFFIX, labels, values, count));
+    samples.add(new MetricFamilySamples.Sample(name + SUM_SUFFIX, labels, values, sumSeconds));
+  }
+}
@@ -0,0 +1,77 @@
+package org.lab.logger;
+
+import java.util.Locale;
+
+public final class LoggerConfig {
+  public static final String ASYNC_ENABLED_KEY = "LOGGER_ASYNC";
+  public static final String QUEUE_CAPACITY_KEY = "LOGGER_QUEUE_CAPACITY";
+  public static final String OVERFLOW_POLICY_KEY = "LOGGER_OVERFLOW_POLICY";
+  public static final String MAX_FILE_SIZE_KEY = "LOGGER_MAX_FILE_SIZE_BYTES";
+  public static final String ROLL_INTERVAL_MINUTES_KEY = "LOGGER_ROLL_INTERVAL_MINUTES";
+  public static final String MAX_RETAINED_FILES_KEY = "LOGGER_MAX_RETAINED_FILES";
+  public static final String COMPRESS_ROLLED_KEY = "LOGGER_COMPRESS_ROLLED";
+  public static final String FORMAT_KEY = "LOGGER_FORMAT";
+  public static final String RECENT_CAPACITY_KEY = "LOGGER_RECENT_CAPACITY";
+  public static final String RECENT_ARENA_BYTES_KEY = "LOGGER_RECENT_ARENA_BYTES";
+  public static final String RATE_LIMIT_PER_SECOND_KEY = "LOGGER_RATE_LIMIT_PER_SECOND";
+  public static final String RATE_LIMIT_BURST_KEY = "LOGGER_RATE_LIMIT_BURST";
+  public static final String SUPPRESSION_SUMMARY_KEY = "LOGGER_SUPPRESSION_SUMMARY_SECONDS";
+  public static final String DURABILITY_KEY = "LOGGER_DURABILITY";
+  public static final String GROUP_COMMIT_MILLIS_KEY = "LOGGER_GROUP_COMMIT_MILLIS";
+
+  private LoggerConfig() {
+    throw new UnsupportedOperationException("Utility class");
+  }
+
+  public static String get(final String key) {
+    String value = System.getProperty(key);
+    return value != null ? value : System.getenv(key);
+  }
+
+  public static String get(final String key, final String defaultValue) {
+    String value = get(key);
+    return value != null && !value.isBlank() ? value.trim() : defaultValue;
+  }
+
+  public static boolean getBoolean(final String key, final boolean defaultValue) {
+    String value = get(key);
+    return value != null && !value.isBlank() ? Boolean.parseBoolean(value.trim()) : defaultValue;
+  }
+
+  public static int getInt(final String key, final int defaultValue) {
+    String value = get(key);
+    if (value == null || value.isBlank()) {
+      return defaultValue;
+    }
+    try {
+      return Integer.parseInt(value.trim());
+    } catch (NumberFormatException numberFormatException) {
+      return defaultValue;
+    }
+  }
+
+  public static long getLong(final String key, final long defaultValue) {
+    String value = get(key);
+    if (value == null || value.isBlank()) {
+      return defaultValue;
+    }
+    try {
+      return Long.parseLong(value.trim());
+    } catch (NumberFormatException numberFormatException) {
+      return defaultValue;
+    }
+  }
+
+  public static <E extends Enum<E>> E getEnum(
+      final String key, final Class<E> enumType, final E defaultValue) {
+    String value = get(key);
+    if (value == null || value.isBlank()) {
+      return defaultValue;
+    }
+    try {
+      return Enum.valueOf(enumType, value.trim().toUpperCase(Locale.ROOT));
+    } catch (IllegalArgumentException illegalArgumentException) {
+      return defaultValue;
+    }
+  }
+}
@@ -0,0 +1,76 @@
+package org.lab.logger;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes {@link LoggerStats} as Micrometer meters. Only usable where micrometer-core is on the
+ * class path; loggers created after binding are picked up as well.
+ */
+public final class LoggerMeterBinder implements MeterBinder {
+  private static final String LOGGER_TAG = "logger";
+  private static final String SEVERITY_TAG = "severity";
+  private static final String BYTES_UNIT = "bytes";
+
+  @Override
+  public void bindTo(final MeterRegistry registry) {
+    LoggerStats.subscribe(stats -> bind(registry, stats));
+  }
+
+  private static void bind(final MeterRegistry registry, final LoggerStats stats) {
+    String name = stats.getName();
+    bindLatency(registry, "logger.enqueue.latency", name, stats.getEnqueueLatency());
+    bindLatency(registry, "logger.flush.duration", name, stats.getFlushDuration());
+    bindLatency(registry, "logger.fsync.duration", name, stats.getForceDuration());
+    Gauge.builder("logger.queue.depth", stats, LoggerStats::getQueueDepth)
+        .tag(LOGGER_TAG, name)
+        .register(registry);
+    Gauge.builder("logger.queue.capacity", stats, LoggerStats::getQueueCapacity)
+        .tag(LOGGER_TAG, name)
+        .register(registry);
+    FunctionCounter.builder("logger.dropped.lines", stats, LoggerStats::getDroppedLines)
+        .tag(LOGGER_TAG, name)
+        .register(registry);
+    FunctionCounter.builder("logger.written", stats, LoggerStats::getBytesWritten)
+        .tag(LOGGER_TAG, name)
+        .baseUnit(BYTES_UNIT)
+        .register(registry);
+    FunctionCounter.builder("logger.file.rolls", stats, LoggerStats::getFileRolls)
+        .tag(LOGGER_TAG, name)
+        .register(registry);
+    FunctionCounter.builder("logger.suppressed.lines", stats, LoggerStats::getSuppressedLines)
+        .tag(LOGGER_TAG, name)
+        .register(registry);
+    for (Severity severity : Severity.values()) {
+      FunctionCounter.builder("logger.lines", stats, value -> value.getLines(severity))
+          .tag(LOGGER_TAG, name)
+          .tag(SEVERITY_TAG, severity.name().toLowerCase(Locale.ROOT))
+          .register(registry);
+    }
+  }
+
+  private static void bindLatency(
+      final MeterRegistry registry,
+      final String meterName,
+      final String loggerName,
+      final LatencyHistogram histogram) {
+    FunctionTimer.builder(
+            meterName,
+            histogram,
+            LatencyHistogram::getCount,
+            LatencyHistogram::getSumNanos,
+            TimeUnit.NANOSECONDS)
+        .tag(LOGGER_TAG, loggerName)
+        .register(registry);
+    TimeGauge.builder(
+            meterName + ".max", histogram, TimeUnit.NANOSECONDS, LatencyHistogram::getMaxNanos)
+        .tag(LOGGER_TAG, loggerName)
+        .register(registry);
+  }
+}
@@ -0,0 +1,140 @@
+package org.lab.logger;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Counters describing what logging costs, kept per logger name. Loggers sharing a name share one
+ * instance, just like they share a segment file. Exporters subscribe and read the values on scrape.
+ */
+public final class LoggerStats {
+  private static final Map<String, LoggerStats> STATS = new ConcurrentHashMap<>();
+  private static final List<Consumer<LoggerStats>> LISTENERS = new CopyOnWriteArrayList<>();
+
+  private final String name;
+  private final LatencyHistogram enqueueLatency = new LatencyHistogram();
+  private final LatencyHistogram flushDuration = new LatencyHistogram();
+  private final LatencyHistogram forceDuration = new LatencyHistogram();
+  private final LongAdder bytesWritten = new LongAdder();
+  private final LongAdder fileRolls = new LongAdder();
+  private final LongAdder suppressedLines = new LongAdder();
+  private final LongAdder[] lines = new LongAdder[Severity.values().length];
+  private final List<AsyncAppender<?>> appenders = new CopyOnWriteArrayList<>();
+
+  private LoggerStats(final String nameParam) {
+    this.name = nameParam;
+    for (int index = 0; index < lines.length; index++) {
+      lines[index] = new LongAdder();
+    }
+  }
+
+  static LoggerStats forName(final String name) {
+    LoggerStats existing = STATS.get(name);
+    return existing != null ? existing : create(name);
+  }
+
+  private static synchronized LoggerStats create(final String name) {
+    LoggerStats existing = STATS.get(name);
+    if (existing != null) {
+      return existing;
+    }
+    LoggerStats created = new LoggerStats(name);
+    STATS.put(name, created);
+    LISTENERS.forEach(listener -> listener.accept(created));
+    return created;
+  }
+
+  public static synchronized void subscribe(final Consumer<LoggerStats> listener) {
+    LISTENERS.add(listener);
+    STATS.values().forEach(listener);
+  }
+
+  void addAppender(final AsyncAppender<?> appender) {
+    appenders.add(appender);
+  }
+
+  void recordEnqueue(final long nanos) {
+    enqueueLatency.record(nanos);
+  }
+
+  void recordFlush(final long nanos, final long bytes) {
+    flushDuration.record(nanos);
+    bytesWritten.add(bytes);
+  }
+
+  void recordForce(final long nanos) {
+    forceDuration.record(nanos);
+  }
+
+  void recordRoll() {
+    fileRolls.increment();
+  }
+
+  void recordSuppressed() {
+    suppressedLines.increment();
+  }
+
+  void recordLine(final Severity severity) {
+    lines[severity.ordinal()].increment();
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public LatencyHistogram getEnqueueLatency() {
+    return enqueueLatency;
+  }
+
+  public LatencyHistogram getFlushDuration() {
+    return flushDuration;
+  }
+
+  public LatencyHistogram getForceDuration() {
+    return forceDuration;
+  }
+
+  public long getBytesWritten() {
+    return bytesWritten.sum();
+  }
+
+  public long getFileRolls() {
+    return fileRolls.sum();
+  }
+
+  public long getSuppressedLines() {
+    return suppressedLines.sum();
+  }
+
+  public long getLines(final Severity severity) {
+    return lines[severity.ordinal()].sum();
+  }
+
+  public int getQueueDepth() {
+    int depth = 0;
+    for (AsyncAppender<?> appender : appenders) {
+      depth += appender.getQueueSize();
+    }
+    return depth;
+  }
+
+  public int getQueueCapacity() {
+    int capacity = 0;
+    for (AsyncAppender<?> appender : appenders) {
+      capacity += appender.getCapacity();
+    }
+    return capacity;
+  }
+
+  public long getDroppedLines() {
+    long dropped = 0;
+    for (AsyncAppender<?> appender : appenders) {
+      dropped += appender.getDroppedCount();
+    }
+    return dropped;
+  }
+}
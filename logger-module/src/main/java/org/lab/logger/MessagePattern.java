@@ -0,0 +1,28 @@
+package org.lab.logger;
+
+import java.util.Arrays;
+
+final class MessagePattern {
+  static final String PLACEHOLDER = "{}";
+  private static final String FAILED_ARGUMENT_FORMAT = "[%s.toString() failed: %s]";
+
+  private MessagePattern() {
+    throw new UnsupportedOperationException("Utility class");
+  }
+
+  static void appendArgument(final StringBuilder target, final Object argument) {
+    try {
+      if (argument instanceof Object[] array) {
+        target.append(Arrays.deepToString(array));
+      } else {
+        target.append(argument);
+      }
+    } catch (RuntimeException runtimeException) {
+      target.append(
+          String.format(
+              FAILED_ARGUMENT_FORMAT,
+              argument.getClass().getSimpleName(),
+              runtimeException.getMessage()));
+    }
+  }
+}
@@ -0,0 +1,7 @@
+package org.lab.logger;
+
+public enum OverflowPolicy {
+  BLOCK,
+  DROP_OLDEST,
+  DROP_NEW
+}
@@ -0,0 +1,35 @@
+package org.lab.logger;
+
+public final class RecentLogRecord {
+  private final long timestampMillis;
+  private final Severity level;
+  private final String traceId;
+  private final String line;
+
+  RecentLogRecord(
+      final long timestampMillisParam,
+      final Severity levelParam,
+      final String traceIdParam,
+      final String lineParam) {
+    this.timestampMillis = timestampMillisParam;
+    this.level = levelParam;
+    this.traceId = traceIdParam;
+    this.line = lineParam;
+  }
+
+  public long getTimestampMillis() {
+    return timestampMillis;
+  }
+
+  public Severity getLevel() {
+    return level;
+  }
+
+  public String getTraceId() {
+    return traceId;
+  }
+
+  public String getLine() {
+    return line;
+  }
+}
@@ -0,0 +1,134 @@
+package org.lab.logger;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the most recent encoded lines of one logger name in memory. Line bytes live in a single
+ * circular arena and each record only stores its position, time, level and trace id, so the ring
+ * costs a fixed amount of heap and can be searched without touching the segment files.
+ */
+public final class RecentLogs {
+  private static final int DEFAULT_CAPACITY = 2048;
+  private static final int DEFAULT_ARENA_BYTES = 1024 * 1024;
+  private static final Map<String, RecentLogs> RECENT_LOGS = new ConcurrentHashMap<>();
+
+  private final int capacity;
+  private final byte[] arena;
+  private final long[] starts;
+  private final int[] lengths;
+  private final long[] timestamps;
+  private final Severity[] severities;
+  private final String[] traceIds;
+  private long recordCount;
+  private long arenaPosition;
+
+  private RecentLogs(final int capacityParam, final int arenaBytes) {
+    this.capacity = capacityParam;
+    this.arena = new byte[arenaBytes];
+    this.starts = new long[capacityParam];
+    this.lengths = new int[capacityParam];
+    this.timestamps = new long[capacityParam];
+    this.severities = new Severity[capacityParam];
+    this.traceIds = new String[capacityParam];
+  }
+
+  static RecentLogs forName(final String name) {
+    int capacity = LoggerConfig.getInt(LoggerConfig.RECENT_CAPACITY_KEY, DEFAULT_CAPACITY);
+    int arenaBytes = LoggerConfig.getInt(LoggerConfig.RECENT_ARENA_BYTES_KEY, DEFAULT_ARENA_BYTES);
+    if (capacity <= 0 || arenaBytes <= 0) {
+      return null;
+    }
+    return RECENT_LOGS.computeIfAbsent(name, key -> new RecentLogs(capacity, arenaBytes));
+  }
+
+  public static Set<String> getNames() {
+    return new TreeSet<>(RECENT_LOGS.keySet());
+  }
+
+  /**
+   * Returns matching records, newest first. Every filter is optional: a null name searches all
+   * loggers, traceId must match exactly, level is the minimum severity and text is a
+   * case-sensitive substring of the rendered line.
+   */
+  public static List<RecentLogRecord> query(
+      final String name,
+      final String traceId,
+      final Severity level,
+      final String text,
+      final int limit) {
+    if (name != null) {
+      RecentLogs recentLogs = RECENT_LOGS.get(name);
+      return recentLogs != null ? recentLogs.find(traceId, level, text, limit) : List.of();
+    }
+    List<RecentLogRecord> records = new ArrayList<>();
+    for (RecentLogs recentLogs : RECENT_LOGS.values()) {
+      records.addAll(recentLogs.find(traceId, level, text, limit));
+    }
+    records.sort(Comparator.comparingLong(RecentLogRecord::getTimestampMillis).reversed());
+    return records.size() > limit ? new ArrayList<>(records.subList(0, limit)) : records;
+  }
+
+  synchronized void append(
+      final long timestampMillis,
+      final Severity severity,
+      final String traceId,
+      final byte[] bytes,
+      final int length) {
+    if (length > arena.length) {
+      return;
+    }
+    int slot = (int) (recordCount % capacity);
+    int offset = (int) (arenaPosition % arena.length);
+    int firstPart = Math.min(length, arena.length - offset);
+    System.arraycopy(bytes, 0, arena, offset, firstPart);
+    System.arraycopy(bytes, firstPart, arena, 0, length - firstPart);
+
+    starts[slot] = arenaPosition;
+    lengths[slot] = length;
+    timestamps[slot] = timestampMillis;
+    severities[slot] = severity;
+    traceIds[slot] = traceId;
+    arenaPosition += length;
+    recordCount++;
+  }
+
+  private synchronized List<RecentLogRecord> find(
+      final String traceId, final Severity level, final String text, final int limit) {
+    List<RecentLogRecord> records = new ArrayList<>();
+    long oldest = Math.max(0, recordCount - capacity);
+    for (long record = recordCount - 1; record >= oldest && records.size() < limit; record--) {
+      int slot = (int) (record % capacity);
+      if (arenaPosition - starts[slot] > arena.length) {
+        break;
+      }
+      if (level != null && severities[slot].compareTo(level) < 0) {
+        continue;
+      }
+      if (traceId != null && !traceId.equals(traceIds[slot])) {
+        continue;
+      }
+      String line = decode(slot);
+      if (text == null || line.contains(text)) {
+        records.add(new RecentLogRecord(timestamps[slot], severities[slot], traceIds[slot], line));
+      }
+    }
+    return records;
+  }
+
+  private String decode(final int slot) {
+    int length = lengths[slot];
+    int offset = (int) (starts[slot] % arena.length);
+    int firstPart = Math.min(length, arena.length - offset);
+    byte[] bytes = new byte[length];
+    System.arraycopy(arena, offset, bytes, 0, firstPart);
+    System.arraycopy(arena, 0, bytes, firstPart, length - firstPart);
+    return new String(bytes, StandardCharsets.UTF_8).stripTrailing();
+  }
+}
@@ -0,0 +1,389 @@
+package org.lab.logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Appends log lines to one open segment file per base name. Lines are encoded into a small set of
+ * direct buffers and written with a single gathering write; segments roll on size or age and old
+ * ones are compressed or deleted in the background.
+ */
+final class RollingFileWriter {
+  private static final String LOG_FILE_NAME_FORMAT = "%s_%s_%s.log";
+  private static final String DATE_TIME_FORMAT_PATTERN = "yyyyMMdd_HHmmss";
+  private static final String LOG_FILE_SUFFIX = ".log";
+  private static final String COMPRESSED_SUFFIX = ".gz";
+  private static final String TEMP_SUFFIX = ".tmp";
+  private static final String SEGMENT_GLOB_FORMAT = "%s_*.log*";
+  private static final int UUID_SUBSTRING_LENGTH = 8;
+  private static final int CHUNK_SIZE = 64 * 1024;
+  private static final int CHUNK_COUNT = 4;
+  private static final int COPY_BUFFER_SIZE = 8192;
+  private static final long DEFAULT_MAX_FILE_SIZE_BYTES = 10L * 1024 * 1024;
+  private static final long DEFAULT_ROLL_INTERVAL_MINUTES = 60;
+  private static final int DEFAULT_MAX_RETAINED_FILES = 20;
+  private static final int INITIAL_INDEX_CAPACITY = 1024;
+  private static final long DEFAULT_GROUP_COMMIT_MILLIS = 50;
+  private static final DateTimeFormatter DATE_TIME_FORMATTER =
+      DateTimeFormatter.ofPattern(DATE_TIME_FORMAT_PATTERN);
+
+  private static final Map<Path, RollingFileWriter> WRITERS = new ConcurrentHashMap<>();
+  private static final ExecutorService RETENTION_EXECUTOR =
+      Executors.newSingleThreadExecutor(
+          runnable -> {
+            Thread thread = new Thread(runnable, "logger-retention");
+            thread.setDaemon(true);
+            return thread;
+          });
+  private static final ScheduledExecutorService COMMIT_EXECUTOR =
+      Executors.newSingleThreadScheduledExecutor(
+          runnable -> {
+            Thread thread = new Thread(runnable, "logger-group-commit");
+            thread.setDaemon(true);
+            return thread;
+          });
+
+  private final Path directory;
+  private final String baseFileName;
+  private final long maxFileSizeBytes;
+  private final long rollIntervalMillis;
+  private final int maxRetainedFiles;
+  private final boolean compressRolled;
+  private final LoggerStats stats;
+  private final DurabilityMode durabilityMode;
+  private final SegmentOpener segmentOpener;
+  private final ByteBuffer[] chunks = new ByteBuffer[CHUNK_COUNT];
+  private int activeChunk;
+  private FileChannel channel;
+  private Path segmentPath;
+  private long segmentSize;
+  private long segmentOpenedAt;
+  private long[] indexHashes = new long[INITIAL_INDEX_CAPACITY];
+  private long[] indexOffsets = new long[INITIAL_INDEX_CAPACITY];
+  private int indexSize;
+  private int committedIndexSize;
+  private boolean unforcedData;
+
+  private RollingFileWriter(final Path directoryParam, final String baseFileNameParam) {
+    this(
+        directoryParam,
+        baseFileNameParam,
+        segment ->
+            FileChannel.open(segment, StandardOpenOption.CREATE, StandardOpenOption.APPEND));
+  }
+
+  RollingFileWriter(
+      final Path directoryParam,
+      final String baseFileNameParam,
+      final SegmentOpener segmentOpenerParam) {
+    this.directory = directoryParam;
+    this.segmentOpener = segmentOpenerParam;
+    this.baseFileName = baseFileNameParam;
+    this.maxFileSizeBytes =
+        LoggerConfig.getLong(LoggerConfig.MAX_FILE_SIZE_KEY, DEFAULT_MAX_FILE_SIZE_BYTES);
+    this.rollIntervalMillis =
+        TimeUnit.MINUTES.toMillis(
+            LoggerConfig.getLong(
+                LoggerConfig.ROLL_INTERVAL_MINUTES_KEY, DEFAULT_ROLL_INTERVAL_MINUTES));
+    this.maxRetainedFiles =
+        LoggerConfig.getInt(LoggerConfig.MAX_RETAINED_FILES_KEY, DEFAULT_MAX_RETAINED_FILES);
+    this.compressRolled = LoggerConfig.getBoolean(LoggerConfig.COMPRESS_ROLLED_KEY, false);
+    this.stats = LoggerStats.forName(baseFileNameParam);
+    this.durabilityMode =
+        LoggerConfig.getEnum(
+            LoggerConfig.DURABILITY_KEY, DurabilityMode.class, DurabilityMode.BUFFERED);
+    for (int index = 0; index < CHUNK_COUNT; index++) {
+      chunks[index] = ByteBuffer.allocateDirect(CHUNK_SIZE);
+    }
+  }
+
+  static RollingFileWriter forBaseName(final String logDirectory, final String baseFileName) {
+    Path directory = Path.of(logDirectory).toAbsolutePath().normalize();
+    return WRITERS.computeIfAbsent(
+        directory.resolve(baseFileName), key -> createWriter(directory, baseFileName));
+  }
+
+  private static RollingFileWriter createWriter(final Path directory, final String baseFileName) {
+    RollingFileWriter writer = new RollingFileWriter(directory, baseFileName);
+    if (writer.durabilityMode == DurabilityMode.GROUP_COMMIT) {
+      long periodMillis =
+          Math.max(
+              1,
+              LoggerConfig.getLong(
+                  LoggerConfig.GROUP_COMMIT_MILLIS_KEY, DEFAULT_GROUP_COMMIT_MILLIS));
+      COMMIT_EXECUTOR.scheduleAtFixedRate(
+          writer::syncQuietly, periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+    }
+    return writer;
+  }
+
+  DurabilityMode getDurabilityMode() {
+    return durabilityMode;
+  }
+
+  /**
+   * Writes everything buffered and forces it to disk. The force runs outside the monitor, so
+   * writers keep appending meanwhile; a concurrent roll forces the old segment itself.
+   */
+  void sync() throws IOException {
+    FileChannel target;
+    synchronized (this) {
+      flush();
+      if (!unforcedData || channel == null) {
+        return;
+      }
+      unforcedData = false;
+      target = channel;
+    }
+    try {
+      force(target);
+    } catch (ClosedChannelException closedChannelException) {
+      return;
+    }
+  }
+
+  private void syncQuietly() {
+    try {
+      sync();
+    } catch (IOException ioException) {
+      System.err.println("Failed to commit log segment: " + ioException.getMessage());
+    }
+  }
+
+  private void force(final FileChannel target) throws IOException {
+    long startedAt = System.nanoTime();
+    target.force(false);
+    stats.recordForce(System.nanoTime() - startedAt);
+  }
+
+  synchronized void write(
+      final byte[] source, final int offset, final int length, final String traceId)
+      throws IOException {
+    if (traceId != null) {
+      addIndexEntry(TraceIndex.hash(traceId), pendingBytes());
+    }
+    int position = offset;
+    int remaining = length;
+    while (remaining > 0) {
+      ByteBuffer chunk = chunks[activeChunk];
+      if (!chunk.hasRemaining()) {
+        if (activeChunk + 1 < CHUNK_COUNT) {
+          activeChunk++;
+        } else {
+          flush();
+        }
+        continue;
+      }
+      int count = Math.min(remaining, chunk.remaining());
+      chunk.put(source, position, count);
+      position += count;
+      remaining -= count;
+    }
+  }
+
+  synchronized void flush() throws IOException {
+    long pending = pendingBytes();
+    if (pending == 0) {
+      return;
+    }
+    if (channel == null || shouldRoll(pending)) {
+      roll();
+    }
+
+    long startedAt = System.nanoTime();
+    int used = activeChunk + 1;
+    for (int index = 0; index < used; index++) {
+      chunks[index].flip();
+    }
+    try {
+      while (chunks[activeChunk].hasRemaining()) {
+        channel.write(chunks, 0, used);
+      }
+    } finally {
+      compactChunks(used);
+      long written = pending - pendingBytes();
+      commitIndexEntries(segmentSize, written);
+      segmentSize += written;
+    }
+    stats.recordFlush(System.nanoTime() - startedAt, pending);
+    unforcedData = true;
+  }
+
+  /**
+   * Commits the pending index entries whose lines start within the bytes that reached the segment
+   * and rebases the rest onto what is still buffered.
+   */
+  private void commitIndexEntries(final long segmentStart, final long written) {
+    int index = committedIndexSize;
+    while (index < indexSize && indexOffsets[index] < written) {
+      indexOffsets[index] += segmentStart;
+      index++;
+    }
+    committedIndexSize = index;
+    for (; index < indexSize; index++) {
+      indexOffsets[index] -= written;
+    }
+  }
+
+  /**
+   * Returns flipped chunks to the filling state. After a failed write the unwritten bytes stay
+   * buffered in order, so the next flush retries exactly them.
+   */
+  private void compactChunks(final int used) {
+    for (int index = 0; index < used; index++) {
+      chunks[index].compact();
+    }
+    if (pendingBytes() == 0) {
+      activeChunk = 0;
+    }
+  }
+
+  private void addIndexEntry(final long hash, final long pendingOffset) {
+    if (indexSize == indexHashes.length) {
+      indexHashes = Arrays.copyOf(indexHashes, indexSize * 2);
+      indexOffsets = Arrays.copyOf(indexOffsets, indexSize * 2);
+    }
+    indexHashes[indexSize] = hash;
+    indexOffsets[indexSize] = pendingOffset;
+    indexSize++;
+  }
+
+  private long pendingBytes() {
+    long pending = 0;
+    for (int index = 0; index <= activeChunk; index++) {
+      pending += chunks[index].position();
+    }
+    return pending;
+  }
+
+  private boolean shouldRoll(final long pending) {
+    boolean sizeExceeded = segmentSize > 0 && segmentSize + pending > maxFileSizeBytes;
+    boolean intervalElapsed = System.currentTimeMillis() - segmentOpenedAt >= rollIntervalMillis;
+    return sizeExceeded || intervalElapsed;
+  }
+
+  private void roll() throws IOException {
+    Path previousSegment = segmentPath;
+    if (channel != null) {
+      if (durabilityMode != DurabilityMode.BUFFERED) {
+        force(channel);
+        unforcedData = false;
+      }
+      channel.close();
+    }
+    long[] rolledHashes = Arrays.copyOf(indexHashes, committedIndexSize);
+    long[] rolledOffsets = Arrays.copyOf(indexOffsets, committedIndexSize);
+    int pendingEntries = indexSize - committedIndexSize;
+    System.arraycopy(indexHashes, committedIndexSize, indexHashes, 0, pendingEntries);
+    System.arraycopy(indexOffsets, committedIndexSize, indexOffsets, 0, pendingEntries);
+    indexSize = pendingEntries;
+    committedIndexSize = 0;
+
+    Files.createDirectories(directory);
+    String timestamp = LocalDateTime.now().format(DATE_TIME_FORMATTER);
+    String uuid = UUID.randomUUID().toString().substring(0, UUID_SUBSTRING_LENGTH);
+    segmentPath =
+        directory.resolve(String.format(LOG_FILE_NAME_FORMAT, baseFileName, timestamp, uuid));
+    channel = segmentOpener.open(segmentPath);
+    segmentSize = channel.size();
+    segmentOpenedAt = System.currentTimeMillis();
+    if (previousSegment != null) {
+      stats.recordRoll();
+    }
+
+    Path activeSegment = segmentPath;
+    RETENTION_EXECUTOR.execute(
+        () -> {
+          writeIndex(previousSegment, rolledHashes, rolledOffsets);
+          applyRetention(previousSegment, activeSegment);
+        });
+  }
+
+  private static void writeIndex(
+      final Path rolledSegment, final long[] hashes, final long[] offsets) {
+    if (rolledSegment == null || hashes.length == 0) {
+      return;
+    }
+    try {
+      TraceIndex.write(TraceIndex.sidecarFor(rolledSegment), hashes, offsets);
+    } catch (IOException ioException) {
+      System.err.println("Failed to write trace index: " + ioException.getMessage());
+    }
+  }
+
+  private void applyRetention(final Path rolledSegment, final Path activeSegment) {
+    try {
+      if (compressRolled && rolledSegment != null) {
+        compress(rolledSegment);
+      }
+
+      List<Path> segments = new ArrayList<>();
+      String glob = String.format(SEGMENT_GLOB_FORMAT, baseFileName);
+      try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, glob)) {
+        for (Path segment : stream) {
+          if (!segment.equals(activeSegment) && !segment.toString().endsWith(TEMP_SUFFIX)) {
+            segments.add(segment);
+          }
+        }
+      }
+      segments.sort(Comparator.comparingLong(RollingFileWriter::lastModified).reversed());
+      for (int index = Math.max(0, maxRetainedFiles - 1); index < segments.size(); index++) {
+        Files.deleteIfExists(segments.get(index));
+        Files.deleteIfExists(TraceIndex.sidecarFor(segments.get(index)));
+      }
+    } catch (IOException ioException) {
+      System.err.println("Failed to apply log retention: " + ioException.getMessage());
+    }
+  }
+
+  private static void compress(final Path segment) throws IOException {
+    if (!Files.exists(segment) || !segment.toString().endsWith(LOG_FILE_SUFFIX)) {
+      return;
+    }
+    Path compressed = Path.of(segment + COMPRESSED_SUFFIX);
+    Path temporary = Path.of(compressed + TEMP_SUFFIX);
+    try (InputStream input = Files.newInputStream(segment);
+        OutputStream output =
+            new GZIPOutputStream(Files.newOutputStream(temporary), COPY_BUFFER_SIZE)) {
+      input.transferTo(output);
+    }
+    Files.move(temporary, compressed, StandardCopyOption.REPLACE_EXISTING);
+    Files.delete(segment);
+  }
+
+  private static long lastModified(final Path path) {
+    try {
+      return Files.getLastModifiedTime(path).toMillis();
+    } catch (IOException ioException) {
+      return 0;
+    }
+  }
+
+  /** Opens the channel a new segment is appended through. */
+  interface SegmentOpener {
+    FileChannel open(Path segment) throws IOException;
+  }
+}
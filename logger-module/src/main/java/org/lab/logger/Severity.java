@@ -1,6 +1,33 @@
 package org.lab.logger;
 
+import java.util.Locale;
+
 public enum Severity {
-  INF,
-  ERR
+  DEBUG("DBG"),
+  INFO("INF"),
+  WARN("WRN"),
+  ERROR("ERR");
+
+  private final String label;
+
+  Severity(final String labelParam) {
+    this.label = labelParam;
+  }
+
+  public String getLabel() {
+    return label;
+  }
+
+  public static Severity parse(final String value) {
+    if (value == null || value.isBlank()) {
+      throw new IllegalArgumentException("Severity must not be empty");
+    }
+    String normalized = value.trim().toUpperCase(Locale.ROOT);
+    for (Severity severity : values()) {
+      if (severity.name().equals(normalized) || severity.label.equals(normalized)) {
+        return severity;
+      }
+    }
+    throw new IllegalArgumentException("Unknown severity: " + value);
+  }
 }
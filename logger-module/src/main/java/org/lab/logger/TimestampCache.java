@@ -0,0 +1,50 @@
+package org.lab.logger;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Keeps the encoded timestamp prefix for the current second, so it is formatted once per second
+ * instead of once per line.
+ */
+final class TimestampCache {
+  private static final long MILLIS_PER_SECOND = 1000;
+
+  private final ZoneId zoneId;
+  private final DateTimeFormatter formatter;
+  private final String prefixFormat;
+  private volatile Entry current = new Entry(Long.MIN_VALUE, new byte[0]);
+
+  TimestampCache(
+      final ZoneId zoneIdParam,
+      final DateTimeFormatter formatterParam,
+      final String prefixFormatParam) {
+    this.zoneId = zoneIdParam;
+    this.formatter = formatterParam;
+    this.prefixFormat = prefixFormatParam;
+  }
+
+  byte[] prefix(final long timestampMillis) {
+    long second = Math.floorDiv(timestampMillis, MILLIS_PER_SECOND);
+    Entry entry = current;
+    if (entry.second != second) {
+      LocalDateTime time = LocalDateTime.ofInstant(Instant.ofEpochSecond(second), zoneId);
+      String prefix = String.format(prefixFormat, formatter.format(time));
+      entry = new Entry(second, LineBuffer.ascii(prefix));
+      current = entry;
+    }
+    return entry.prefix;
+  }
+
+  private static final class Entry {
+    private final long second;
+    private final byte[] prefix;
+
+    private Entry(final long secondParam, final byte[] prefixParam) {
+      this.second = secondParam;
+      this.prefix = prefixParam;
+    }
+  }
+}
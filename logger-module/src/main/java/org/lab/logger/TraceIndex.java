@@ -0,0 +1,264 @@
+package org.lab.logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Sidecar index mapping trace ids to line offsets inside one log segment. The file holds a small
+ * header and entries of (64-bit trace id hash, byte offset) sorted by hash, so a lookup is a binary
+ * search over a memory-mapped index followed by direct reads of the matching lines. Segments
+ * without an index (the active one, or ones written before indexing existed) are scanned instead.
+ *
+ * <p>Rolled segments compressed with LOGGER_COMPRESS_ROLLED keep their index: offsets refer to the
+ * decompressed stream, so such a segment is inflated into memory when its index has a hit.
+ */
+public final class TraceIndex {
+  static final String INDEX_SUFFIX = ".idx";
+  private static final String LOG_FILE_SUFFIX = ".log";
+  private static final String COMPRESSED_SUFFIX = ".gz";
+  private static final String SEGMENT_GLOB_FORMAT = "%s_*{.log,.log.gz}";
+  private static final int MAGIC = 0x4C494458;
+  private static final int VERSION = 1;
+  private static final int HEADER_BYTES = Integer.BYTES * 3;
+  private static final int ENTRY_BYTES = Long.BYTES * 2;
+  private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+  private static final long FNV_PRIME = 0x100000001b3L;
+  private static final byte NEW_LINE = '\n';
+  private static final int USAGE_EXIT_CODE = 2;
+
+  private TraceIndex() {
+    throw new UnsupportedOperationException("Utility class");
+  }
+
+  public static long hash(final CharSequence traceId) {
+    long hash = FNV_OFFSET_BASIS;
+    for (int index = 0; index < traceId.length(); index++) {
+      hash ^= traceId.charAt(index);
+      hash *= FNV_PRIME;
+    }
+    return hash;
+  }
+
+  /** Returns every line of the given logger that carries the trace id, oldest segment first. */
+  public static List<String> lookup(
+      final Path logDirectory, final String baseFileName, final String traceId)
+      throws IOException {
+    List<Path> segments = new ArrayList<>();
+    String glob = String.format(SEGMENT_GLOB_FORMAT, baseFileName);
+    try (DirectoryStream<Path> stream = Files.newDirectoryStream(logDirectory, glob)) {
+      stream.forEach(segments::add);
+    }
+    segments.removeIf(
+        segment -> !isCompressed(segment) && segments.contains(compressedSibling(segment)));
+    segments.sort(
+        Comparator.comparingLong(TraceIndex::lastModified).thenComparing(Path::toString));
+
+    byte[] needle = traceId.getBytes(StandardCharsets.UTF_8);
+    List<String> lines = new ArrayList<>();
+    for (Path segment : segments) {
+      Path index = sidecarFor(segment);
+      if (Files.exists(index)) {
+        lookupIndexed(segment, index, traceId, needle, lines);
+      } else {
+        scan(segment, needle, lines);
+      }
+    }
+    return lines;
+  }
+
+  public static void main(final String[] args) throws IOException {
+    if (args.length != 3) {
+      System.err.println("Usage: TraceIndex <logDirectory> <baseFileName> <traceId>");
+      System.exit(USAGE_EXIT_CODE);
+    }
+    for (String line : lookup(Path.of(args[0]), args[1], args[2])) {
+      System.out.println(line);
+    }
+  }
+
+  static Path sidecarFor(final Path segment) {
+    String fileName = segment.getFileName().toString();
+    int suffix = fileName.lastIndexOf(LOG_FILE_SUFFIX);
+    String stem = suffix >= 0 ? fileName.substring(0, suffix) : fileName;
+    return segment.resolveSibling(stem + INDEX_SUFFIX);
+  }
+
+  static void write(final Path indexPath, final long[] hashes, final long[] offsets)
+      throws IOException {
+    Integer[] order = new Integer[hashes.length];
+    for (int index = 0; index < order.length; index++) {
+      order[index] = index;
+    }
+    Arrays.sort(order, Comparator.comparingLong(index -> hashes[index]));
+
+    ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + ENTRY_BYTES * hashes.length);
+    buffer.putInt(MAGIC).putInt(VERSION).putInt(hashes.length);
+    for (Integer index : order) {
+      buffer.putLong(hashes[index]).putLong(offsets[index]);
+    }
+    buffer.flip();
+    try (FileChannel channel =
+        FileChannel.open(
+            indexPath,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING)) {
+      while (buffer.hasRemaining()) {
+        channel.write(buffer);
+      }
+    }
+  }
+
+  private static void lookupIndexed(
+      final Path segment,
+      final Path indexPath,
+      final String traceId,
+      final byte[] needle,
+      final List<String> lines)
+      throws IOException {
+    MappedByteBuffer index = map(indexPath);
+    if (index.limit() < HEADER_BYTES
+        || index.getInt(0) != MAGIC
+        || index.getInt(Integer.BYTES) != VERSION) {
+      scan(segment, needle, lines);
+      return;
+    }
+    int count = index.getInt(Integer.BYTES * 2);
+    long hash = hash(traceId);
+    int low = 0;
+    int high = count;
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      if (index.getLong(HEADER_BYTES + middle * ENTRY_BYTES) < hash) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    if (low == count || index.getLong(HEADER_BYTES + low * ENTRY_BYTES) != hash) {
+      return;
+    }
+
+    ByteBuffer data = read(segment);
+    for (int entry = low; entry < count; entry++) {
+      int position = HEADER_BYTES + entry * ENTRY_BYTES;
+      if (index.getLong(position) != hash) {
+        break;
+      }
+      long offset = index.getLong(position + Long.BYTES);
+      if (offset < data.limit()) {
+        int start = (int) offset;
+        int end = lineEnd(data, start);
+        if (indexOf(data, needle, start, end) >= 0) {
+          lines.add(decode(data, start, end));
+        }
+      }
+    }
+  }
+
+  private static void scan(final Path segment, final byte[] needle, final List<String> lines)
+      throws IOException {
+    ByteBuffer data = read(segment);
+    int start = 0;
+    while (start < data.limit()) {
+      int end = lineEnd(data, start);
+      if (indexOf(data, needle, start, end) >= 0) {
+        lines.add(decode(data, start, end));
+      }
+      start = end + 1;
+    }
+  }
+
+  /**
+   * Returns the segment content, inflating compressed segments. A plain segment compressed between
+   * listing and reading is read from its compressed sibling.
+   */
+  private static ByteBuffer read(final Path segment) throws IOException {
+    if (isCompressed(segment)) {
+      try (InputStream input = new GZIPInputStream(Files.newInputStream(segment))) {
+        return ByteBuffer.wrap(input.readAllBytes());
+      }
+    }
+    try {
+      return map(segment);
+    } catch (NoSuchFileException noSuchFileException) {
+      Path compressed = compressedSibling(segment);
+      if (!Files.exists(compressed)) {
+        throw noSuchFileException;
+      }
+      return read(compressed);
+    }
+  }
+
+  private static boolean isCompressed(final Path segment) {
+    return segment.getFileName().toString().endsWith(COMPRESSED_SUFFIX);
+  }
+
+  private static Path compressedSibling(final Path segment) {
+    return segment.resolveSibling(segment.getFileName() + COMPRESSED_SUFFIX);
+  }
+
+  private static MappedByteBuffer map(final Path path) throws IOException {
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      long size = Math.min(channel.size(), Integer.MAX_VALUE);
+      return channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+    }
+  }
+
+  private static int lineEnd(final ByteBuffer data, final int start) {
+    int position = start;
+    while (position < data.limit() && data.get(position) != NEW_LINE) {
+      position++;
+    }
+    return position;
+  }
+
+  private static int indexOf(
+      final ByteBuffer data, final byte[] needle, final int start, final int end) {
+    for (int position = start; position <= end - needle.length; position++) {
+      int matched = 0;
+      while (matched < needle.length && data.get(position + matched) == needle[matched]) {
+        matched++;
+      }
+      if (matched == needle.length
+          && !isIdentifierByte(data, position - 1, start, end)
+          && !isIdentifierByte(data, position + needle.length, start, end)) {
+        return position;
+      }
+    }
+    return -1;
+  }
+
+  private static boolean isIdentifierByte(
+      final ByteBuffer data, final int position, final int start, final int end) {
+    return position >= start && position < end && Character.isLetterOrDigit(data.get(position));
+  }
+
+  private static long lastModified(final Path path) {
+    try {
+      return Files.getLastModifiedTime(path).toMillis();
+    } catch (IOException ioException) {
+      return 0;
+    }
+  }
+
+  private static String decode(final ByteBuffer data, final int start, final int end) {
+    byte[] bytes = new byte[end - start];
+    data.get(start, bytes);
+    return new String(bytes, StandardCharsets.UTF_8).stripTrailing();
+  }
+}
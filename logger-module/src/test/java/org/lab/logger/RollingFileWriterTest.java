@@ -0,0 +1,204 @@
+package org.lab.logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class RollingFileWriterTest {
+  private static final String BASE_FILE_NAME = "test";
+  private static final String FIRST_LINE = "[12:00:00] [INF] first line\n";
+  private static final String SECOND_LINE = "[12:00:01] [INF] second line\n";
+  private static final int PARTIAL_BYTES = 7;
+
+  @TempDir Path directory;
+
+  @Test
+  void failedWriteKeepsBufferedLinesForTheNextFlush() throws IOException {
+    FailingChannelOpener opener = new FailingChannelOpener(0);
+    RollingFileWriter writer = new RollingFileWriter(directory, BASE_FILE_NAME, opener);
+    write(writer, FIRST_LINE);
+
+    assertThrows(IOException.class, writer::flush);
+    write(writer, SECOND_LINE);
+    writer.flush();
+
+    assertEquals(FIRST_LINE + SECOND_LINE, readSegments());
+  }
+
+  @Test
+  void partialWriteIsNotRepeatedOnRetry() throws IOException {
+    FailingChannelOpener opener = new FailingChannelOpener(PARTIAL_BYTES);
+    RollingFileWriter writer = new RollingFileWriter(directory, BASE_FILE_NAME, opener);
+    write(writer, FIRST_LINE);
+
+    assertThrows(IOException.class, writer::flush);
+    write(writer, SECOND_LINE);
+    writer.flush();
+
+    assertEquals(FIRST_LINE + SECOND_LINE, readSegments());
+  }
+
+  private static void write(final RollingFileWriter writer, final String line) throws IOException {
+    byte[] bytes = line.getBytes(StandardCharsets.UTF_8);
+    writer.write(bytes, 0, bytes.length, null);
+  }
+
+  private String readSegments() throws IOException {
+    List<Path> segments = new ArrayList<>();
+    try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*.log")) {
+      stream.forEach(segments::add);
+    }
+    segments.sort(null);
+    StringBuilder content = new StringBuilder();
+    for (Path segment : segments) {
+      content.append(Files.readString(segment));
+    }
+    return content.toString();
+  }
+
+  /** Opens real segment channels whose first gathering write fails after a few bytes. */
+  private static final class FailingChannelOpener implements RollingFileWriter.SegmentOpener {
+    private final int partialBytes;
+    private boolean failed;
+
+    FailingChannelOpener(final int partialBytesParam) {
+      this.partialBytes = partialBytesParam;
+    }
+
+    @Override
+    public FileChannel open(final Path segment) throws IOException {
+      FileChannel delegate =
+          FileChannel.open(segment, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+      return new FailingChannel(delegate);
+    }
+
+    private final class FailingChannel extends FileChannel {
+      private final FileChannel delegate;
+
+      private FailingChannel(final FileChannel delegateParam) {
+        this.delegate = delegateParam;
+      }
+
+      @Override
+      public long write(final ByteBuffer[] sources, final int offset, final int length)
+          throws IOException {
+        if (failed) {
+          return delegate.write(sources, offset, length);
+        }
+        failed = true;
+        ByteBuffer first = sources[offset];
+        int limit = first.limit();
+        first.limit(Math.min(limit, first.position() + partialBytes));
+        delegate.write(first);
+        first.limit(limit);
+        throw new IOException("Injected write failure");
+      }
+
+      @Override
+      public int write(final ByteBuffer source) throws IOException {
+        return delegate.write(source);
+      }
+
+      @Override
+      public int write(final ByteBuffer source, final long position) throws IOException {
+        return delegate.write(source, position);
+      }
+
+      @Override
+      public int read(final ByteBuffer destination) throws IOException {
+        return delegate.read(destination);
+      }
+
+      @Override
+      public long read(final ByteBuffer[] destinations, final int offset, final int length)
+          throws IOException {
+        return delegate.read(destinations, offset, length);
+      }
+
+      @Override
+      public int read(final ByteBuffer destination, final long position) throws IOException {
+        return delegate.read(destination, position);
+      }
+
+      @Override
+      public long position() throws IOException {
+        return delegate.position();
+      }
+
+      @Override
+      public FileChannel position(final long newPosition) throws IOException {
+        delegate.position(newPosition);
+        return this;
+      }
+
+      @Override
+      public long size() throws IOException {
+        return delegate.size();
+      }
+
+      @Override
+      public FileChannel truncate(final long size) throws IOException {
+        delegate.truncate(size);
+        return this;
+      }
+
+      @Override
+      public void force(final boolean metaData) throws IOException {
+        delegate.force(metaData);
+      }
+
+      @Override
+      public long transferTo(
+          final long position, final long count, final WritableByteChannel target)
+          throws IOException {
+        return delegate.transferTo(position, count, target);
+      }
+
+      @Override
+      public long transferFrom(
+          final ReadableByteChannel source, final long position, final long count)
+          throws IOException {
+        return delegate.transferFrom(source, position, count);
+      }
+
+      @Override
+      public MappedByteBuffer map(final MapMode mode, final long position, final long size)
+          throws IOException {
+        return delegate.map(mode, position, size);
+      }
+
+      @Override
+      public FileLock lock(final long position, final long size, final boolean shared)
+          throws IOException {
+        return delegate.lock(position, size, shared);
+      }
+
+      @Override
+      public FileLock tryLock(final long position, final long size, final boolean shared)
+          throws IOException {
+        return delegate.tryLock(position, size, shared);
+      }
+
+      @Override
+      protected void implCloseChannel() throws IOException {
+        delegate.close();
+      }
+    }
+  }
+}
@@ -0,0 +1,107 @@
+package org.lab1.security;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.method.PreAuthorizeAuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.util.SimpleMethodInvocation;
+
+/**
+ * Сравнивает проверку прав метода через {@code @PreAuthorize("hasAuthority(...)")} (разбор
+ * выражения кэшируется Spring, но на каждый вызов создаётся контекст SpEL и просматривается список
+ * authorities) с проверкой {@link RequiresPermission} в {@link PermissionAuthorizationManager}.
+ * Authentication собирается так же, как в {@link JwtAuthorizationFilter}, с правами роли USER.
+ *
+ * <p>Запуск с профилировщиком gc, чтобы видеть и время, и выделение памяти на проверку:
+ *
+ * <pre>
+ * mvn -Pbenchmarks -pl main-module test-compile exec:exec
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MethodAuthorizationBenchmark {
+  private static final String USER_ROLE = "USER";
+  private static final String ROLE_USER_AUTHORITY = "ROLE_USER";
+  private static final Set<Permission> USER_PERMISSIONS =
+      EnumSet.of(
+          Permission.APPLICATION_READ,
+          Permission.APPLICATION_STATS_READ,
+          Permission.MONETIZATION_READ,
+          Permission.IN_APP_ADD_READ,
+          Permission.IN_APP_PURCHASE_READ,
+          Permission.USER_DOWNLOAD_APPLICATION,
+          Permission.USER_PURCHASE_IN_APP_ITEM,
+          Permission.USER_VIEW_ADVERTISEMENT);
+
+  private final PreAuthorizeAuthorizationManager preAuthorizeManager =
+      new PreAuthorizeAuthorizationManager();
+  private final PermissionAuthorizationManager permissionManager =
+      new PermissionAuthorizationManager();
+  private Supplier<Authentication> authentication;
+  private SimpleMethodInvocation preAuthorizeInvocation;
+  private SimpleMethodInvocation permissionInvocation;
+
+  @Setup
+  public void setUp() throws NoSuchMethodException {
+    List<GrantedAuthority> authorities = new ArrayList<>();
+    authorities.add(new SimpleGrantedAuthority(ROLE_USER_AUTHORITY));
+    for (Permission permission : USER_PERMISSIONS) {
+      authorities.add(new SimpleGrantedAuthority(permission.getAuthority()));
+    }
+    AuthenticatedUser principal =
+        new AuthenticatedUser(1, "user", USER_ROLE, Permission.maskOf(USER_PERMISSIONS));
+    Authentication token = new UsernamePasswordAuthenticationToken(principal, null, authorities);
+    authentication = () -> token;
+
+    Endpoints endpoints = new Endpoints();
+    Method preAuthorized = Endpoints.class.getMethod("viewAdWithPreAuthorize");
+    Method permissionChecked = Endpoints.class.getMethod("viewAdWithRequiresPermission");
+    preAuthorizeInvocation = new SimpleMethodInvocation(endpoints, preAuthorized);
+    permissionInvocation = new SimpleMethodInvocation(endpoints, permissionChecked);
+  }
+
+  @Benchmark
+  @SuppressWarnings("deprecation")
+  public AuthorizationDecision preAuthorizeSpel() {
+    return preAuthorizeManager.check(authentication, preAuthorizeInvocation);
+  }
+
+  @Benchmark
+  public AuthorizationDecision permissionBitmask() {
+    return permissionManager.check(authentication, permissionInvocation);
+  }
+
+  /** Обработчики с одинаковым требованием прав, заданным двумя способами. */
+  public static class Endpoints {
+    @PreAuthorize("hasAuthority('user.view_advertisement')")
+    public void viewAdWithPreAuthorize() {}
+
+    @RequiresPermission(Permission.USER_VIEW_ADVERTISEMENT)
+    public void viewAdWithRequiresPermission() {}
+  }
+}
@@ -0,0 +1,45 @@
+package org.lab1.config;
+
+import org.apache.catalina.connector.Connector;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Отдельный коннектор Tomcat для служебных эндпоинтов управления логами. Он слушает
+ * MANAGEMENT_HOST:MANAGEMENT_PORT (по умолчанию только loopback) и не публикуется наружу, а
+ * запросы к нему дополнительно требуют секрет MANAGEMENT_TOKEN; см. ManagementAccessFilter.
+ */
+@Configuration
+public class ManagementServerConfig {
+  public static final String MANAGEMENT_PATH_PREFIX = "/management/";
+  private static final String HOST_KEY = "MANAGEMENT_HOST";
+  private static final String DEFAULT_HOST = "127.0.0.1";
+  private static final String PORT_KEY = "MANAGEMENT_PORT";
+  private static final String DEFAULT_PORT = "8081";
+  private static final String TOKEN_KEY = "MANAGEMENT_TOKEN";
+  private static final String ADDRESS_PROPERTY = "address";
+
+  private final String host = EnvConfig.get(HOST_KEY, DEFAULT_HOST);
+  private final int port = Integer.parseInt(EnvConfig.get(PORT_KEY, DEFAULT_PORT));
+  private final String token = EnvConfig.get(TOKEN_KEY);
+
+  public int getPort() {
+    return port;
+  }
+
+  public String getToken() {
+    return token;
+  }
+
+  @Bean
+  public WebServerFactoryCustomizer<TomcatServletWebServerFactory> managementConnector() {
+    return factory -> {
+      Connector connector = new Connector(TomcatServletWebServerFactory.DEFAULT_PROTOCOL);
+      connector.setPort(port);
+      connector.setProperty(ADDRESS_PROPERTY, host);
+      factory.addAdditionalTomcatConnectors(connector);
+    };
+  }
+}
@@ -1,5 +1,10 @@
 package org.lab1.config;
 
+import org.springframework.amqp.core.AnonymousQueue;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.FanoutExchange;
+import org.springframework.amqp.core.Queue;
 import org.springframework.amqp.rabbit.connection.CachingConnectionFactory;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitAdmin;
@@ -9,6 +14,8 @@ import org.springframework.context.annotation.Configuration;
 
 @Configuration
 public class RabbitMQConfig {
+  public static final String REVOCATION_EXCHANGE = "auth.revocations";
+  public static final String REVOCATION_QUEUE_BEAN = "revocationQueue";
   private static final String RABBITMQ_HOST = EnvConfig.get("RABBITMQ_HOST", "rabbit");
   private static final int RABBITMQ_PORT = Integer.parseInt(EnvConfig.get("RABBITMQ_PORT", "5672"));
   private static final String RABBITMQ_USERNAME = EnvConfig.get("RABBITMQ_USERNAME", "admin");
@@ -16,6 +23,8 @@ public class RabbitMQConfig {
   private static final String CONNECTION_FACTORY_BEAN = "connectionFactory";
   private static final String RABBIT_ADMIN_BEAN = "rabbitAdmin";
   private static final String RABBIT_TEMPLATE_BEAN = "rabbitTemplate";
+  private static final String REVOCATION_EXCHANGE_BEAN = "revocationExchange";
+  private static final String REVOCATION_BINDING_BEAN = "revocationBinding";
 
   @Bean(name = CONNECTION_FACTORY_BEAN)
   public ConnectionFactory connectionFactory() {
@@ -36,4 +45,21 @@ public class RabbitMQConfig {
   public RabbitTemplate rabbitTemplate(final ConnectionFactory connectionFactory) {
     return new RabbitTemplate(connectionFactory);
   }
+
+  @Bean(name = REVOCATION_EXCHANGE_BEAN)
+  public FanoutExchange revocationExchange() {
+    return new FanoutExchange(REVOCATION_EXCHANGE);
+  }
+
+  /** Каждый экземпляр получает свою временную очередь и видит все отзывы токенов кластера. */
+  @Bean(name = REVOCATION_QUEUE_BEAN)
+  public Queue revocationQueue() {
+    return new AnonymousQueue();
+  }
+
+  @Bean(name = REVOCATION_BINDING_BEAN)
+  public Binding revocationBinding(
+      final Queue revocationQueue, final FanoutExchange revocationExchange) {
+    return BindingBuilder.bind(revocationQueue).to(revocationExchange);
+  }
 }
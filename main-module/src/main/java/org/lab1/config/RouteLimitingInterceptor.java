@@ -0,0 +1,139 @@
+package org.lab1.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.web.client.ResourceAccessException;
+
+/**
+ * Ограничивает число одновременных исходящих запросов к одному хосту. Если все слоты маршрута
+ * заняты дольше таймаута ожидания, запрос отклоняется с {@link ResourceAccessException}, и поток
+ * обработки не блокируется на медленном внешнем сервисе. Слот освобождается при закрытии ответа,
+ * а не при возврате из execute, так что чтение тела тоже считается занятым соединением.
+ */
+final class RouteLimitingInterceptor implements ClientHttpRequestInterceptor {
+  private static final String IN_FLIGHT_METRIC = "http.client.route.in.flight";
+  private static final String REJECTED_METRIC = "http.client.route.rejected";
+  private static final String HOST_TAG = "host";
+  private static final String REJECTED_MESSAGE = "Connection limit reached for host: ";
+
+  private final Map<String, Route> routes = new ConcurrentHashMap<>();
+  private final int maxPerRoute;
+  private final long acquireTimeoutMillis;
+  private final MeterRegistry meterRegistry;
+
+  RouteLimitingInterceptor(
+      final int maxPerRouteParam,
+      final long acquireTimeoutMillisParam,
+      final MeterRegistry meterRegistryParam) {
+    this.maxPerRoute = maxPerRouteParam;
+    this.acquireTimeoutMillis = acquireTimeoutMillisParam;
+    this.meterRegistry = meterRegistryParam;
+  }
+
+  @Override
+  public ClientHttpResponse intercept(
+      final HttpRequest request, final byte[] body, final ClientHttpRequestExecution execution)
+      throws IOException {
+    String host = String.valueOf(request.getURI().getHost());
+    Route route = routes.computeIfAbsent(host, this::createRoute);
+    acquire(route, host);
+    try {
+      return new PermitReleasingResponse(execution.execute(request, body), route.permits);
+    } catch (IOException | RuntimeException exception) {
+      route.permits.release();
+      throw exception;
+    }
+  }
+
+  private void acquire(final Route route, final String host) {
+    boolean acquired;
+    try {
+      acquired = route.permits.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS);
+    } catch (InterruptedException interruptedException) {
+      Thread.currentThread().interrupt();
+      acquired = false;
+    }
+    if (!acquired) {
+      route.rejected.increment();
+      throw new ResourceAccessException(REJECTED_MESSAGE + host);
+    }
+  }
+
+  private Route createRoute(final String host) {
+    Route route =
+        new Route(
+            new Semaphore(maxPerRoute),
+            Counter.builder(REJECTED_METRIC).tag(HOST_TAG, host).register(meterRegistry));
+    Gauge.builder(IN_FLIGHT_METRIC, route.permits, p -> maxPerRoute - p.availablePermits())
+        .tag(HOST_TAG, host)
+        .register(meterRegistry);
+    return route;
+  }
+
+  private static final class Route {
+    private final Semaphore permits;
+    private final Counter rejected;
+
+    private Route(final Semaphore permitsParam, final Counter rejectedParam) {
+      this.permits = permitsParam;
+      this.rejected = rejectedParam;
+    }
+  }
+
+  private static final class PermitReleasingResponse implements ClientHttpResponse {
+    private final ClientHttpResponse delegate;
+    private final Semaphore permits;
+    private final AtomicBoolean released = new AtomicBoolean();
+
+    private PermitReleasingResponse(
+        final ClientHttpResponse delegateParam, final Semaphore permitsParam) {
+      this.delegate = delegateParam;
+      this.permits = permitsParam;
+    }
+
+    @Override
+    public HttpStatusCode getStatusCode() throws IOException {
+      return delegate.getStatusCode();
+    }
+
+    @Override
+    public String getStatusText() throws IOException {
+      return delegate.getStatusText();
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+      return delegate.getHeaders();
+    }
+
+    @Override
+    public InputStream getBody() throws IOException {
+      return delegate.getBody();
+    }
+
+    @Override
+    public void close() {
+      try {
+        delegate.close();
+      } finally {
+        if (released.compareAndSet(false, true)) {
+          permits.release();
+        }
+      }
+    }
+  }
+}
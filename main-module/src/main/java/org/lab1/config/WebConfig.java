@@ -1,12 +1,19 @@
 package org.lab1.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.net.http.HttpClient;
+import java.time.Duration;
 import org.lab.logger.CorrelationLogger;
 import org.lab.logger.FileLogger;
 import org.lab.logger.Logger;
+import org.lab.logger.LoggerMeterBinder;
 import org.springframework.beans.factory.config.ConfigurableBeanFactory;
+import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Scope;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.client.RestTemplate;
@@ -23,8 +30,17 @@ public class WebConfig implements WebMvcConfigurer {
   private static final String REST_TEMPLATE_BEAN = "restTemplate";
   private static final String FILE_LOGGER_BEAN = "fileLogger";
   private static final String CORRELATION_LOGGER_BEAN = "correlationLogger";
+  private static final String LOGGER_METRICS_BEAN = "loggerMetrics";
   private static final String APP_LOGGER_NAME = "app";
   private static final String SCOPE_SINGLETON = ConfigurableBeanFactory.SCOPE_SINGLETON;
+  private static final String CONNECT_TIMEOUT_KEY = "HTTP_CLIENT_CONNECT_TIMEOUT_MILLIS";
+  private static final String DEFAULT_CONNECT_TIMEOUT_MILLIS = "2000";
+  private static final String READ_TIMEOUT_KEY = "HTTP_CLIENT_READ_TIMEOUT_MILLIS";
+  private static final String DEFAULT_READ_TIMEOUT_MILLIS = "5000";
+  private static final String MAX_PER_ROUTE_KEY = "HTTP_CLIENT_MAX_CONNECTIONS_PER_ROUTE";
+  private static final String DEFAULT_MAX_PER_ROUTE = "20";
+  private static final String ACQUIRE_TIMEOUT_KEY = "HTTP_CLIENT_ACQUIRE_TIMEOUT_MILLIS";
+  private static final String DEFAULT_ACQUIRE_TIMEOUT_MILLIS = "1000";
 
   @Override
   public void addCorsMappings(final CorsRegistry registry) {
@@ -40,9 +56,37 @@ public class WebConfig implements WebMvcConfigurer {
     return new BCryptPasswordEncoder();
   }
 
+  /**
+   * RestTemplate поверх JDK HttpClient: соединения переиспользуются (keep-alive, HTTP/2), запросы
+   * ограничены таймаутами подключения и чтения, а число одновременных запросов к одному хосту —
+   * {@link RouteLimitingInterceptor}. Время запросов по маршрутам пишется в метрику
+   * {@code http.client.requests} через стандартный RestTemplateBuilder.
+   *
+   * @param restTemplateBuilder сборщик RestTemplate из Spring Boot
+   * @param meterRegistry реестр метрик
+   * @return настроенный RestTemplate
+   */
   @Bean(name = REST_TEMPLATE_BEAN)
-  public RestTemplate restTemplate() {
-    return new RestTemplate();
+  public RestTemplate restTemplate(
+      final RestTemplateBuilder restTemplateBuilder, final MeterRegistry meterRegistry) {
+    long connectTimeoutMillis = readMillis(CONNECT_TIMEOUT_KEY, DEFAULT_CONNECT_TIMEOUT_MILLIS);
+    HttpClient httpClient =
+        HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_2)
+            .connectTimeout(Duration.ofMillis(connectTimeoutMillis))
+            .build();
+    JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+    requestFactory.setReadTimeout(
+        Duration.ofMillis(readMillis(READ_TIMEOUT_KEY, DEFAULT_READ_TIMEOUT_MILLIS)));
+    RouteLimitingInterceptor routeLimitingInterceptor =
+        new RouteLimitingInterceptor(
+            Integer.parseInt(EnvConfig.get(MAX_PER_ROUTE_KEY, DEFAULT_MAX_PER_ROUTE)),
+            readMillis(ACQUIRE_TIMEOUT_KEY, DEFAULT_ACQUIRE_TIMEOUT_MILLIS),
+            meterRegistry);
+    return restTemplateBuilder
+        .requestFactory(() -> requestFactory)
+        .additionalInterceptors(routeLimitingInterceptor)
+        .build();
   }
 
   @Bean(name = FILE_LOGGER_BEAN)
@@ -56,4 +100,13 @@ public class WebConfig implements WebMvcConfigurer {
   public Logger correlationLogger() {
     return CorrelationLogger.getInstance(APP_LOGGER_NAME);
   }
+
+  @Bean(name = LOGGER_METRICS_BEAN)
+  public MeterBinder loggerMetrics() {
+    return new LoggerMeterBinder();
+  }
+
+  private static long readMillis(final String key, final String defaultValue) {
+    return Long.parseLong(EnvConfig.get(key, defaultValue));
+  }
 }
@@ -9,11 +9,12 @@ import org.lab1.model.Application;
 import org.lab1.model.ApplicationStatus;
 import org.lab1.model.ApplicationType;
 import org.lab1.model.Developer;
+import org.lab1.security.Permission;
+import org.lab1.security.RequiresPermission;
 import org.lab1.service.ApplicationService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -57,7 +58,7 @@ public class ApplicationController {
     this.logger = loggerParam;
   }
 
-  @PreAuthorize("hasAuthority('application.read')")
+  @RequiresPermission(Permission.APPLICATION_READ)
   @GetMapping
   public ResponseEntity<List<Application>> getAllApplications() {
     logger.info("Fetching all applications");
@@ -66,7 +67,7 @@ public class ApplicationController {
     return ResponseEntity.ok(applications);
   }
 
-  @PreAuthorize("hasAuthority('application.read')")
+  @RequiresPermission(Permission.APPLICATION_READ)
   @GetMapping("/developer/{developerId}")
   public ResponseEntity<List<Application>> getApplicationsByDeveloperId(
       @PathVariable final int developerId) {
@@ -76,7 +77,7 @@ public class ApplicationController {
     return ResponseEntity.ok(applications);
   }
 
-  @PreAuthorize("hasAuthority('application.manage')")
+  @RequiresPermission(Permission.APPLICATION_MANAGE)
   @PostMapping
   public ResponseEntity<Application> createApplication(
       @RequestBody final ApplicationJson applicationJson) {
@@ -91,7 +92,7 @@ public class ApplicationController {
     }
   }
 
-  @PreAuthorize("hasAuthority('application.read')")
+  @RequiresPermission(Permission.APPLICATION_READ)
   @GetMapping("/{id}")
   public ResponseEntity<Application> getApplication(@PathVariable final int id) {
     logger.info(APPLICATION_FETCH_LOG + id);
@@ -106,7 +107,7 @@ public class ApplicationController {
     throw new NotFoundException("Application not found with ID: " + id);
   }
 
-  @PreAuthorize("hasAuthority('application.manage')")
+  @RequiresPermission(Permission.APPLICATION_MANAGE)
   @PutMapping("/{id}")
   public ResponseEntity<Application> updateApplication(
       @PathVariable final int id,
@@ -129,7 +130,7 @@ public class ApplicationController {
     }
   }
 
-  @PreAuthorize("hasAuthority('application.manage')")
+  @RequiresPermission(Permission.APPLICATION_MANAGE)
   @DeleteMapping("/{id}")
   public ResponseEntity<Void> deleteApplication(@PathVariable final int id) {
     logger.info(APPLICATION_DELETE_LOG + id);
@@ -5,10 +5,11 @@ import org.lab.logger.Logger;
 import org.lab1.exception.NotFoundException;
 import org.lab1.json.ApplicationStatsJson;
 import org.lab1.model.ApplicationStats;
+import org.lab1.security.Permission;
+import org.lab1.security.RequiresPermission;
 import org.lab1.service.ApplicationStatsService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
-import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -48,7 +49,7 @@ public class ApplicationStatsController {
     this.logger = loggerParam;
   }
 
-  @PreAuthorize("hasAuthority('application_stats.manage')")
+  @RequiresPermission(Permission.APPLICATION_STATS_MANAGE)
   @PostMapping
   public ApplicationStats create(@RequestBody final ApplicationStatsJson applicationStatsJson) {
     logger.info(CREATE_REQUEST_LOG);
@@ -57,7 +58,7 @@ public class ApplicationStatsController {
     return stats;
   }
 
-  @PreAuthorize("hasAuthority('application_stats.manage')")
+  @RequiresPermission(Permission.APPLICATION_STATS_MANAGE)
   @PutMapping("/{id}")
   public ApplicationStats update(
       @PathVariable final int id, @RequestBody final ApplicationStatsJson applicationStats) {
@@ -68,7 +69,7 @@ public class ApplicationStatsController {
     return updatedStats;
   }
 
-  @PreAuthorize("hasAuthority('application_stats.read')")
+  @RequiresPermission(Permission.APPLICATION_STATS_READ)
   @GetMapping("/{id}")
   public ApplicationStats getById(@PathVariable final int id) {
     logger.info(GET_REQUEST_LOG + id);
@@ -81,7 +82,7 @@ public class ApplicationStatsController {
     return stats;
   }
 
-  @PreAuthorize("hasAuthority('application_stats.read')")
+  @RequiresPermission(Permission.APPLICATION_STATS_READ)
   @GetMapping
   public List<ApplicationStats> getAll() {
     logger.info(GET_ALL_REQUEST_LOG);
@@ -90,7 +91,7 @@ public class ApplicationStatsController {
     return allStats;
   }
 
-  @PreAuthorize("hasAuthority('application_stats.manage')")
+  @RequiresPermission(Permission.APPLICATION_STATS_MANAGE)
   @DeleteMapping("/{id}")
   public void delete(@PathVariable final int id) {
     logger.info(DELETE_REQUEST_LOG + id);
@@ -4,11 +4,12 @@ import org.lab.logger.Logger;
 import org.lab1.exception.ValidationException;
 import org.lab1.model.ApplicationForm;
 import org.lab1.model.VerificationLog;
+import org.lab1.security.Permission;
+import org.lab1.security.RequiresPermission;
 import org.lab1.service.ApplicationVerificationService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -39,7 +40,7 @@ public class ApplicationVerificationController {
     this.logger = loggerParam;
   }
 
-  @PreAuthorize("hasAuthority('application.verify')")
+  @RequiresPermission(Permission.APPLICATION_VERIFY)
   @PostMapping("/verify")
   public ResponseEntity<String> verifyApplicationForm(@RequestBody final ApplicationForm form) {
     logger.info(VERIFICATION_REQUEST_LOG);
@@ -2,6 +2,7 @@ package org.lab1.controller;
 
 import io.jsonwebtoken.Claims;
 import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
 import java.util.UUID;
 import org.lab.logger.Logger;
 import org.lab1.exception.ForbiddenException;
@@ -11,9 +12,15 @@ import org.lab1.json.Credentials;
 import org.lab1.json.GoogleAuthResponse;
 import org.lab1.json.LoginCredentials;
 import org.lab1.json.Token;
+import org.lab1.json.TokenRevocationRequest;
 import org.lab1.model.Role;
 import org.lab1.model.User;
+import org.lab1.security.LoginThrottle;
+import org.lab1.security.Permission;
+import org.lab1.security.RequiresPermission;
 import org.lab1.security.TokenManager;
+import org.lab1.security.TokenRevocationService;
+import org.lab1.security.VerifiedTokenCache;
 import org.lab1.service.DeveloperService;
 import org.lab1.service.GoogleOAuthQueryService;
 import org.lab1.service.GoogleOAuthRegistrationService;
@@ -27,6 +34,7 @@ import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.TransactionStatus;
 import org.springframework.transaction.support.DefaultTransactionDefinition;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
@@ -77,6 +85,10 @@ public class AuthorizationController {
   private static final String AUTH_GOOGLE_ERROR_METRIC = "auth.google.error";
   private static final String REASON_LABEL = "reason";
   private static final String USER_ID_CLAIM = "userId";
+  private static final String LOGOUT_LOG = "User {} logged out.";
+  private static final String BULK_REVOKE_LOG = "Bulk revocation of {} token(s) requested.";
+  private static final String EMPTY_REVOCATION_MESSAGE = "tokenIds must not be empty";
+  private static final String USER_REVOKE_LOG = "Revocation of all sessions of user {} requested.";
 
   @Autowired private UserQueryService userQueryService;
   @Autowired private UserRegistrationService userRegistrationService;
@@ -85,6 +97,9 @@ public class AuthorizationController {
   @Autowired private GoogleOAuthQueryService googleOAuthQueryService;
   @Autowired private GoogleOAuthRegistrationService googleOAuthRegistrationService;
   @Autowired private TokenManager tokenManager;
+  @Autowired private TokenRevocationService tokenRevocationService;
+  @Autowired private VerifiedTokenCache verifiedTokenCache;
+  @Autowired private LoginThrottle loginThrottle;
   @Autowired private MeterRegistry meterRegistry;
 
   @Autowired
@@ -92,8 +107,10 @@ public class AuthorizationController {
   private Logger logger;
 
   @PostMapping("/login")
-  public ResponseEntity<Token> login(@RequestBody final LoginCredentials credentials) {
+  public ResponseEntity<Token> login(
+      @RequestBody final LoginCredentials credentials, final HttpServletRequest request) {
     logger.info(LOGIN_REQUEST_LOG + credentials.getUsername());
+    loginThrottle.acquire(credentials.getUsername(), request.getRemoteAddr());
     try {
       Token token =
           userQueryService.authenticateUser(credentials.getUsername(), credentials.getPassword());
@@ -108,8 +125,10 @@ public class AuthorizationController {
   }
 
   @PostMapping("/register")
-  public ResponseEntity<Token> registerUser(@RequestBody final Credentials credentials) {
+  public ResponseEntity<Token> registerUser(
+      @RequestBody final Credentials credentials, final HttpServletRequest request) {
     logger.info(REGISTER_REQUEST_LOG + credentials.getUsername());
+    loginThrottle.acquire(credentials.getUsername(), request.getRemoteAddr());
     try {
       Token token =
           userRegistrationService.registerUserAndGetToken(
@@ -127,8 +146,10 @@ public class AuthorizationController {
   }
 
   @PostMapping("/developer/register")
-  public ResponseEntity<Token> registerDeveloper(@RequestBody final Credentials credentials) {
+  public ResponseEntity<Token> registerDeveloper(
+      @RequestBody final Credentials credentials, final HttpServletRequest request) {
     logger.info(DEVELOPER_REGISTER_REQUEST_LOG + credentials.getUsername());
+    loginThrottle.acquire(credentials.getUsername(), request.getRemoteAddr());
     TransactionDefinition definition = new DefaultTransactionDefinition();
     TransactionStatus status = transactionManager.getTransaction(definition);
 
@@ -156,6 +177,41 @@ public class AuthorizationController {
     }
   }
 
+  @PostMapping("/logout")
+  public ResponseEntity<Void> logout(@RequestHeader("Authorization") final String authHeader) {
+    String systemToken = authHeader.replace(BEARER_PREFIX, "");
+    Claims claims = tokenManager.verifyToken(systemToken);
+    if (claims == null) {
+      throw new UnauthorizedException(INVALID_TOKEN_MESSAGE);
+    }
+
+    tokenRevocationService.revoke(claims.getId(), claims.getExpiration().getTime());
+    verifiedTokenCache.invalidate(systemToken);
+    logger.info(LOGOUT_LOG, claims.getSubject());
+    return ResponseEntity.noContent().build();
+  }
+
+  @RequiresPermission(Permission.TOKEN_REVOKE)
+  @PostMapping("/revoke")
+  public ResponseEntity<Void> revokeTokens(@RequestBody final TokenRevocationRequest request) {
+    if (request.getTokenIds() == null || request.getTokenIds().isEmpty()) {
+      throw new ValidationException(EMPTY_REVOCATION_MESSAGE);
+    }
+
+    logger.info(BULK_REVOKE_LOG, request.getTokenIds().size());
+    long expiresAtMillis = System.currentTimeMillis() + tokenManager.getTokenValidityMillis();
+    tokenRevocationService.revokeAll(request.getTokenIds(), expiresAtMillis);
+    return ResponseEntity.noContent().build();
+  }
+
+  @RequiresPermission(Permission.TOKEN_REVOKE)
+  @PostMapping("/revoke/user/{userId}")
+  public ResponseEntity<Void> revokeUserTokens(@PathVariable final int userId) {
+    logger.info(USER_REVOKE_LOG, userId);
+    tokenRevocationService.revokeUser(userId);
+    return ResponseEntity.noContent().build();
+  }
+
   @PostMapping("/google/connect")
   public ResponseEntity<GoogleAuthResponse> initiateGoogleConnect(
       @RequestHeader("Authorization") final String authHeader) {
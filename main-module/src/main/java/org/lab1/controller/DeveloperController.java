@@ -3,11 +3,12 @@ package org.lab1.controller;
 import org.lab.logger.Logger;
 import org.lab1.exception.NotFoundException;
 import org.lab1.model.Developer;
+import org.lab1.security.Permission;
+import org.lab1.security.RequiresPermission;
 import org.lab1.service.DeveloperService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -41,7 +42,7 @@ public class DeveloperController {
     this.logger = loggerParam;
   }
 
-  @PreAuthorize("hasAuthority('developer.read')")
+  @RequiresPermission(Permission.DEVELOPER_READ)
   @GetMapping("/by-user/{userId}")
   public ResponseEntity<Developer> getDeveloperByUserId(@PathVariable final int userId) {
     logger.info("Received request to get developer by user ID: " + userId);
@@ -53,7 +54,7 @@ public class DeveloperController {
     return ResponseEntity.ok(developer);
   }
 
-  @PreAuthorize("hasAuthority('developer.manage')")
+  @RequiresPermission(Permission.DEVELOPER_MANAGE)
   @PostMapping
   public ResponseEntity<Developer> createDeveloper(@RequestBody final Developer param) {
     logger.info(CREATE_REQUEST_LOG);
@@ -62,7 +63,7 @@ public class DeveloperController {
     return ResponseEntity.ok(developer);
   }
 
-  @PreAuthorize("hasAuthority('developer.read')")
+  @RequiresPermission(Permission.DEVELOPER_READ)
   @GetMapping("/{id}")
   public ResponseEntity<Developer> getDeveloper(@PathVariable final int id) {
     logger.info(GET_REQUEST_LOG + id);
@@ -74,7 +75,7 @@ public class DeveloperController {
     return ResponseEntity.ok(developer);
   }
 
-  @PreAuthorize("hasAuthority('developer.manage')")
+  @RequiresPermission(Permission.DEVELOPER_MANAGE)
   @PutMapping("/{id}")
   public ResponseEntity<Developer> updateDeveloper(
       @PathVariable final int id,
@@ -86,7 +87,7 @@ public class DeveloperController {
     return ResponseEntity.ok(developer);
   }
 
-  @PreAuthorize("hasAuthority('developer.manage')")
+  @RequiresPermission(Permission.DEVELOPER_MANAGE)
   @DeleteMapping("/{id}")
   public ResponseEntity<Void> deleteDeveloper(@PathVariable final int id) {
     logger.info(DELETE_REQUEST_LOG + id);
@@ -7,12 +7,13 @@ import java.util.Map;
 import org.lab.logger.Logger;
 import org.lab1.exception.ValidationException;
 import org.lab1.model.User;
+import org.lab1.security.Permission;
+import org.lab1.security.RequiresPermission;
 import org.lab1.service.FormGenerationService;
 import org.lab1.service.UserQueryService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -79,7 +80,7 @@ public class FormController {
     this.logger = loggerParam;
   }
 
-  @PreAuthorize("hasAuthority('form.create')")
+  @RequiresPermission(Permission.FORM_CREATE)
   @PostMapping("/create")
   public ResponseEntity<String> generateGoogleForm() {
     logger.info(GENERATE_FORM_REQUEST_LOG);
@@ -98,7 +99,7 @@ public class FormController {
     }
   }
 
-  @PreAuthorize("hasAuthority('form.read')")
+  @RequiresPermission(Permission.FORM_READ)
   @GetMapping("/generate")
   public ResponseEntity<Map<String, String>> generateForm() {
     logger.info(GENERATE_FIELDS_REQUEST_LOG);
@@ -107,7 +108,7 @@ public class FormController {
     return ResponseEntity.ok(formFields);
   }
 
-  @PreAuthorize("hasAuthority('form.manage')")
+  @RequiresPermission(Permission.FORM_MANAGE)
   @PostMapping("/addField")
   public ResponseEntity<String> addField(@RequestBody final Map<String, String> fieldRequest) {
     String fieldName = fieldRequest.get(FIELD_NAME_KEY);
@@ -124,7 +125,7 @@ public class FormController {
     return ResponseEntity.ok(FIELD_ADDED_MESSAGE);
   }
 
-  @PreAuthorize("hasAuthority('form.manage')")
+  @RequiresPermission(Permission.FORM_MANAGE)
   @PostMapping("/addFields")
   public ResponseEntity<String> addFields(
       @RequestBody final List<Map<String, String>> fieldsRequest) {
@@ -6,12 +6,13 @@ import org.lab1.exception.NotFoundException;
 import org.lab1.exception.UnauthorizedException;
 import org.lab1.model.GoogleOperationResult;
 import org.lab1.model.User;
+import org.lab1.security.Permission;
+import org.lab1.security.RequiresPermission;
 import org.lab1.service.GoogleOperationResultService;
 import org.lab1.service.UserQueryService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -52,7 +53,7 @@ public class GoogleOperationResultsController {
     this.logger = loggerParam;
   }
 
-  @PreAuthorize("hasAuthority('google_results.read.own')")
+  @RequiresPermission(Permission.GOOGLE_RESULTS_READ_OWN)
   @GetMapping("/my-results")
   public ResponseEntity<List<GoogleOperationResult>> getMyResults() {
     logger.info(GET_USER_RESULTS_LOG);
@@ -67,7 +68,7 @@ public class GoogleOperationResultsController {
     }
   }
 
-  @PreAuthorize("hasAuthority('google_results.read.all')")
+  @RequiresPermission(Permission.GOOGLE_RESULTS_READ_ALL)
   @GetMapping("/user/{userId}")
   public ResponseEntity<List<GoogleOperationResult>> getResultsByUserId(
       @PathVariable final Integer userId) {
@@ -84,7 +85,7 @@ public class GoogleOperationResultsController {
     return ResponseEntity.ok(results);
   }
 
-  @PreAuthorize("hasAuthority('google_results.read.by_operation')")
+  @RequiresPermission(Permission.GOOGLE_RESULTS_READ_BY_OPERATION)
   @GetMapping("/operation/{operation}")
   public ResponseEntity<List<GoogleOperationResult>> getResultsByOperation(
       @PathVariable final String operation) {
@@ -93,7 +94,7 @@ public class GoogleOperationResultsController {
     return ResponseEntity.ok(results);
   }
 
-  @PreAuthorize("hasAuthority('google_results.read.own')")
+  @RequiresPermission(Permission.GOOGLE_RESULTS_READ_OWN)
   @GetMapping("/my-results/latest/{limit}")
   public ResponseEntity<List<GoogleOperationResult>> getMyLatestResults(
       @PathVariable final int limit) {
@@ -110,7 +111,7 @@ public class GoogleOperationResultsController {
     }
   }
 
-  @PreAuthorize("hasAuthority('google_results.read.errors')")
+  @RequiresPermission(Permission.GOOGLE_RESULTS_READ_ERRORS)
   @GetMapping("/errors")
   public ResponseEntity<List<GoogleOperationResult>> getOperationsWithErrors() {
     logger.info(GET_ERRORS_LOG);
@@ -118,7 +119,7 @@ public class GoogleOperationResultsController {
     return ResponseEntity.ok(results);
   }
 
-  @PreAuthorize("hasAuthority('google_results.read.successful')")
+  @RequiresPermission(Permission.GOOGLE_RESULTS_READ_SUCCESSFUL)
   @GetMapping("/successful")
   public ResponseEntity<List<GoogleOperationResult>> getSuccessfulOperations() {
     logger.info(GET_SUCCESSFUL_LOG);
@@ -126,7 +127,7 @@ public class GoogleOperationResultsController {
     return ResponseEntity.ok(results);
   }
 
-  @PreAuthorize("hasAuthority('google_results.read.by_id')")
+  @RequiresPermission(Permission.GOOGLE_RESULTS_READ_BY_ID)
   @GetMapping("/{id}")
   public ResponseEntity<GoogleOperationResult> getResultById(@PathVariable final Long id) {
     logger.info(GET_SPECIFIC_RESULT_LOG + id);
@@ -146,7 +147,7 @@ public class GoogleOperationResultsController {
     return ResponseEntity.ok(result);
   }
 
-  @PreAuthorize("hasAuthority('google_results.read.own')")
+  @RequiresPermission(Permission.GOOGLE_RESULTS_READ_OWN)
   @GetMapping("/my-results/operation/{operation}")
   public ResponseEntity<List<GoogleOperationResult>> getMyResultsByOperation(
       @PathVariable final String operation) {
@@ -2,12 +2,13 @@ package org.lab1.controller;
 
 import org.lab.logger.Logger;
 import org.lab1.model.User;
+import org.lab1.security.Permission;
+import org.lab1.security.RequiresPermission;
 import org.lab1.service.GoogleSheetService;
 import org.lab1.service.UserQueryService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -48,7 +49,7 @@ public class GoogleSheetController {
     this.logger = loggerParam;
   }
 
-  @PreAuthorize("hasAuthority('stats.create')")
+  @RequiresPermission(Permission.STATS_CREATE)
   @PostMapping("/create-revenue-sheet")
   public ResponseEntity<String> createRevenueSheet() {
     logger.info(CREATE_REVENUE_SHEET_LOG);
@@ -66,7 +67,7 @@ public class GoogleSheetController {
     }
   }
 
-  @PreAuthorize("hasAuthority('stats.add_sheets')")
+  @RequiresPermission(Permission.STATS_ADD_SHEETS)
   @PostMapping("/{appId}/add-sheets")
   public ResponseEntity<String> addAppSheets(@PathVariable final int appId) {
     logger.info(ADD_APP_SHEETS_LOG + appId);
@@ -84,7 +85,7 @@ public class GoogleSheetController {
     }
   }
 
-  @PreAuthorize("hasAuthority('stats.update')")
+  @RequiresPermission(Permission.STATS_UPDATE)
   @PostMapping("/update-top")
   public ResponseEntity<String> updateAppsTop() {
     logger.info(UPDATE_TOP_LOG);
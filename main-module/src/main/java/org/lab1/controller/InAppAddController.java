@@ -6,12 +6,13 @@ import org.lab1.exception.NotFoundException;
 import org.lab1.exception.ValidationException;
 import org.lab1.json.InAppAddJson;
 import org.lab1.model.InAppAdd;
+import org.lab1.security.Permission;
+import org.lab1.security.RequiresPermission;
 import org.lab1.service.InAppAddService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -67,7 +68,7 @@ public class InAppAddController {
     this.logger = loggerParam;
   }
 
-  @PreAuthorize("hasAuthority('in_app_add.manage')")
+  @RequiresPermission(Permission.IN_APP_ADD_MANAGE)
   @PostMapping("/create")
   public ResponseEntity<InAppAdd> createInAppAdd(@RequestBody final InAppAddJson inAppAddJson) {
     logger.info(CREATE_REQUEST_LOG + inAppAddJson.getMonetizedApplicationId());
@@ -80,7 +81,7 @@ public class InAppAddController {
     return ResponseEntity.ok(inAppAdd);
   }
 
-  @PreAuthorize("hasAuthority('in_app_add.manage')")
+  @RequiresPermission(Permission.IN_APP_ADD_MANAGE)
   @PostMapping("/bulk")
   public ResponseEntity<List<InAppAdd>> createMultipleInAppAdds(
       @RequestBody final List<InAppAddJson> inAppAddJsons) {
@@ -97,7 +98,7 @@ public class InAppAddController {
     }
   }
 
-  @PreAuthorize("hasAuthority('in_app_add.read')")
+  @RequiresPermission(Permission.IN_APP_ADD_READ)
   @GetMapping("/list")
   public ResponseEntity<List<InAppAdd>> getAllInAppAds() {
     logger.info(LIST_REQUEST_LOG);
@@ -106,7 +107,7 @@ public class InAppAddController {
     return ResponseEntity.ok(inAppAdds);
   }
 
-  @PreAuthorize("hasAuthority('in_app_add.read')")
+  @RequiresPermission(Permission.IN_APP_ADD_READ)
   @GetMapping("get/{id}")
   public ResponseEntity<InAppAdd> getInAppAddById(@PathVariable final int id) {
     logger.info(GET_REQUEST_LOG + id);
@@ -118,7 +119,7 @@ public class InAppAddController {
     return ResponseEntity.ok(inAppAdd);
   }
 
-  @PreAuthorize("hasAuthority('in_app_add.read')")
+  @RequiresPermission(Permission.IN_APP_ADD_READ)
   @GetMapping("/monetized/{monetizedApplicationId}")
   public ResponseEntity<List<InAppAdd>> getInAppAdsByMonetizedApplication(
       @PathVariable final int monetizedApplicationId) {
@@ -129,7 +130,7 @@ public class InAppAddController {
     return ResponseEntity.ok(inAppAdds);
   }
 
-  @PreAuthorize("hasAuthority('in_app_add.manage')")
+  @RequiresPermission(Permission.IN_APP_ADD_MANAGE)
   @DeleteMapping("/{id}")
   public ResponseEntity<Void> deleteInAppAdd(@PathVariable final int id) {
     logger.info(DELETE_REQUEST_LOG + id);
@@ -138,7 +139,7 @@ public class InAppAddController {
     return ResponseEntity.noContent().build();
   }
 
-  @PreAuthorize("hasAuthority('in_app_add.manage')")
+  @RequiresPermission(Permission.IN_APP_ADD_MANAGE)
   @PutMapping("/{id}")
   public ResponseEntity<InAppAdd> updateInAppAdd(
       @PathVariable final int id, @RequestBody final InAppAddJson inAppAddJson) {
@@ -7,11 +7,12 @@ import org.lab1.exception.ValidationException;
 import org.lab1.json.InAppPurchaseJson;
 import org.lab1.json.InAppPurchasesJson;
 import org.lab1.model.InAppPurchase;
+import org.lab1.security.Permission;
+import org.lab1.security.RequiresPermission;
 import org.lab1.service.InAppPurchaseService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -62,7 +63,7 @@ public class InAppPurchaseController {
     this.logger = loggerParam;
   }
 
-  @PreAuthorize("hasAuthority('in_app_purchase.manage')")
+  @RequiresPermission(Permission.IN_APP_PURCHASE_MANAGE)
   @PostMapping("/create")
   public ResponseEntity<List<InAppPurchase>> createInAppPurchases(
       @RequestBody final InAppPurchasesJson inAppPurchases) {
@@ -93,7 +94,7 @@ public class InAppPurchaseController {
     }
   }
 
-  @PreAuthorize("hasAuthority('in_app_purchase.read')")
+  @RequiresPermission(Permission.IN_APP_PURCHASE_READ)
   @GetMapping("/all")
   public ResponseEntity<List<InAppPurchase>> getAllInAppPurchases() {
     logger.info(LIST_REQUEST_LOG);
@@ -102,7 +103,7 @@ public class InAppPurchaseController {
     return ResponseEntity.ok(purchases);
   }
 
-  @PreAuthorize("hasAuthority('in_app_purchase.read')")
+  @RequiresPermission(Permission.IN_APP_PURCHASE_READ)
   @GetMapping("/{id}")
   public ResponseEntity<InAppPurchase> getInAppPurchaseById(@PathVariable final int id) {
     logger.info(GET_REQUEST_LOG + id);
@@ -114,7 +115,7 @@ public class InAppPurchaseController {
     return ResponseEntity.ok(purchase);
   }
 
-  @PreAuthorize("hasAuthority('in_app_purchase.manage')")
+  @RequiresPermission(Permission.IN_APP_PURCHASE_MANAGE)
   @PostMapping("/link-to-monetized-app/{monetizedApplicationId}")
   public ResponseEntity<List<InAppPurchase>> linkMonetizedAppToPurchases(
       @PathVariable final int monetizedApplicationId) {
@@ -132,7 +133,7 @@ public class InAppPurchaseController {
     }
   }
 
-  @PreAuthorize("hasAuthority('in_app_purchase.manage')")
+  @RequiresPermission(Permission.IN_APP_PURCHASE_MANAGE)
   @PostMapping("/create-single")
   public ResponseEntity<InAppPurchase> createSingleInAppPurchase(
       @RequestBody final InAppPurchaseJson purchaseJson) {
@@ -148,7 +149,7 @@ public class InAppPurchaseController {
     }
   }
 
-  @PreAuthorize("hasAuthority('in_app_purchase.manage')")
+  @RequiresPermission(Permission.IN_APP_PURCHASE_MANAGE)
   @PutMapping("/{id}")
   public ResponseEntity<InAppPurchase> updateInAppPurchase(
       @PathVariable final int id, @RequestBody final InAppPurchaseJson purchaseJson) {
@@ -167,7 +168,7 @@ public class InAppPurchaseController {
     }
   }
 
-  @PreAuthorize("hasAuthority('in_app_purchase.manage')")
+  @RequiresPermission(Permission.IN_APP_PURCHASE_MANAGE)
   @DeleteMapping("/{id}")
   public ResponseEntity<Void> deleteInAppPurchase(@PathVariable final int id) {
     logger.info(DELETE_REQUEST_LOG + id);
@@ -182,7 +183,7 @@ public class InAppPurchaseController {
     }
   }
 
-  @PreAuthorize("hasAuthority('in_app_purchase.read')")
+  @RequiresPermission(Permission.IN_APP_PURCHASE_READ)
   @GetMapping("/by-monetized-app/{monetizedAppId}")
   public ResponseEntity<List<InAppPurchase>> getPurchasesByMonetizedApp(
       @PathVariable final int monetizedAppId) {
@@ -0,0 +1,58 @@
+package org.lab1.controller;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.lab.logger.LogLevels;
+import org.lab.logger.Severity;
+import org.lab1.exception.ValidationException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Просмотр и изменение порогов логирования без перезапуска. Доступен только на порту управления
+ * с токеном (ManagementAccessFilter). POST без level возвращает порог к значению из окружения.
+ */
+@RestController
+@RequestMapping("/management/loglevels")
+public class LogLevelsController {
+  private static final String LOGGER_KEY = "logger";
+  private static final String LEVEL_KEY = "level";
+
+  @GetMapping
+  public ResponseEntity<Map<String, Severity>> levels() {
+    return ResponseEntity.ok(LogLevels.getLevels());
+  }
+
+  @GetMapping("/{name}")
+  public ResponseEntity<Map<String, Object>> level(@PathVariable final String name) {
+    return ResponseEntity.ok(describe(name));
+  }
+
+  @PostMapping("/{name}")
+  public ResponseEntity<Map<String, Object>> configure(
+      @PathVariable final String name, @RequestParam(required = false) final String level) {
+    Severity severity = null;
+    if (level != null && !level.isBlank()) {
+      try {
+        severity = Severity.parse(level);
+      } catch (IllegalArgumentException illegalArgumentException) {
+        throw new ValidationException(
+            illegalArgumentException.getMessage(), illegalArgumentException);
+      }
+    }
+    LogLevels.setLevel(name, severity);
+    return ResponseEntity.ok(describe(name));
+  }
+
+  private Map<String, Object> describe(final String name) {
+    Map<String, Object> description = new LinkedHashMap<>();
+    description.put(LOGGER_KEY, name);
+    description.put(LEVEL_KEY, LogLevels.getLevel(name));
+    return description;
+  }
+}
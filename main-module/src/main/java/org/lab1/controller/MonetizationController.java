@@ -5,11 +5,12 @@ import org.lab1.exception.NotFoundException;
 import org.lab1.exception.ValidationException;
 import org.lab1.model.MonetizedApplication;
 import org.lab1.model.PaymentRequest;
+import org.lab1.security.Permission;
+import org.lab1.security.RequiresPermission;
 import org.lab1.service.MonetizationService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -49,7 +50,7 @@ public class MonetizationController {
     this.logger = loggerParam;
   }
 
-  @PreAuthorize("hasAuthority('monetization.read')")
+  @RequiresPermission(Permission.MONETIZATION_READ)
   @GetMapping("/info/{applicationId}")
   public ResponseEntity<MonetizedApplication> getMonetizationInfo(
       @PathVariable final int applicationId) {
@@ -67,7 +68,7 @@ public class MonetizationController {
     return ResponseEntity.ok(monetizedApp);
   }
 
-  @PreAuthorize("hasAuthority('monetization.payout.request')")
+  @RequiresPermission(Permission.MONETIZATION_PAYOUT_REQUEST)
   @PostMapping("/sendForm/{applicationId}")
   public ResponseEntity<PaymentRequest> sendForm(
       @PathVariable final int applicationId, @RequestParam final double amount) {
@@ -83,7 +84,7 @@ public class MonetizationController {
     return ResponseEntity.ok(paymentRequest);
   }
 
-  @PreAuthorize("hasAuthority('monetization.payout.execute')")
+  @RequiresPermission(Permission.MONETIZATION_PAYOUT_EXECUTE)
   @PostMapping("/payout")
   public ResponseEntity<String> makePayout(@RequestBody final PaymentRequest paymentRequest) {
     logger.info(
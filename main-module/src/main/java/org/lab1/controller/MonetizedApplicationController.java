@@ -5,11 +5,12 @@ import org.lab.logger.Logger;
 import org.lab1.exception.NotFoundException;
 import org.lab1.json.MonetizedApplicationJson;
 import org.lab1.model.MonetizedApplication;
+import org.lab1.security.Permission;
+import org.lab1.security.RequiresPermission;
 import org.lab1.service.MonetizedApplicationService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -40,7 +41,7 @@ public class MonetizedApplicationController {
     this.logger = loggerParam;
   }
 
-  @PreAuthorize("hasAuthority('monetized_application.manage')")
+  @RequiresPermission(Permission.MONETIZED_APPLICATION_MANAGE)
   @PostMapping
   public ResponseEntity<MonetizedApplication> createMonetizedApplication(
       @RequestBody final MonetizedApplicationJson monetizedApplicationJson) {
@@ -61,7 +62,7 @@ public class MonetizedApplicationController {
     return ResponseEntity.ok(monetizedApplication);
   }
 
-  @PreAuthorize("hasAuthority('monetized_application.manage')")
+  @RequiresPermission(Permission.MONETIZED_APPLICATION_MANAGE)
   @GetMapping("/{id}")
   public ResponseEntity<MonetizedApplication> getMonetizedApplicationById(
       @PathVariable final int id) {
@@ -75,7 +76,7 @@ public class MonetizedApplicationController {
     return ResponseEntity.ok(monetizedApplication);
   }
 
-  @PreAuthorize("hasAuthority('monetized_application.manage')")
+  @RequiresPermission(Permission.MONETIZED_APPLICATION_MANAGE)
   @GetMapping("/developer/{developerId}")
   public ResponseEntity<List<MonetizedApplication>> getMonetizedApplicationsByDeveloper(
       @PathVariable final int developerId) {
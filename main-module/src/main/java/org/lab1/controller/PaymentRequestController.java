@@ -4,11 +4,12 @@ import org.lab.logger.Logger;
 import org.lab1.exception.NotFoundException;
 import org.lab1.exception.ValidationException;
 import org.lab1.model.PaymentRequest;
+import org.lab1.security.Permission;
+import org.lab1.security.RequiresPermission;
 import org.lab1.service.PaymentRequestService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -44,7 +45,7 @@ public class PaymentRequestController {
     this.logger = loggerParam;
   }
 
-  @PreAuthorize("hasAuthority('payment_request.create')")
+  @RequiresPermission(Permission.PAYMENT_REQUEST_CREATE)
   @PostMapping
   public ResponseEntity<PaymentRequest> createPaymentRequest(
       @RequestParam final int applicationId, @RequestParam final double amount) {
@@ -59,7 +60,7 @@ public class PaymentRequestController {
     return ResponseEntity.ok(paymentRequest);
   }
 
-  @PreAuthorize("hasAuthority('payment_request.read')")
+  @RequiresPermission(Permission.PAYMENT_REQUEST_READ)
   @GetMapping("/{applicationId}")
   public ResponseEntity<PaymentRequest> getPaymentRequest(@PathVariable final int applicationId) {
     logger.info(GET_REQUEST_LOG + applicationId);
@@ -74,7 +75,7 @@ public class PaymentRequestController {
     return ResponseEntity.ok(paymentRequest);
   }
 
-  @PreAuthorize("hasAuthority('payment_request.validate_card')")
+  @RequiresPermission(Permission.PAYMENT_REQUEST_VALIDATE_CARD)
   @GetMapping("/validate/{applicationId}")
   public ResponseEntity<String> validateCard(@PathVariable final int applicationId) {
     logger.info(VALIDATE_REQUEST_LOG + applicationId);
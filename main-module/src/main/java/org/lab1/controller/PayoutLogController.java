@@ -4,10 +4,11 @@ import java.util.List;
 import org.lab.logger.Logger;
 import org.lab1.exception.NotFoundException;
 import org.lab1.model.PayoutLog;
+import org.lab1.security.Permission;
+import org.lab1.security.RequiresPermission;
 import org.lab1.service.PayoutLogService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
-import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -43,7 +44,7 @@ public class PayoutLogController {
     return payoutLogService.save(payoutLog);
   }
 
-  @PreAuthorize("hasAuthority('payout_log.manage')")
+  @RequiresPermission(Permission.PAYOUT_LOG_MANAGE)
   @PutMapping("/{id}")
   public PayoutLog update(@PathVariable final int id, @RequestBody final PayoutLog payoutLog) {
     logger.info(UPDATE_LOG + id);
@@ -51,7 +52,7 @@ public class PayoutLogController {
     return payoutLogService.save(payoutLog);
   }
 
-  @PreAuthorize("hasAuthority('payout_log.read')")
+  @RequiresPermission(Permission.PAYOUT_LOG_READ)
   @GetMapping("/{id}")
   public PayoutLog getById(@PathVariable final int id) {
     logger.info(GET_LOG + id);
@@ -60,14 +61,14 @@ public class PayoutLogController {
         .orElseThrow(() -> new NotFoundException("PayoutLog not found with ID: " + id));
   }
 
-  @PreAuthorize("hasAuthority('payout_log.read')")
+  @RequiresPermission(Permission.PAYOUT_LOG_READ)
   @GetMapping
   public List<PayoutLog> getAll() {
     logger.info(GET_ALL_LOG);
     return payoutLogService.findAll();
   }
 
-  @PreAuthorize("hasAuthority('payout_log.manage')")
+  @RequiresPermission(Permission.PAYOUT_LOG_MANAGE)
   @DeleteMapping("/{id}")
   public void delete(@PathVariable final int id) {
     logger.info(DELETE_LOG + id);
@@ -0,0 +1,59 @@
+package org.lab1.controller;
+
+import java.util.List;
+import org.lab.logger.RecentLogRecord;
+import org.lab.logger.RecentLogs;
+import org.lab.logger.Severity;
+import org.lab1.exception.ValidationException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Поиск по последним строкам лога в памяти, без чтения файлов из logs/. Строки содержат данные
+ * всех пользователей, поэтому эндпоинт доступен только на порту управления с токеном
+ * (ManagementAccessFilter). Все фильтры необязательны: level задаёт минимальный уровень, contains
+ * ищет подстроку.
+ */
+@RestController
+@RequestMapping("/management/recentlogs")
+public class RecentLogsController {
+  private static final int DEFAULT_LIMIT = 100;
+  private static final int MAX_LIMIT = 2048;
+
+  @GetMapping
+  public ResponseEntity<List<RecentLogRecord>> recent(
+      @RequestParam(required = false) final String logger,
+      @RequestParam(required = false) final String traceId,
+      @RequestParam(required = false) final String level,
+      @RequestParam(required = false) final String contains,
+      @RequestParam(required = false) final Integer limit) {
+    int effectiveLimit =
+        limit != null ? Math.max(1, Math.min(limit, MAX_LIMIT)) : DEFAULT_LIMIT;
+    return ResponseEntity.ok(
+        RecentLogs.query(
+            emptyToNull(logger),
+            emptyToNull(traceId),
+            parseLevel(level),
+            emptyToNull(contains),
+            effectiveLimit));
+  }
+
+  private Severity parseLevel(final String level) {
+    if (emptyToNull(level) == null) {
+      return null;
+    }
+    try {
+      return Severity.parse(level);
+    } catch (IllegalArgumentException illegalArgumentException) {
+      throw new ValidationException(
+          illegalArgumentException.getMessage(), illegalArgumentException);
+    }
+  }
+
+  private String emptyToNull(final String value) {
+    return value == null || value.isBlank() ? null : value;
+  }
+}
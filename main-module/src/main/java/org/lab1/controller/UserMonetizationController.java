@@ -1,19 +1,26 @@
 package org.lab1.controller;
 
+import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
+import java.util.List;
+import org.lab.logger.Logger;
 import org.lab1.exception.NotFoundException;
 import org.lab1.exception.UnauthorizedException;
+import org.lab1.json.AdImpressionResult;
+import org.lab1.json.AdViewBatchRequest;
 import org.lab1.json.Card;
 import org.lab1.json.MonetizationEvent;
 import org.lab1.model.Application;
+import org.lab1.security.Permission;
+import org.lab1.security.RequiresPermission;
 import org.lab1.service.ApplicationService;
 import org.lab1.service.GoogleTaskSender;
 import org.lab1.service.UserMonetizationService;
 import org.lab1.service.UserQueryService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -36,6 +43,13 @@ public class UserMonetizationController {
       "user.monetization.purchase.processing.time";
   private static final String AD_VIEW_PROCESSING_TIME_METRIC =
       "user.monetization.ad_view.processing.time";
+  private static final String AD_VIEW_BATCH_PROCESSING_TIME_METRIC =
+      "user.monetization.ad_view_batch.processing.time";
+  private static final String AD_VIEW_BATCH_PUBLISH_FAILED_METRIC =
+      "user.monetization.ad_view_batch.publish.failed";
+  private static final String REPLAYED_HEADER = "Idempotent-Replayed";
+  private static final String PUBLISH_FAILED_LOG =
+      "Ad view batch {} committed but event for application {} not published: {}";
 
   private final UserMonetizationService userMonetizationService;
   private final GoogleTaskSender googleTaskSender;
@@ -44,6 +58,9 @@ public class UserMonetizationController {
   private final MeterRegistry meterRegistry;
   private final Timer purchaseProcessingTime;
   private final Timer adViewProcessingTime;
+  private final Timer adViewBatchProcessingTime;
+  private final Counter adViewBatchPublishFailed;
+  private final Logger logger;
 
   @Autowired
   public UserMonetizationController(
@@ -51,7 +68,8 @@ public class UserMonetizationController {
       final GoogleTaskSender googleTaskSenderParam,
       final ApplicationService applicationServiceParam,
       final UserQueryService userQueryServiceParam,
-      final MeterRegistry meterRegistryParam) {
+      final MeterRegistry meterRegistryParam,
+      @Qualifier("correlationLogger") final Logger loggerParam) {
     this.userMonetizationService = userMonetizationServiceParam;
     this.googleTaskSender = googleTaskSenderParam;
     this.applicationService = applicationServiceParam;
@@ -59,16 +77,19 @@ public class UserMonetizationController {
     this.meterRegistry = meterRegistryParam;
     this.purchaseProcessingTime = meterRegistry.timer(PURCHASE_PROCESSING_TIME_METRIC);
     this.adViewProcessingTime = meterRegistry.timer(AD_VIEW_PROCESSING_TIME_METRIC);
+    this.adViewBatchProcessingTime = meterRegistry.timer(AD_VIEW_BATCH_PROCESSING_TIME_METRIC);
+    this.adViewBatchPublishFailed = meterRegistry.counter(AD_VIEW_BATCH_PUBLISH_FAILED_METRIC);
+    this.logger = loggerParam;
   }
 
-  @PreAuthorize("hasAuthority('user.download_application')")
+  @RequiresPermission(Permission.USER_DOWNLOAD_APPLICATION)
   @PostMapping("/download/{applicationId}")
   public ResponseEntity<String> downloadApplication(
       @PathVariable final int applicationId,
       @RequestBody final Card card,
       final Authentication authentication) {
     try {
-      int userId = userQueryService.getCurrentAuthenticatedUser().getId();
+      int userId = userQueryService.getCurrentAuthenticatedUserId();
 
       Application application = applicationService.getApplicationByIdOrThrow(applicationId);
 
@@ -97,7 +118,7 @@ public class UserMonetizationController {
     }
   }
 
-  @PreAuthorize("hasAuthority('user.purchase_in_app_item')")
+  @RequiresPermission(Permission.USER_PURCHASE_IN_APP_ITEM)
   @PostMapping("/purchase/{purchaseId}")
   public ResponseEntity<String> purchaseInAppItem(
       @PathVariable final int purchaseId,
@@ -106,7 +127,7 @@ public class UserMonetizationController {
     Timer.Sample sample = Timer.start(meterRegistry);
 
     try {
-      int userId = userQueryService.getCurrentAuthenticatedUser().getId();
+      int userId = userQueryService.getCurrentAuthenticatedUserId();
 
       boolean success =
           userMonetizationService.purchaseInAppItem(
@@ -134,16 +155,16 @@ public class UserMonetizationController {
     }
   }
 
-  @PreAuthorize("hasAuthority('user.view_advertisement')")
+  @RequiresPermission(Permission.USER_VIEW_ADVERTISEMENT)
   @PostMapping("/view-ad/{adId}")
   public ResponseEntity<String> viewAdvertisement(
       @PathVariable final int adId, final Authentication authentication) {
     Timer.Sample sample = Timer.start(meterRegistry);
 
     try {
-      int userId = userQueryService.getCurrentAuthenticatedUser().getId();
+      int userId = userQueryService.getCurrentAuthenticatedUserId();
 
-      boolean success = userMonetizationService.viewAdvertisement(adId);
+      boolean success = userMonetizationService.viewAdvertisement(adId, userId);
 
       if (success) {
         double revenue = userMonetizationService.getInAppAddById(adId).getPrice();
@@ -160,4 +181,32 @@ public class UserMonetizationController {
       throw new UnauthorizedException(USER_NOT_AUTHORIZED_MESSAGE);
     }
   }
+
+  @RequiresPermission(Permission.USER_VIEW_ADVERTISEMENT)
+  @PostMapping("/view-ad/batch")
+  public ResponseEntity<List<AdImpressionResult>> viewAdvertisements(
+      @RequestBody final AdViewBatchRequest request, final Authentication authentication) {
+    Timer.Sample sample = Timer.start(meterRegistry);
+    int userId = userQueryService.getCurrentAuthenticatedUserId();
+
+    UserMonetizationService.AdViewBatch batch =
+        userMonetizationService.viewAdvertisements(
+            request.getBatchId(), request.getImpressions(), userId);
+    sample.stop(adViewBatchProcessingTime);
+    for (MonetizationEvent event : batch.getEvents()) {
+      try {
+        googleTaskSender.sendMonetizationEvent(userId, event);
+      } catch (RuntimeException exception) {
+        adViewBatchPublishFailed.increment();
+        logger.error(
+            PUBLISH_FAILED_LOG,
+            request.getBatchId(),
+            event.getApplicationId(),
+            exception.getMessage());
+      }
+    }
+    return ResponseEntity.ok()
+        .header(REPLAYED_HEADER, String.valueOf(batch.isReplayed()))
+        .body(batch.getResults());
+  }
 }
@@ -3,11 +3,12 @@ package org.lab1.controller;
 import org.lab.logger.Logger;
 import org.lab1.exception.NotFoundException;
 import org.lab1.model.VerificationLog;
+import org.lab1.security.Permission;
+import org.lab1.security.RequiresPermission;
 import org.lab1.service.VerificationLogService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -32,7 +33,7 @@ public class VerificationLogController {
     this.logger = loggerParam;
   }
 
-  @PreAuthorize("hasAuthority('verification_log.manage')")
+  @RequiresPermission(Permission.VERIFICATION_LOG_MANAGE)
   @PostMapping
   public ResponseEntity<VerificationLog> createVerificationLog(
       @RequestParam final boolean securityCheckPassed,
@@ -46,7 +47,7 @@ public class VerificationLogController {
     return ResponseEntity.ok(verificationLog);
   }
 
-  @PreAuthorize("hasAuthority('verification_log.read')")
+  @RequiresPermission(Permission.VERIFICATION_LOG_READ)
   @GetMapping("/{id}")
   public ResponseEntity<VerificationLog> getVerificationLog(@PathVariable final int id) {
     logger.info(GET_LOG + id);
@@ -0,0 +1,16 @@
+package org.lab1.exception;
+
+import org.springframework.http.HttpStatus;
+
+public class ServiceUnavailableException extends ApiException {
+  private static final HttpStatus STATUS = HttpStatus.SERVICE_UNAVAILABLE;
+  private static final String ERROR_CODE = "SERVICE_UNAVAILABLE";
+
+  public ServiceUnavailableException(final String message) {
+    super(message, STATUS, ERROR_CODE);
+  }
+
+  public ServiceUnavailableException(final String message, final Throwable cause) {
+    super(message, cause, STATUS, ERROR_CODE);
+  }
+}
@@ -0,0 +1,16 @@
+package org.lab1.exception;
+
+import org.springframework.http.HttpStatus;
+
+public class TooManyRequestsException extends ApiException {
+  private static final HttpStatus STATUS = HttpStatus.TOO_MANY_REQUESTS;
+  private static final String ERROR_CODE = "TOO_MANY_REQUESTS";
+
+  public TooManyRequestsException(final String message) {
+    super(message, STATUS, ERROR_CODE);
+  }
+
+  public TooManyRequestsException(final String message, final Throwable cause) {
+    super(message, cause, STATUS, ERROR_CODE);
+  }
+}
@@ -0,0 +1,9 @@
+package org.lab1.json;
+
+import lombok.Data;
+
+@Data
+public final class AdImpression {
+  private int adId;
+  private long timestamp;
+}
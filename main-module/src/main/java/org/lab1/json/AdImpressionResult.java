@@ -0,0 +1,15 @@
+package org.lab1.json;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public final class AdImpressionResult {
+  private int adId;
+  private long timestamp;
+  private boolean accepted;
+  private String error;
+}
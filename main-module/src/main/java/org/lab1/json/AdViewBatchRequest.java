@@ -0,0 +1,10 @@
+package org.lab1.json;
+
+import java.util.List;
+import lombok.Data;
+
+@Data
+public final class AdViewBatchRequest {
+  private String batchId;
+  private List<AdImpression> impressions;
+}
@@ -11,7 +11,8 @@ public final class MonetizationEvent {
   public enum EventType {
     DOWNLOAD,
     PURCHASE,
-    AD_VIEW
+    AD_VIEW,
+    PAYOUT
   }
 
   private EventType eventType;
@@ -19,4 +20,19 @@ public final class MonetizationEvent {
   private int applicationId;
   private int itemId;
   private double amount;
+
+  /**
+   * Число действий, сведённых в событие. Больше 1 только у AD_VIEW из пачки показов; itemId 0 у
+   * такого события значит, что показы относятся к разной рекламе.
+   */
+  private int views = 1;
+
+  public MonetizationEvent(
+      final EventType eventTypeParam,
+      final int userIdParam,
+      final int applicationIdParam,
+      final int itemIdParam,
+      final double amountParam) {
+    this(eventTypeParam, userIdParam, applicationIdParam, itemIdParam, amountParam, 1);
+  }
 }
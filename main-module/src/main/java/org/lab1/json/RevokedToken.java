@@ -0,0 +1,13 @@
+package org.lab1.json;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public final class RevokedToken {
+  private String tokenId;
+  private long expiresAt;
+}
@@ -0,0 +1,9 @@
+package org.lab1.json;
+
+import java.util.List;
+import lombok.Data;
+
+@Data
+public final class TokenRevocationRequest {
+  private List<String> tokenIds;
+}
@@ -3,7 +3,11 @@ package org.lab1.repository;
 import java.util.List;
 import org.lab1.model.MonetizedApplication;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 @Repository
 public interface MonetizedApplicationRepository
@@ -14,4 +18,50 @@ public interface MonetizedApplicationRepository
 
   // @Query("SELECT m FROM MonetizedApplication m WHERE m.developerId = :developerId")
   List<MonetizedApplication> findByDeveloper_Id(int developerId);
+
+  @Modifying
+  @Transactional
+  @Query(
+      value =
+          "UPDATE monetized_application "
+              + "SET current_balance = current_balance + :amount, "
+              + "revenue = revenue + :amount, "
+              + "download_revenue = download_revenue + :amount "
+              + "WHERE id = :id",
+      nativeQuery = true)
+  int addDownloadRevenue(@Param("id") int id, @Param("amount") double amount);
+
+  @Modifying
+  @Transactional
+  @Query(
+      value =
+          "UPDATE monetized_application "
+              + "SET current_balance = current_balance + :amount, "
+              + "revenue = revenue + :amount, "
+              + "purchases_revenue = purchases_revenue + :amount "
+              + "WHERE id = :id",
+      nativeQuery = true)
+  int addPurchaseRevenue(@Param("id") int id, @Param("amount") double amount);
+
+  @Modifying
+  @Transactional
+  @Query(
+      value =
+          "UPDATE monetized_application "
+              + "SET current_balance = current_balance + :amount, "
+              + "revenue = revenue + :amount, "
+              + "ads_revenue = ads_revenue + :amount "
+              + "WHERE id = :id",
+      nativeQuery = true)
+  int addAdsRevenue(@Param("id") int id, @Param("amount") double amount);
+
+  @Modifying
+  @Transactional
+  @Query(
+      value =
+          "UPDATE monetized_application "
+              + "SET current_balance = current_balance - :amount "
+              + "WHERE id = :id AND current_balance >= :amount",
+      nativeQuery = true)
+  int withdrawBalance(@Param("id") int id, @Param("amount") double amount);
 }
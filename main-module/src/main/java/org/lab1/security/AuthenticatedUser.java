@@ -0,0 +1,57 @@
+package org.lab1.security;
+
+import org.springframework.security.core.AuthenticatedPrincipal;
+
+/**
+ * Principal аутентифицированного пользователя, собранный из claims JWT токена. Содержит всё, что
+ * нужно большинству обработчиков, поэтому обращаться за пользователем в базу не требуется.
+ */
+public final class AuthenticatedUser implements AuthenticatedPrincipal {
+  private final int userId;
+  private final String username;
+  private final String role;
+  private final long permissions;
+
+  public AuthenticatedUser(
+      final int userIdParam,
+      final String usernameParam,
+      final String roleParam,
+      final long permissionsParam) {
+    this.userId = userIdParam;
+    this.username = usernameParam;
+    this.role = roleParam;
+    this.permissions = permissionsParam;
+  }
+
+  public int getUserId() {
+    return userId;
+  }
+
+  public String getUsername() {
+    return username;
+  }
+
+  public String getRole() {
+    return role;
+  }
+
+  /**
+   * Проверяет, что у пользователя есть все права из маски.
+   *
+   * @param required маска требуемых прав, см. {@link Permission#maskOf}
+   * @return true, если все права есть
+   */
+  public boolean hasPermissions(final long required) {
+    return (permissions & required) == required;
+  }
+
+  @Override
+  public String getName() {
+    return username;
+  }
+
+  @Override
+  public String toString() {
+    return username;
+  }
+}
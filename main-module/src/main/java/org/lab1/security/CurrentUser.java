@@ -0,0 +1,64 @@
+package org.lab1.security;
+
+import org.lab1.exception.UnauthorizedException;
+import org.lab1.model.User;
+import org.lab1.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.annotation.RequestScope;
+
+/**
+ * Доступ к текущему пользователю в рамках HTTP запроса. Идентификатор берётся из principal без
+ * обращения к базе, а сущность {@link User} загружается не более одного раза за запрос.
+ */
+@Component
+@RequestScope
+public class CurrentUser {
+  private static final String USER_NOT_AUTHENTICATED_MSG = "User not authenticated";
+  private static final String USER_NOT_FOUND_MSG = "User not found";
+
+  private final UserRepository userRepository;
+  private User user;
+
+  @Autowired
+  public CurrentUser(final UserRepository userRepositoryParam) {
+    this.userRepository = userRepositoryParam;
+  }
+
+  /**
+   * Возвращает principal текущего запроса.
+   *
+   * @return аутентифицированный пользователь
+   * @throws UnauthorizedException если запрос не аутентифицирован JWT токеном
+   */
+  public AuthenticatedUser getPrincipal() {
+    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+    if (authentication == null
+        || !(authentication.getPrincipal() instanceof AuthenticatedUser principal)) {
+      throw new UnauthorizedException(USER_NOT_AUTHENTICATED_MSG);
+    }
+    return principal;
+  }
+
+  public int getId() {
+    return getPrincipal().getUserId();
+  }
+
+  /**
+   * Возвращает сущность текущего пользователя, загружая её при первом обращении.
+   *
+   * @return пользователь
+   * @throws UnauthorizedException если пользователь не найден
+   */
+  public User getUser() {
+    if (user == null) {
+      user =
+          userRepository
+              .findById(getId())
+              .orElseThrow(() -> new UnauthorizedException(USER_NOT_FOUND_MSG));
+    }
+    return user;
+  }
+}
@@ -16,6 +16,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
@@ -31,14 +32,18 @@ public class JwtAuthorizationFilter extends OncePerRequestFilter {
   private static final String BEARER_PREFIX = "Bearer ";
   private static final int BEARER_PREFIX_LENGTH = 7;
   private static final String ROLE_CLAIM = "role";
+  private static final String USER_ID_CLAIM = "userId";
   private static final DateTimeFormatter DATE_FORMATTER =
       DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
 
   private final TokenManager tokenManager;
+  private final VerifiedTokenCache verifiedTokenCache;
 
   @Autowired
-  public JwtAuthorizationFilter(final TokenManager tokenManagerParam) {
+  public JwtAuthorizationFilter(
+      final TokenManager tokenManagerParam, final VerifiedTokenCache verifiedTokenCacheParam) {
     this.tokenManager = tokenManagerParam;
+    this.verifiedTokenCache = verifiedTokenCacheParam;
   }
 
   /**
@@ -86,16 +91,15 @@ public class JwtAuthorizationFilter extends OncePerRequestFilter {
       final String token, final HttpServletResponse response, final HttpServletRequest request)
       throws IOException {
     try {
-      if (tokenManager.isTokenValid(token)) {
-        Claims claims = tokenManager.getClaimsFromToken(token);
-        String username = claims.getSubject();
-        String role = claims.get(ROLE_CLAIM, String.class);
-        List<GrantedAuthority> authorities = tokenManager.getAuthoritiesByRole(role);
-
-        UsernamePasswordAuthenticationToken authenticationToken =
-            new UsernamePasswordAuthenticationToken(username, null, authorities);
-
-        SecurityContextHolder.getContext().setAuthentication(authenticationToken);
+      Authentication authentication = verifiedTokenCache.get(token);
+      if (authentication != null && isRevoked(authentication)) {
+        verifiedTokenCache.invalidate(token);
+        authentication = null;
+      } else if (authentication == null) {
+        authentication = authenticate(token);
+      }
+      if (authentication != null) {
+        SecurityContextHolder.getContext().setAuthentication(authentication);
         return true;
       } else {
         sendErrorResponse(
@@ -112,6 +116,33 @@ public class JwtAuthorizationFilter extends OncePerRequestFilter {
     }
   }
 
+  private boolean isRevoked(final Authentication authentication) {
+    return authentication.getDetails() instanceof Claims claims
+        && tokenManager.isRevoked(claims.getId());
+  }
+
+  private Authentication authenticate(final String token) {
+    Claims claims = tokenManager.verifyToken(token);
+    if (claims == null) {
+      return null;
+    }
+    String role = claims.get(ROLE_CLAIM, String.class);
+    AuthenticatedUser principal =
+        new AuthenticatedUser(
+            claims.get(USER_ID_CLAIM, Integer.class),
+            claims.getSubject(),
+            role,
+            tokenManager.getPermissionsByRole(role));
+    List<GrantedAuthority> authorities = tokenManager.getAuthoritiesByRole(role);
+
+    UsernamePasswordAuthenticationToken authenticationToken =
+        new UsernamePasswordAuthenticationToken(principal, null, authorities);
+    authenticationToken.setDetails(claims);
+
+    verifiedTokenCache.put(token, authenticationToken, claims.getExpiration().getTime());
+    return authenticationToken;
+  }
+
   private void sendErrorResponse(
       final HttpServletResponse response,
       final HttpStatus status,
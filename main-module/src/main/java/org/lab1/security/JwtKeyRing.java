@@ -0,0 +1,198 @@
+package org.lab1.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.SignatureException;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.impl.DefaultJwtBuilder;
+import io.jsonwebtoken.impl.DefaultJwtParser;
+import io.jsonwebtoken.impl.TextCodec;
+import io.jsonwebtoken.impl.crypto.JwtSignatureValidator;
+import io.jsonwebtoken.impl.crypto.JwtSigner;
+import java.nio.charset.StandardCharsets;
+import java.security.InvalidKeyException;
+import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import org.lab1.config.EnvConfig;
+import org.springframework.stereotype.Component;
+
+/**
+ * Набор ключей подписи JWT. Токен подписывается активным ключом, и его идентификатор пишется в
+ * заголовок kid. При проверке ключ выбирается по kid, поэтому после ротации токены, выданные
+ * старым ключом, остаются валидными до истечения. Токены без kid проверяются ключом SECRET_KEY.
+ *
+ * <p>Ключи задаются переменной JWT_KEYS в виде {@code kid:base64,kid:base64}, активный ключ —
+ * переменной JWT_ACTIVE_KID (по умолчанию последний в списке). Ротация на нескольких экземплярах
+ * выполняется в два шага: сначала новый ключ добавляется в JWT_KEYS везде, затем он делается
+ * активным.
+ *
+ * <p>jjwt 0.9.1 создаёт новый {@link Mac} на каждую операцию. Здесь каждый ключ хранит
+ * инициализированный Mac в ThreadLocal, а builder и parser подменяют подписывающий и проверяющий
+ * объекты библиотеки.
+ */
+@Component
+public class JwtKeyRing {
+  private static final SignatureAlgorithm ALGORITHM = SignatureAlgorithm.HS256;
+  private static final String KID_HEADER = "kid";
+  private static final String LEGACY_KID = "default";
+  private static final String LEGACY_SECRET_KEY = "SECRET_KEY";
+  private static final String KEYS_KEY = "JWT_KEYS";
+  private static final String ACTIVE_KID_KEY = "JWT_ACTIVE_KID";
+  private static final String KEY_SEPARATOR = ",";
+  private static final String KID_SEPARATOR = ":";
+  private static final String NO_KEYS_MSG = "Neither SECRET_KEY nor JWT_KEYS is configured";
+  private static final String UNKNOWN_ACTIVE_KID_MSG = "JWT_ACTIVE_KID refers to unknown key: ";
+  private static final String MALFORMED_KEY_MSG = "Malformed JWT_KEYS entry: ";
+  private static final String UNKNOWN_KID_MSG = "Unknown JWT key id";
+  private static final String UNSUPPORTED_ALGORITHM_MSG = "Unsupported JWT algorithm: ";
+
+  private final Map<String, RingKey> keys;
+  private final RingKey activeKey;
+  private final JwtParser parser;
+
+  public JwtKeyRing() {
+    Map<String, RingKey> loaded = new LinkedHashMap<>();
+    String legacySecret = EnvConfig.get(LEGACY_SECRET_KEY);
+    if (legacySecret != null) {
+      loaded.put(LEGACY_KID, new RingKey(LEGACY_KID, legacySecret));
+    }
+    String configuredKeys = EnvConfig.get(KEYS_KEY);
+    String lastKid = legacySecret != null ? LEGACY_KID : null;
+    if (configuredKeys != null) {
+      for (String entry : configuredKeys.split(KEY_SEPARATOR)) {
+        String trimmed = entry.trim();
+        if (trimmed.isEmpty()) {
+          continue;
+        }
+        int separator = trimmed.indexOf(KID_SEPARATOR);
+        if (separator <= 0 || separator == trimmed.length() - 1) {
+          throw new IllegalStateException(MALFORMED_KEY_MSG + trimmed.split(KID_SEPARATOR)[0]);
+        }
+        String kid = trimmed.substring(0, separator);
+        loaded.put(kid, new RingKey(kid, trimmed.substring(separator + 1)));
+        lastKid = kid;
+      }
+    }
+    if (loaded.isEmpty()) {
+      throw new IllegalStateException(NO_KEYS_MSG);
+    }
+
+    String activeKid = EnvConfig.get(ACTIVE_KID_KEY, lastKid);
+    if (!loaded.containsKey(activeKid)) {
+      throw new IllegalStateException(UNKNOWN_ACTIVE_KID_MSG + activeKid);
+    }
+    this.keys = Collections.unmodifiableMap(loaded);
+    this.activeKey = loaded.get(activeKid);
+    this.parser = new RingJwtParser().setSigningKeyResolver(new KidResolver());
+  }
+
+  /**
+   * Создаёт builder, подписывающий токен активным ключом.
+   *
+   * @return builder с заголовком kid и настроенной подписью
+   */
+  public JwtBuilder builder() {
+    JwtBuilder builder = new RingJwtBuilder().signWith(ALGORITHM, activeKey);
+    if (!LEGACY_KID.equals(activeKey.kid)) {
+      builder.setHeaderParam(KID_HEADER, activeKey.kid);
+    }
+    return builder;
+  }
+
+  /**
+   * Возвращает parser, выбирающий ключ проверки по заголовку kid.
+   *
+   * @return потокобезопасный parser
+   */
+  public JwtParser parser() {
+    return parser;
+  }
+
+  public String getActiveKid() {
+    return activeKey.kid;
+  }
+
+  private static void requireSupported(final SignatureAlgorithm algorithm) {
+    if (algorithm != ALGORITHM) {
+      throw new SignatureException(UNSUPPORTED_ALGORITHM_MSG + algorithm);
+    }
+  }
+
+  private final class KidResolver extends SigningKeyResolverAdapter {
+    @Override
+    public Key resolveSigningKey(final JwsHeader header, final Claims claims) {
+      return resolve(header);
+    }
+
+    @Override
+    public Key resolveSigningKey(final JwsHeader header, final String plaintext) {
+      return resolve(header);
+    }
+
+    private Key resolve(final JwsHeader header) {
+      String kid = header.getKeyId();
+      RingKey key = keys.get(kid != null ? kid : LEGACY_KID);
+      if (key == null) {
+        throw new SignatureException(UNKNOWN_KID_MSG);
+      }
+      return key;
+    }
+  }
+
+  private static final class RingJwtBuilder extends DefaultJwtBuilder {
+    @Override
+    protected JwtSigner createSigner(final SignatureAlgorithm algorithm, final Key key) {
+      requireSupported(algorithm);
+      RingKey ringKey = (RingKey) key;
+      return jwtWithoutSignature -> TextCodec.BASE64URL.encode(ringKey.sign(jwtWithoutSignature));
+    }
+  }
+
+  private static final class RingJwtParser extends DefaultJwtParser {
+    @Override
+    protected JwtSignatureValidator createSignatureValidator(
+        final SignatureAlgorithm algorithm, final Key key) {
+      requireSupported(algorithm);
+      RingKey ringKey = (RingKey) key;
+      return (jwtWithoutSignature, signature) ->
+          MessageDigest.isEqual(
+              ringKey.sign(jwtWithoutSignature), TextCodec.BASE64URL.decode(signature));
+    }
+  }
+
+  private static final class RingKey extends SecretKeySpec {
+    private static final long serialVersionUID = 1L;
+
+    private final String kid;
+    private final transient ThreadLocal<Mac> macs;
+
+    private RingKey(final String kidParam, final String base64Secret) {
+      super(TextCodec.BASE64.decode(base64Secret), ALGORITHM.getJcaName());
+      this.kid = kidParam;
+      this.macs = ThreadLocal.withInitial(this::createMac);
+    }
+
+    private byte[] sign(final String jwtWithoutSignature) {
+      return macs.get().doFinal(jwtWithoutSignature.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private Mac createMac() {
+      try {
+        Mac mac = Mac.getInstance(ALGORITHM.getJcaName());
+        mac.init(this);
+        return mac;
+      } catch (NoSuchAlgorithmException | InvalidKeyException exception) {
+        throw new IllegalStateException(exception);
+      }
+    }
+  }
+}
@@ -0,0 +1,118 @@
+package org.lab1.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.lab1.config.EnvConfig;
+import org.lab1.exception.TooManyRequestsException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Ограничение частоты входа и регистрации по имени пользователя и по IP адресу. Каждое ведро
+ * хранит одно значение — теоретическое время следующего запроса (GCRA), поэтому запись занимает
+ * один AtomicLong, а проверка выполняется одним CAS без блокировок.
+ */
+@Component
+public class LoginThrottle {
+  private static final String USERNAME_RATE_KEY = "AUTH_THROTTLE_USERNAME_PER_MINUTE";
+  private static final String USERNAME_BURST_KEY = "AUTH_THROTTLE_USERNAME_BURST";
+  private static final String IP_RATE_KEY = "AUTH_THROTTLE_IP_PER_MINUTE";
+  private static final String IP_BURST_KEY = "AUTH_THROTTLE_IP_BURST";
+  private static final String MAX_KEYS_KEY = "AUTH_THROTTLE_MAX_KEYS";
+  private static final String DEFAULT_USERNAME_RATE = "10";
+  private static final String DEFAULT_USERNAME_BURST = "5";
+  private static final String DEFAULT_IP_RATE = "60";
+  private static final String DEFAULT_IP_BURST = "20";
+  private static final String DEFAULT_MAX_KEYS = "100000";
+  private static final String THROTTLED_METRIC = "auth.throttled";
+  private static final String KEY_TAG = "key";
+  private static final String USERNAME_TAG = "username";
+  private static final String IP_TAG = "ip";
+  private static final String TOO_MANY_ATTEMPTS_MSG = "Too many authentication attempts";
+
+  private final Buckets usernameBuckets;
+  private final Buckets ipBuckets;
+  private final Counter usernameThrottledCounter;
+  private final Counter ipThrottledCounter;
+
+  @Autowired
+  public LoginThrottle(final MeterRegistry meterRegistry) {
+    int maxKeys = Integer.parseInt(EnvConfig.get(MAX_KEYS_KEY, DEFAULT_MAX_KEYS));
+    this.usernameBuckets =
+        new Buckets(
+            Long.parseLong(EnvConfig.get(USERNAME_RATE_KEY, DEFAULT_USERNAME_RATE)),
+            Long.parseLong(EnvConfig.get(USERNAME_BURST_KEY, DEFAULT_USERNAME_BURST)),
+            maxKeys);
+    this.ipBuckets =
+        new Buckets(
+            Long.parseLong(EnvConfig.get(IP_RATE_KEY, DEFAULT_IP_RATE)),
+            Long.parseLong(EnvConfig.get(IP_BURST_KEY, DEFAULT_IP_BURST)),
+            maxKeys);
+    this.usernameThrottledCounter =
+        Counter.builder(THROTTLED_METRIC).tag(KEY_TAG, USERNAME_TAG).register(meterRegistry);
+    this.ipThrottledCounter =
+        Counter.builder(THROTTLED_METRIC).tag(KEY_TAG, IP_TAG).register(meterRegistry);
+  }
+
+  /**
+   * Расходует по одному токену из вёдер IP адреса и имени пользователя.
+   *
+   * @param username имя пользователя из запроса
+   * @param ipAddress адрес клиента
+   * @throws TooManyRequestsException если одно из вёдер пусто
+   */
+  public void acquire(final String username, final String ipAddress) {
+    if (ipAddress != null && !ipBuckets.tryAcquire(ipAddress)) {
+      ipThrottledCounter.increment();
+      throw new TooManyRequestsException(TOO_MANY_ATTEMPTS_MSG);
+    }
+    if (username != null && !usernameBuckets.tryAcquire(username.toLowerCase(Locale.ROOT))) {
+      usernameThrottledCounter.increment();
+      throw new TooManyRequestsException(TOO_MANY_ATTEMPTS_MSG);
+    }
+  }
+
+  private static final class Buckets {
+    private final Map<String, AtomicLong> arrivals = new ConcurrentHashMap<>();
+    private final boolean enabled;
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final int maxKeys;
+
+    private Buckets(final long perMinute, final long burst, final int maxKeysParam) {
+      this.enabled = perMinute > 0;
+      this.intervalNanos = enabled ? TimeUnit.MINUTES.toNanos(1) / perMinute : 0L;
+      this.burstNanos = intervalNanos * Math.max(1, burst);
+      this.maxKeys = maxKeysParam;
+    }
+
+    private boolean tryAcquire(final String key) {
+      if (!enabled) {
+        return true;
+      }
+      long now = System.nanoTime();
+      AtomicLong arrival = arrivals.get(key);
+      if (arrival == null) {
+        if (arrivals.size() >= maxKeys) {
+          arrivals.values().removeIf(idle -> idle.get() - now <= 0);
+        }
+        arrival = arrivals.computeIfAbsent(key, ignored -> new AtomicLong(now));
+      }
+      while (true) {
+        long current = arrival.get();
+        long next = (current - now > 0 ? current : now) + intervalNanos;
+        if (next - now > burstNanos) {
+          return false;
+        }
+        if (arrival.compareAndSet(current, next)) {
+          return true;
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,63 @@
+package org.lab1.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import org.jetbrains.annotations.NotNull;
+import org.lab1.config.ManagementServerConfig;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Разделяет публичный порт и порт управления. Эндпоинты /management/ доступны только на порту
+ * управления и только с заголовком X-Management-Token, равным MANAGEMENT_TOKEN; без настроенного
+ * токена они закрыты. Остальные эндпоинты на порту управления не обслуживаются, чтобы он не стал
+ * вторым входом в публичный API.
+ */
+@Component
+public class ManagementAccessFilter extends OncePerRequestFilter {
+  private static final String TOKEN_HEADER = "X-Management-Token";
+  private static final String INVALID_TOKEN_MESSAGE = "Missing or invalid " + TOKEN_HEADER;
+
+  private final int managementPort;
+  private final byte[] expectedToken;
+
+  @Autowired
+  public ManagementAccessFilter(final ManagementServerConfig managementServerConfigParam) {
+    this.managementPort = managementServerConfigParam.getPort();
+    String token = managementServerConfigParam.getToken();
+    this.expectedToken =
+        token == null || token.isBlank() ? null : token.getBytes(StandardCharsets.UTF_8);
+  }
+
+  @Override
+  protected void doFilterInternal(
+      final HttpServletRequest request,
+      @NotNull final HttpServletResponse response,
+      @NotNull final FilterChain filterChain)
+      throws ServletException, IOException {
+    boolean managementPortRequest = request.getLocalPort() == managementPort;
+    boolean managementPath =
+        request.getRequestURI().startsWith(ManagementServerConfig.MANAGEMENT_PATH_PREFIX);
+    if (managementPortRequest != managementPath) {
+      response.sendError(HttpServletResponse.SC_NOT_FOUND);
+      return;
+    }
+    if (managementPath && !hasValidToken(request.getHeader(TOKEN_HEADER))) {
+      response.sendError(HttpServletResponse.SC_UNAUTHORIZED, INVALID_TOKEN_MESSAGE);
+      return;
+    }
+    filterChain.doFilter(request, response);
+  }
+
+  private boolean hasValidToken(final String token) {
+    return expectedToken != null
+        && token != null
+        && MessageDigest.isEqual(expectedToken, token.getBytes(StandardCharsets.UTF_8));
+  }
+}
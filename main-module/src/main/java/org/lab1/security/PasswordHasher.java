@@ -0,0 +1,132 @@
+package org.lab1.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.lab1.config.EnvConfig;
+import org.lab1.exception.ServiceUnavailableException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Выполняет bcrypt на выделенном ограниченном пуле. Число потоков задаёт долю CPU, которую может
+ * занять аутентификация, а очередь ограничена: при переполнении запрос сразу получает 503, а не
+ * занимает поток Tomcat, нужный остальным эндпоинтам.
+ */
+@Component
+public class PasswordHasher {
+  private static final String THREADS_KEY = "AUTH_HASHING_THREADS";
+  private static final String QUEUE_CAPACITY_KEY = "AUTH_HASHING_QUEUE_CAPACITY";
+  private static final String TIMEOUT_KEY = "AUTH_HASHING_TIMEOUT_MILLIS";
+  private static final String DEFAULT_QUEUE_CAPACITY = "64";
+  private static final String DEFAULT_TIMEOUT_MILLIS = "5000";
+  private static final int CPU_SHARE_DIVISOR = 2;
+  private static final String THREAD_NAME_PREFIX = "password-hasher-";
+  private static final String QUEUE_METRIC = "auth.hashing.queue";
+  private static final String REJECTED_METRIC = "auth.hashing.rejected";
+  private static final String OVERLOADED_MSG = "Authentication is overloaded, retry later";
+  private static final String TIMEOUT_MSG = "Authentication timed out, retry later";
+
+  private final PasswordEncoder passwordEncoder;
+  private final ThreadPoolExecutor executor;
+  private final long timeoutMillis;
+  private final Counter rejectedCounter;
+
+  @Autowired
+  public PasswordHasher(
+      final PasswordEncoder passwordEncoderParam, final MeterRegistry meterRegistry) {
+    this.passwordEncoder = passwordEncoderParam;
+    int defaultThreads =
+        Math.max(1, Runtime.getRuntime().availableProcessors() / CPU_SHARE_DIVISOR);
+    int threads = Integer.parseInt(EnvConfig.get(THREADS_KEY, String.valueOf(defaultThreads)));
+    int queueCapacity = Integer.parseInt(EnvConfig.get(QUEUE_CAPACITY_KEY, DEFAULT_QUEUE_CAPACITY));
+    this.timeoutMillis = Long.parseLong(EnvConfig.get(TIMEOUT_KEY, DEFAULT_TIMEOUT_MILLIS));
+
+    BlockingQueue<Runnable> queue = new ArrayBlockingQueue<>(queueCapacity);
+    AtomicInteger threadNumber = new AtomicInteger();
+    this.executor =
+        new ThreadPoolExecutor(
+            threads,
+            threads,
+            0L,
+            TimeUnit.MILLISECONDS,
+            queue,
+            runnable -> {
+              Thread thread =
+                  new Thread(runnable, THREAD_NAME_PREFIX + threadNumber.incrementAndGet());
+              thread.setDaemon(true);
+              return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy());
+
+    this.rejectedCounter = Counter.builder(REJECTED_METRIC).register(meterRegistry);
+    Gauge.builder(QUEUE_METRIC, queue, BlockingQueue::size).register(meterRegistry);
+  }
+
+  /**
+   * Хэширует пароль.
+   *
+   * @param rawPassword пароль в открытом виде
+   * @return bcrypt хэш
+   * @throws ServiceUnavailableException если пул перегружен или хэширование не уложилось в таймаут
+   */
+  public String encode(final String rawPassword) {
+    return execute(() -> passwordEncoder.encode(rawPassword));
+  }
+
+  /**
+   * Сверяет пароль с хэшем.
+   *
+   * @param rawPassword пароль в открытом виде
+   * @param passwordHash сохранённый bcrypt хэш
+   * @return true, если пароль совпадает
+   * @throws ServiceUnavailableException если пул перегружен или проверка не уложилась в таймаут
+   */
+  public boolean matches(final String rawPassword, final String passwordHash) {
+    return execute(() -> passwordEncoder.matches(rawPassword, passwordHash));
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    executor.shutdownNow();
+  }
+
+  private <T> T execute(final Callable<T> task) {
+    Future<T> future;
+    try {
+      future = executor.submit(task);
+    } catch (RejectedExecutionException rejectedExecutionException) {
+      rejectedCounter.increment();
+      throw new ServiceUnavailableException(OVERLOADED_MSG);
+    }
+
+    try {
+      return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+    } catch (TimeoutException timeoutException) {
+      future.cancel(true);
+      throw new ServiceUnavailableException(TIMEOUT_MSG, timeoutException);
+    } catch (InterruptedException interruptedException) {
+      future.cancel(true);
+      Thread.currentThread().interrupt();
+      throw new ServiceUnavailableException(TIMEOUT_MSG, interruptedException);
+    } catch (ExecutionException executionException) {
+      Throwable cause = executionException.getCause();
+      if (cause instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      throw new IllegalStateException(cause);
+    }
+  }
+}
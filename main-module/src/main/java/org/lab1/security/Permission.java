@@ -0,0 +1,79 @@
+package org.lab1.security;
+
+import java.util.Set;
+
+/**
+ * Права доступа приложения. Каждое право занимает один бит маски, поэтому набор прав роли
+ * хранится в одном long и проверяется одной битовой операцией.
+ */
+public enum Permission {
+  APPLICATION_MANAGE("application.manage"),
+  APPLICATION_READ("application.read"),
+  APPLICATION_VERIFY("application.verify"),
+  APPLICATION_STATS_MANAGE("application_stats.manage"),
+  APPLICATION_STATS_READ("application_stats.read"),
+  APPLICATION_STATS_VERIFY("application_stats.verify"),
+  DEVELOPER_MANAGE("developer.manage"),
+  DEVELOPER_READ("developer.read"),
+  FORM_CREATE("form.create"),
+  FORM_MANAGE("form.manage"),
+  FORM_READ("form.read"),
+  GOOGLE_RESULTS_READ_ALL("google_results.read.all"),
+  GOOGLE_RESULTS_READ_BY_ID("google_results.read.by_id"),
+  GOOGLE_RESULTS_READ_BY_OPERATION("google_results.read.by_operation"),
+  GOOGLE_RESULTS_READ_ERRORS("google_results.read.errors"),
+  GOOGLE_RESULTS_READ_OWN("google_results.read.own"),
+  GOOGLE_RESULTS_READ_SUCCESSFUL("google_results.read.successful"),
+  GOOGLE_STATS_READ_OWN("google_stats.read.own"),
+  IN_APP_ADD_MANAGE("in_app_add.manage"),
+  IN_APP_ADD_READ("in_app_add.read"),
+  IN_APP_PURCHASE_MANAGE("in_app_purchase.manage"),
+  IN_APP_PURCHASE_READ("in_app_purchase.read"),
+  MONETIZATION_PAYOUT_EXECUTE("monetization.payout.execute"),
+  MONETIZATION_PAYOUT_REQUEST("monetization.payout.request"),
+  MONETIZATION_READ("monetization.read"),
+  MONETIZED_APPLICATION_MANAGE("monetized_application.manage"),
+  MONETIZED_APPLICATION_READ("monetized_application.read"),
+  PAYMENT_REQUEST_CREATE("payment_request.create"),
+  PAYMENT_REQUEST_READ("payment_request.read"),
+  PAYMENT_REQUEST_VALIDATE_CARD("payment_request.validate_card"),
+  PAYOUT_LOG_MANAGE("payout_log.manage"),
+  PAYOUT_LOG_READ("payout_log.read"),
+  STATS_ADD_SHEETS("stats.add_sheets"),
+  STATS_CREATE("stats.create"),
+  STATS_UPDATE("stats.update"),
+  TOKEN_REVOKE("token.revoke"),
+  USER_DOWNLOAD_APPLICATION("user.download_application"),
+  USER_PURCHASE_IN_APP_ITEM("user.purchase_in_app_item"),
+  USER_VIEW_ADVERTISEMENT("user.view_advertisement"),
+  VERIFICATION_LOG_MANAGE("verification_log.manage"),
+  VERIFICATION_LOG_READ("verification_log.read");
+
+  private final String authority;
+
+  Permission(final String authorityParam) {
+    this.authority = authorityParam;
+  }
+
+  public String getAuthority() {
+    return authority;
+  }
+
+  public long mask() {
+    return 1L << ordinal();
+  }
+
+  /**
+   * Собирает битовую маску набора прав.
+   *
+   * @param permissions права
+   * @return маска, в которой выставлены биты всех переданных прав
+   */
+  public static long maskOf(final Set<Permission> permissions) {
+    long mask = 0L;
+    for (Permission permission : permissions) {
+      mask |= permission.mask();
+    }
+    return mask;
+  }
+}
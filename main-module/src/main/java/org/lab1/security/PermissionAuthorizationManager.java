@@ -0,0 +1,66 @@
+package org.lab1.security;
+
+import java.lang.reflect.Method;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.core.Authentication;
+
+/**
+ * Проверка {@link RequiresPermission}. Требуемая маска вычисляется один раз на метод, а права
+ * пользователя уже лежат маской в {@link AuthenticatedUser}, так что проверка сводится к одному
+ * побитовому AND. Пустой список прав (или аннотация, не найденная на методе и классе) даёт пустую
+ * маску, и такой вызов запрещается: иначе AND с нулём пропускал бы любого пользователя.
+ */
+public final class PermissionAuthorizationManager
+    implements AuthorizationManager<MethodInvocation> {
+  private static final AuthorizationDecision GRANTED = new AuthorizationDecision(true);
+  private static final AuthorizationDecision DENIED = new AuthorizationDecision(false);
+  private static final long NO_PERMISSIONS = 0L;
+
+  private final Map<Method, Long> requiredMasks = new ConcurrentHashMap<>();
+
+  @Override
+  public AuthorizationDecision check(
+      final Supplier<Authentication> authentication, final MethodInvocation invocation) {
+    Long required = requiredMasks.get(invocation.getMethod());
+    if (required == null) {
+      required =
+          requiredMasks.computeIfAbsent(
+              invocation.getMethod(), method -> requiredMask(method, invocation.getThis()));
+    }
+    if (required == NO_PERMISSIONS) {
+      return DENIED;
+    }
+    Authentication current = authentication.get();
+    if (current != null
+        && current.isAuthenticated()
+        && current.getPrincipal() instanceof AuthenticatedUser user
+        && user.hasPermissions(required)) {
+      return GRANTED;
+    }
+    return DENIED;
+  }
+
+  private static long requiredMask(final Method method, final Object target) {
+    RequiresPermission annotation =
+        AnnotatedElementUtils.findMergedAnnotation(method, RequiresPermission.class);
+    if (annotation == null && target != null) {
+      annotation =
+          AnnotatedElementUtils.findMergedAnnotation(target.getClass(), RequiresPermission.class);
+    }
+    if (annotation == null || annotation.value().length == 0) {
+      return NO_PERMISSIONS;
+    }
+    EnumSet<Permission> permissions = EnumSet.noneOf(Permission.class);
+    for (Permission permission : annotation.value()) {
+      permissions.add(permission);
+    }
+    return Permission.maskOf(permissions);
+  }
+}
@@ -0,0 +1,18 @@
+package org.lab1.security;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Требует у текущего пользователя все перечисленные права. Проверяется {@link
+ * PermissionAuthorizationManager} по битовой маске роли, без разбора SpEL выражений.
+ */
+@Documented
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RequiresPermission {
+  Permission[] value();
+}
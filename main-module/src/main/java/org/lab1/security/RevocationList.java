@@ -0,0 +1,156 @@
+package org.lab1.security;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import org.lab1.config.EnvConfig;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Список отозванных токенов узла. Перед точным множеством стоит фильтр Блума: для подавляющего
+ * большинства запросов токен не отозван, и проверка заканчивается на нескольких чтениях бит без
+ * обращения к хэш-таблице. Записи живут до истечения самого токена; после очистки фильтр
+ * перестраивается из оставшихся записей, так как удалять из него элементы нельзя.
+ */
+@Component
+public class RevocationList {
+  private static final String BLOOM_BITS_KEY = "REVOCATION_BLOOM_BITS";
+  private static final String DEFAULT_BLOOM_BITS = "1048576";
+  private static final int HASH_FUNCTIONS = 4;
+  private static final long SWEEP_INTERVAL_SECONDS = 60;
+  private static final String SWEEPER_THREAD_NAME = "revocation-list-sweeper";
+  private static final String REVOKED_TOKENS_METRIC = "auth.revocations.active";
+
+  private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+  private final Object bloomLock = new Object();
+  private final int bloomBits;
+  private volatile BloomFilter bloomFilter;
+  private final ScheduledExecutorService sweeper =
+      Executors.newSingleThreadScheduledExecutor(
+          runnable -> {
+            Thread thread = new Thread(runnable, SWEEPER_THREAD_NAME);
+            thread.setDaemon(true);
+            return thread;
+          });
+
+  @Autowired
+  public RevocationList(final MeterRegistry meterRegistry) {
+    this.bloomBits = Integer.parseInt(EnvConfig.get(BLOOM_BITS_KEY, DEFAULT_BLOOM_BITS));
+    this.bloomFilter = new BloomFilter(bloomBits);
+    Gauge.builder(REVOKED_TOKENS_METRIC, revoked, Map::size).register(meterRegistry);
+    sweeper.scheduleAtFixedRate(
+        this::removeExpired, SWEEP_INTERVAL_SECONDS, SWEEP_INTERVAL_SECONDS, TimeUnit.SECONDS);
+  }
+
+  /**
+   * Помечает токен отозванным до момента его истечения.
+   *
+   * @param tokenId идентификатор токена (claim jti)
+   * @param expiresAtMillis момент истечения токена в миллисекундах
+   */
+  public void add(final String tokenId, final long expiresAtMillis) {
+    if (tokenId == null || expiresAtMillis <= System.currentTimeMillis()) {
+      return;
+    }
+    synchronized (bloomLock) {
+      revoked.merge(tokenId, expiresAtMillis, Math::max);
+      bloomFilter.add(tokenId);
+    }
+  }
+
+  /**
+   * Проверяет, отозван ли токен.
+   *
+   * @param tokenId идентификатор токена (claim jti)
+   * @return true, если токен отозван и ещё не истёк
+   */
+  public boolean isRevoked(final String tokenId) {
+    if (tokenId == null || !bloomFilter.mightContain(tokenId)) {
+      return false;
+    }
+    Long expiresAtMillis = revoked.get(tokenId);
+    return expiresAtMillis != null && expiresAtMillis > System.currentTimeMillis();
+  }
+
+  public int size() {
+    return revoked.size();
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    sweeper.shutdownNow();
+  }
+
+  private void removeExpired() {
+    long now = System.currentTimeMillis();
+    synchronized (bloomLock) {
+      if (!revoked.values().removeIf(expiresAtMillis -> expiresAtMillis <= now)) {
+        return;
+      }
+      BloomFilter rebuilt = new BloomFilter(bloomBits);
+      revoked.keySet().forEach(rebuilt::add);
+      bloomFilter = rebuilt;
+    }
+  }
+
+  private static final class BloomFilter {
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    private static final int INT_BITS = 32;
+    private static final int WORD_SHIFT = 6;
+
+    private final AtomicLongArray words;
+    private final int mask;
+
+    private BloomFilter(final int bitsParam) {
+      int bits = Integer.highestOneBit(Math.max(Long.SIZE, bitsParam));
+      this.words = new AtomicLongArray(bits >>> WORD_SHIFT);
+      this.mask = bits - 1;
+    }
+
+    private void add(final String key) {
+      long hash = hash(key);
+      int first = (int) hash;
+      int second = (int) (hash >>> INT_BITS) | 1;
+      for (int i = 0; i < HASH_FUNCTIONS; i++) {
+        int bit = (first + i * second) & mask;
+        long bitMask = 1L << bit;
+        int word = bit >>> WORD_SHIFT;
+        long current = words.get(word);
+        while ((current & bitMask) == 0
+            && !words.compareAndSet(word, current, current | bitMask)) {
+          current = words.get(word);
+        }
+      }
+    }
+
+    private boolean mightContain(final String key) {
+      long hash = hash(key);
+      int first = (int) hash;
+      int second = (int) (hash >>> INT_BITS) | 1;
+      for (int i = 0; i < HASH_FUNCTIONS; i++) {
+        int bit = (first + i * second) & mask;
+        if ((words.get(bit >>> WORD_SHIFT) & (1L << bit)) == 0) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    private static long hash(final String key) {
+      long hash = FNV_OFFSET_BASIS;
+      for (int i = 0; i < key.length(); i++) {
+        hash ^= key.charAt(i);
+        hash *= FNV_PRIME;
+      }
+      return hash;
+    }
+  }
+}
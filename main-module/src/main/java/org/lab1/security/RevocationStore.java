@@ -0,0 +1,114 @@
+package org.lab1.security;
+
+import jakarta.annotation.PreDestroy;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.lab.logger.Logger;
+import org.lab1.config.EnvConfig;
+import org.lab1.json.RevokedToken;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Отзывы токенов в таблице revoked_token, общей для всех экземпляров. Рассылка через fanout
+ * exchange доходит только до экземпляров, чья очередь существует в момент отзыва, поэтому
+ * {@link RevocationList} заполняется из таблицы при старте и затем раз в REVOCATION_SYNC_SECONDS:
+ * перезапущенный экземпляр не примет токен, отозванный, пока он был недоступен.
+ */
+@Component
+public class RevocationStore {
+  private static final String SYNC_SECONDS_KEY = "REVOCATION_SYNC_SECONDS";
+  private static final String DEFAULT_SYNC_SECONDS = "30";
+  private static final String SYNC_THREAD_NAME = "revocation-store-sync";
+  private static final String UPSERT_SQL =
+      "INSERT INTO revoked_token (token_id, expires_at) VALUES (?, ?) "
+          + "ON CONFLICT (token_id) DO UPDATE "
+          + "SET expires_at = GREATEST(revoked_token.expires_at, EXCLUDED.expires_at)";
+  private static final String SELECT_ACTIVE_SQL =
+      "SELECT token_id, expires_at FROM revoked_token WHERE expires_at > ?";
+  private static final String DELETE_EXPIRED_SQL =
+      "DELETE FROM revoked_token WHERE expires_at <= ?";
+  private static final String TOKEN_ID_COLUMN = "token_id";
+  private static final String EXPIRES_AT_COLUMN = "expires_at";
+  private static final String LOADED_LOG = "Loaded {} revoked token(s) from the shared store.";
+  private static final String SAVE_FAILED_LOG = "Failed to persist {} token revocation(s): {}";
+  private static final String SYNC_FAILED_LOG = "Failed to load token revocations: {}";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final RevocationList revocationList;
+  private final Logger logger;
+  private final ScheduledExecutorService synchronizer =
+      Executors.newSingleThreadScheduledExecutor(
+          runnable -> {
+            Thread thread = new Thread(runnable, SYNC_THREAD_NAME);
+            thread.setDaemon(true);
+            return thread;
+          });
+
+  @Autowired
+  public RevocationStore(
+      final JdbcTemplate jdbcTemplateParam,
+      final RevocationList revocationListParam,
+      @Qualifier("correlationLogger") final Logger loggerParam) {
+    this.jdbcTemplate = jdbcTemplateParam;
+    this.revocationList = revocationListParam;
+    this.logger = loggerParam;
+    long syncSeconds = Long.parseLong(EnvConfig.get(SYNC_SECONDS_KEY, DEFAULT_SYNC_SECONDS));
+    synchronize();
+    synchronizer.scheduleWithFixedDelay(
+        this::synchronize, syncSeconds, syncSeconds, TimeUnit.SECONDS);
+  }
+
+  /**
+   * Сохраняет отзывы, чтобы их получили экземпляры, пропустившие рассылку.
+   *
+   * @param tokens отозванные токены
+   */
+  public void saveAll(final List<RevokedToken> tokens) {
+    List<Object[]> rows = new ArrayList<>(tokens.size());
+    for (RevokedToken token : tokens) {
+      if (token.getTokenId() != null) {
+        rows.add(new Object[] {token.getTokenId(), new Timestamp(token.getExpiresAt())});
+      }
+    }
+    if (rows.isEmpty()) {
+      return;
+    }
+    try {
+      jdbcTemplate.batchUpdate(UPSERT_SQL, rows);
+    } catch (DataAccessException dataAccessException) {
+      logger.error(SAVE_FAILED_LOG, rows.size(), dataAccessException.getMessage());
+    }
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    synchronizer.shutdownNow();
+  }
+
+  private void synchronize() {
+    Timestamp now = new Timestamp(System.currentTimeMillis());
+    try {
+      List<RevokedToken> tokens =
+          jdbcTemplate.query(
+              SELECT_ACTIVE_SQL,
+              (resultSet, rowNumber) ->
+                  new RevokedToken(
+                      resultSet.getString(TOKEN_ID_COLUMN),
+                      resultSet.getTimestamp(EXPIRES_AT_COLUMN).getTime()),
+              now);
+      tokens.forEach(token -> revocationList.add(token.getTokenId(), token.getExpiresAt()));
+      logger.debug(LOADED_LOG, tokens.size());
+      jdbcTemplate.update(DELETE_EXPIRED_SQL, now);
+    } catch (DataAccessException dataAccessException) {
+      logger.error(SYNC_FAILED_LOG, dataAccessException.getMessage());
+    }
+  }
+}
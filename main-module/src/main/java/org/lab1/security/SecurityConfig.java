@@ -1,12 +1,20 @@
 package org.lab1.security;
 
 import java.util.Arrays;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.Pointcut;
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.authorization.method.AuthorizationInterceptorsOrder;
+import org.springframework.security.authorization.method.AuthorizationManagerBeforeMethodInterceptor;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
@@ -21,6 +29,8 @@ public class SecurityConfig {
     "/api/auth/**", "/actuator/health", "/actuator/info", "/actuator/prometheus"
   };
 
+  private static final String MANAGEMENT_ENDPOINTS = "/management/**";
+
   private static final String[] ALLOWED_ORIGINS = {"*"};
   private static final String[] ALLOWED_METHODS = {
     "GET", "POST", "PUT", "DELETE", "OPTIONS", "PATCH"
@@ -33,18 +43,22 @@ public class SecurityConfig {
 
   private final JwtAuthorizationFilter jwtAuthorizationFilter;
   private final CustomAuthenticationEntryPoint customAuthenticationEntryPoint;
+  private final ManagementAccessFilter managementAccessFilter;
 
   @Autowired
   public SecurityConfig(
       final JwtAuthorizationFilter jwtAuthorizationFilterParam,
-      final CustomAuthenticationEntryPoint customAuthenticationEntryPointParam) {
+      final CustomAuthenticationEntryPoint customAuthenticationEntryPointParam,
+      final ManagementAccessFilter managementAccessFilterParam) {
     this.jwtAuthorizationFilter = jwtAuthorizationFilterParam;
     this.customAuthenticationEntryPoint = customAuthenticationEntryPointParam;
+    this.managementAccessFilter = managementAccessFilterParam;
   }
 
   /**
    * Конфигурация цепочки фильтров безопасности. Настраивает CORS, CSRF, авторизацию и JWT
-   * аутентификацию.
+   * аутентификацию. Эндпоинты /management/** проверяются токеном управления в
+   * {@link ManagementAccessFilter}, а не JWT, поэтому роли пользователей к ним доступа не дают.
    *
    * @param http объект HttpSecurity для конфигурации
    * @return сконфигурированная цепочка фильтров безопасности
@@ -55,17 +69,43 @@ public class SecurityConfig {
     http.csrf(csrf -> csrf.disable())
         .cors(cors -> cors.configurationSource(corsConfigurationSource()))
         .authorizeHttpRequests(
-            auth -> auth.requestMatchers(PUBLIC_ENDPOINTS).permitAll().anyRequest().authenticated())
+            auth ->
+                auth.requestMatchers(PUBLIC_ENDPOINTS)
+                    .permitAll()
+                    .requestMatchers(MANAGEMENT_ENDPOINTS)
+                    .permitAll()
+                    .anyRequest()
+                    .authenticated())
         .sessionManagement(
             session ->
                 session.sessionCreationPolicy(
                     org.springframework.security.config.http.SessionCreationPolicy.STATELESS))
         .exceptionHandling(ex -> ex.authenticationEntryPoint(customAuthenticationEntryPoint))
+        .addFilterBefore(managementAccessFilter, UsernamePasswordAuthenticationFilter.class)
         .addFilterBefore(jwtAuthorizationFilter, UsernamePasswordAuthenticationFilter.class);
 
     return http.build();
   }
 
+  /**
+   * Перехватчик методов, помеченных {@link RequiresPermission}. Выполняется в том же месте цепочки,
+   * что и {@code @PreAuthorize}, но проверяет битовую маску прав вместо SpEL выражения.
+   *
+   * @return advisor проверки прав
+   */
+  @Bean
+  @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+  static Advisor requiresPermissionAdvisor() {
+    Pointcut pointcut =
+        new ComposablePointcut(new AnnotationMatchingPointcut(null, RequiresPermission.class, true))
+            .union(new AnnotationMatchingPointcut(RequiresPermission.class, true));
+    AuthorizationManagerBeforeMethodInterceptor interceptor =
+        new AuthorizationManagerBeforeMethodInterceptor(
+            pointcut, new PermissionAuthorizationManager());
+    interceptor.setOrder(AuthorizationInterceptorsOrder.PRE_AUTHORIZE.getOrder());
+    return interceptor;
+  }
+
   /**
    * Конфигурация CORS для разрешения кросс-доменных запросов.
    *
@@ -0,0 +1,172 @@
+package org.lab1.security;
+
+import jakarta.annotation.PreDestroy;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.springframework.stereotype.Component;
+
+/**
+ * Хранилище активных сессий, ключ — идентификатор токена (claim jti). Вставка и удаление
+ * выполняются за O(1). Все токены живут одинаковое время, поэтому очередь в порядке выдачи уже
+ * упорядочена по сроку истечения, и фоновая очистка снимает просроченные записи только с её
+ * головы.
+ *
+ * <p>Сессии дополнительно сгруппированы по пользователю, чтобы все токены пользователя можно было
+ * отозвать без знания их идентификаторов.
+ */
+@Component
+public class SessionStore {
+  private static final long SWEEP_INTERVAL_SECONDS = 30;
+  private static final String SWEEPER_THREAD_NAME = "session-store-sweeper";
+
+  private final Map<String, Session> sessions = new ConcurrentHashMap<>();
+  private final Map<Integer, Set<String>> sessionsByUser = new ConcurrentHashMap<>();
+  private final Queue<Expiration> expirations = new ConcurrentLinkedQueue<>();
+  private final ScheduledExecutorService sweeper =
+      Executors.newSingleThreadScheduledExecutor(
+          runnable -> {
+            Thread thread = new Thread(runnable, SWEEPER_THREAD_NAME);
+            thread.setDaemon(true);
+            return thread;
+          });
+
+  public SessionStore() {
+    sweeper.scheduleAtFixedRate(
+        this::removeExpired, SWEEP_INTERVAL_SECONDS, SWEEP_INTERVAL_SECONDS, TimeUnit.SECONDS);
+  }
+
+  /**
+   * Регистрирует новую сессию.
+   *
+   * @param tokenId идентификатор токена
+   * @param userId идентификатор владельца токена
+   * @param expiresAtMillis момент истечения токена в миллисекундах
+   */
+  public void register(final String tokenId, final int userId, final long expiresAtMillis) {
+    Session session = new Session(userId, expiresAtMillis);
+    sessionsByUser.compute(
+        userId,
+        (id, tokenIds) -> {
+          Set<String> userTokenIds = tokenIds != null ? tokenIds : ConcurrentHashMap.newKeySet();
+          userTokenIds.add(tokenId);
+          return userTokenIds;
+        });
+    sessions.put(tokenId, session);
+    expirations.add(new Expiration(tokenId, session));
+  }
+
+  /**
+   * Завершает сессию досрочно.
+   *
+   * @param tokenId идентификатор токена
+   * @return true, если сессия была активна
+   */
+  public boolean remove(final String tokenId) {
+    Session session = tokenId != null ? sessions.remove(tokenId) : null;
+    if (session == null) {
+      return false;
+    }
+    forget(tokenId, session);
+    return true;
+  }
+
+  /**
+   * Возвращает момент истечения зарегистрированной сессии.
+   *
+   * @param tokenId идентификатор токена
+   * @return момент истечения в миллисекундах или null, если сессия здесь не зарегистрирована
+   */
+  public Long getExpiresAt(final String tokenId) {
+    Session session = tokenId != null ? sessions.get(tokenId) : null;
+    return session != null ? session.expiresAtMillis : null;
+  }
+
+  /**
+   * Возвращает активные сессии пользователя.
+   *
+   * @param userId идентификатор пользователя
+   * @return идентификаторы токенов и моменты их истечения в миллисекундах
+   */
+  public Map<String, Long> findByUser(final int userId) {
+    Map<String, Long> result = new HashMap<>();
+    Set<String> tokenIds = sessionsByUser.get(userId);
+    if (tokenIds == null) {
+      return result;
+    }
+    for (String tokenId : tokenIds) {
+      Session session = sessions.get(tokenId);
+      if (session != null) {
+        result.put(tokenId, session.expiresAtMillis);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Проверяет, что сессия зарегистрирована и ещё не истекла.
+   *
+   * @param tokenId идентификатор токена
+   * @return true для активной сессии
+   */
+  public boolean isActive(final String tokenId) {
+    Long expiresAtMillis = getExpiresAt(tokenId);
+    return expiresAtMillis != null && expiresAtMillis > System.currentTimeMillis();
+  }
+
+  public int size() {
+    return sessions.size();
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    sweeper.shutdownNow();
+  }
+
+  private void removeExpired() {
+    long now = System.currentTimeMillis();
+    Expiration head = expirations.peek();
+    while (head != null && head.session.expiresAtMillis <= now) {
+      expirations.poll();
+      if (sessions.remove(head.tokenId, head.session)) {
+        forget(head.tokenId, head.session);
+      }
+      head = expirations.peek();
+    }
+  }
+
+  private void forget(final String tokenId, final Session session) {
+    sessionsByUser.computeIfPresent(
+        session.userId,
+        (userId, tokenIds) -> {
+          tokenIds.remove(tokenId);
+          return tokenIds.isEmpty() ? null : tokenIds;
+        });
+  }
+
+  private static final class Session {
+    private final int userId;
+    private final long expiresAtMillis;
+
+    private Session(final int userIdParam, final long expiresAtMillisParam) {
+      this.userId = userIdParam;
+      this.expiresAtMillis = expiresAtMillisParam;
+    }
+  }
+
+  private static final class Expiration {
+    private final String tokenId;
+    private final Session session;
+
+    private Expiration(final String tokenIdParam, final Session sessionParam) {
+      this.tokenId = tokenIdParam;
+      this.session = sessionParam;
+    }
+  }
+}
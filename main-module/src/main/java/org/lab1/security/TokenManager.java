@@ -4,23 +4,24 @@ import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.MalformedJwtException;
-import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.SignatureException;
 import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.annotation.PostConstruct;
-import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicInteger;
-import org.lab1.config.EnvConfig;
+import java.util.Set;
+import java.util.UUID;
+import org.lab.logger.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 /**
@@ -39,111 +40,141 @@ public class TokenManager {
   private static final String USER_ID_CLAIM = "userId";
   private static final String ROLE_CLAIM = "role";
   private static final String ACTIVE_SESSIONS_METRIC = "auth.sessions.active";
-  private static final String SIGNATURE_ALGORITHM = "HS256";
-  private static final String EXPIRATION_LOG = "Exp: ";
+  private static final String EXPIRATION_LOG = "Exp: {}";
   private static final String TOKEN_VALID_LOG = "Token is valid.";
   private static final String TOKEN_EXPIRED_LOG = "Token has expired.";
+  private static final String TOKEN_REVOKED_LOG = "Token has been revoked.";
   private static final String INVALID_SIGNATURE_LOG = "Invalid signature.";
   private static final String MALFORMED_TOKEN_LOG = "Malformed token.";
-  private static final String TOKEN_VALIDATION_ERROR_LOG = "Token validation error: ";
+  private static final String TOKEN_VALIDATION_ERROR_LOG = "Token validation error: {}";
 
-  private static final String SECRET_KEY = EnvConfig.get("SECRET_KEY");
-
-  private final ConcurrentHashMap<String, Boolean> activeTokens = new ConcurrentHashMap<>();
   private final MeterRegistry meterRegistry;
-  private final PasswordEncoder passwordEncoder;
-  private AtomicInteger activeSessionsGauge;
+  private final SessionStore sessionStore;
+  private final RevocationList revocationList;
+  private final JwtKeyRing jwtKeyRing;
+  private final Logger logger;
 
+  private final Map<String, Set<Permission>> rolePermissions = initializeRolePermissions();
   private final Map<String, List<GrantedAuthority>> roleAuthorities = initializeRoleAuthorities();
+  private final Map<String, Long> rolePermissionMasks = initializeRolePermissionMasks();
 
   @Autowired
   public TokenManager(
-      final MeterRegistry meterRegistryParam, final PasswordEncoder passwordEncoderParam) {
+      final MeterRegistry meterRegistryParam,
+      final SessionStore sessionStoreParam,
+      final RevocationList revocationListParam,
+      final JwtKeyRing jwtKeyRingParam,
+      @Qualifier("correlationLogger") final Logger loggerParam) {
     this.meterRegistry = meterRegistryParam;
-    this.passwordEncoder = passwordEncoderParam;
+    this.sessionStore = sessionStoreParam;
+    this.revocationList = revocationListParam;
+    this.jwtKeyRing = jwtKeyRingParam;
+    this.logger = loggerParam;
   }
 
   /** Инициализация метрик для отслеживания активных сессий. */
   @PostConstruct
   public final void initMetrics() {
-    this.activeSessionsGauge = new AtomicInteger(0);
-
-    Gauge.builder(ACTIVE_SESSIONS_METRIC, activeSessionsGauge, AtomicInteger::get)
+    Gauge.builder(ACTIVE_SESSIONS_METRIC, sessionStore, SessionStore::size)
         .strongReference(true)
         .register(meterRegistry);
   }
 
+  private Map<String, Set<Permission>> initializeRolePermissions() {
+    Map<String, Set<Permission>> permissions = new HashMap<>();
+
+    permissions.put(USER_ROLE, createUserPermissions());
+    permissions.put(DEVELOPER_ROLE, createDeveloperPermissions());
+    permissions.put(PRIVACY_POLICY_ROLE, createPrivacyPolicyPermissions());
+
+    return permissions;
+  }
+
   private Map<String, List<GrantedAuthority>> initializeRoleAuthorities() {
     Map<String, List<GrantedAuthority>> authorities = new HashMap<>();
 
-    authorities.put(USER_ROLE, createUserAuthorities());
-    authorities.put(DEVELOPER_ROLE, createDeveloperAuthorities());
-    authorities.put(PRIVACY_POLICY_ROLE, createPrivacyPolicyAuthorities());
+    authorities.put(USER_ROLE, createAuthorities(ROLE_USER_AUTHORITY, USER_ROLE));
+    authorities.put(DEVELOPER_ROLE, createAuthorities(ROLE_DEVELOPER_AUTHORITY, DEVELOPER_ROLE));
+    authorities.put(
+        PRIVACY_POLICY_ROLE, createAuthorities(ROLE_PRIVACY_POLICY_AUTHORITY, PRIVACY_POLICY_ROLE));
 
     return authorities;
   }
 
-  private List<GrantedAuthority> createUserAuthorities() {
-    return Arrays.asList(
-        new SimpleGrantedAuthority(ROLE_USER_AUTHORITY),
-        new SimpleGrantedAuthority("application.read"),
-        new SimpleGrantedAuthority("application_stats.read"),
-        new SimpleGrantedAuthority("monetization.read"),
-        new SimpleGrantedAuthority("in_app_add.read"),
-        new SimpleGrantedAuthority("in_app_purchase.read"),
-        new SimpleGrantedAuthority("user.download_application"),
-        new SimpleGrantedAuthority("user.purchase_in_app_item"),
-        new SimpleGrantedAuthority("user.view_advertisement"));
+  private Map<String, Long> initializeRolePermissionMasks() {
+    Map<String, Long> masks = new HashMap<>();
+    rolePermissions.forEach((role, permissions) -> masks.put(role, Permission.maskOf(permissions)));
+    return masks;
+  }
+
+  private List<GrantedAuthority> createAuthorities(final String roleAuthority, final String role) {
+    List<GrantedAuthority> authorities = new ArrayList<>();
+    authorities.add(new SimpleGrantedAuthority(roleAuthority));
+    for (Permission permission : rolePermissions.get(role)) {
+      authorities.add(new SimpleGrantedAuthority(permission.getAuthority()));
+    }
+    return Collections.unmodifiableList(authorities);
+  }
+
+  private Set<Permission> createUserPermissions() {
+    return EnumSet.of(
+        Permission.APPLICATION_READ,
+        Permission.APPLICATION_STATS_READ,
+        Permission.MONETIZATION_READ,
+        Permission.IN_APP_ADD_READ,
+        Permission.IN_APP_PURCHASE_READ,
+        Permission.USER_DOWNLOAD_APPLICATION,
+        Permission.USER_PURCHASE_IN_APP_ITEM,
+        Permission.USER_VIEW_ADVERTISEMENT);
   }
 
-  private List<GrantedAuthority> createDeveloperAuthorities() {
-    return Arrays.asList(
-        new SimpleGrantedAuthority(ROLE_DEVELOPER_AUTHORITY),
-        new SimpleGrantedAuthority("application.manage"),
-        new SimpleGrantedAuthority("application.read"),
-        new SimpleGrantedAuthority("application.verify"),
-        new SimpleGrantedAuthority("application_stats.manage"),
-        new SimpleGrantedAuthority("application_stats.read"),
-        new SimpleGrantedAuthority("application_stats.verify"),
-        new SimpleGrantedAuthority("developer.manage"),
-        new SimpleGrantedAuthority("developer.read"),
-        new SimpleGrantedAuthority("form.read"),
-        new SimpleGrantedAuthority("in_app_add.manage"),
-        new SimpleGrantedAuthority("in_app_add.read"),
-        new SimpleGrantedAuthority("in_app_purchase.manage"),
-        new SimpleGrantedAuthority("in_app_purchase.read"),
-        new SimpleGrantedAuthority("monetization.read"),
-        new SimpleGrantedAuthority("monetization.payout.request"),
-        new SimpleGrantedAuthority("monetization.payout.execute"),
-        new SimpleGrantedAuthority("monetized_application.manage"),
-        new SimpleGrantedAuthority("monetized_application.read"),
-        new SimpleGrantedAuthority("payment_request.create"),
-        new SimpleGrantedAuthority("payment_request.read"),
-        new SimpleGrantedAuthority("payment_request.validate_card"),
-        new SimpleGrantedAuthority("payout_log.manage"),
-        new SimpleGrantedAuthority("payout_log.read"),
-        new SimpleGrantedAuthority("verification_log.manage"),
-        new SimpleGrantedAuthority("verification_log.read"),
-        new SimpleGrantedAuthority("form.create"),
-        new SimpleGrantedAuthority("stats.add_sheets"),
-        new SimpleGrantedAuthority("stats.create"),
-        new SimpleGrantedAuthority("google_results.read.own"),
-        new SimpleGrantedAuthority("google_results.read.all"),
-        new SimpleGrantedAuthority("google_results.read.by_operation"),
-        new SimpleGrantedAuthority("google_results.read.errors"),
-        new SimpleGrantedAuthority("google_results.read.successful"),
-        new SimpleGrantedAuthority("google_results.read.by_id"),
-        new SimpleGrantedAuthority("google_stats.read.own"));
+  private Set<Permission> createDeveloperPermissions() {
+    return EnumSet.of(
+        Permission.APPLICATION_MANAGE,
+        Permission.APPLICATION_READ,
+        Permission.APPLICATION_VERIFY,
+        Permission.APPLICATION_STATS_MANAGE,
+        Permission.APPLICATION_STATS_READ,
+        Permission.APPLICATION_STATS_VERIFY,
+        Permission.DEVELOPER_MANAGE,
+        Permission.DEVELOPER_READ,
+        Permission.FORM_READ,
+        Permission.IN_APP_ADD_MANAGE,
+        Permission.IN_APP_ADD_READ,
+        Permission.IN_APP_PURCHASE_MANAGE,
+        Permission.IN_APP_PURCHASE_READ,
+        Permission.MONETIZATION_READ,
+        Permission.MONETIZATION_PAYOUT_REQUEST,
+        Permission.MONETIZATION_PAYOUT_EXECUTE,
+        Permission.MONETIZED_APPLICATION_MANAGE,
+        Permission.MONETIZED_APPLICATION_READ,
+        Permission.PAYMENT_REQUEST_CREATE,
+        Permission.PAYMENT_REQUEST_READ,
+        Permission.PAYMENT_REQUEST_VALIDATE_CARD,
+        Permission.PAYOUT_LOG_MANAGE,
+        Permission.PAYOUT_LOG_READ,
+        Permission.VERIFICATION_LOG_MANAGE,
+        Permission.VERIFICATION_LOG_READ,
+        Permission.FORM_CREATE,
+        Permission.STATS_ADD_SHEETS,
+        Permission.STATS_CREATE,
+        Permission.GOOGLE_RESULTS_READ_OWN,
+        Permission.GOOGLE_RESULTS_READ_ALL,
+        Permission.GOOGLE_RESULTS_READ_BY_OPERATION,
+        Permission.GOOGLE_RESULTS_READ_ERRORS,
+        Permission.GOOGLE_RESULTS_READ_SUCCESSFUL,
+        Permission.GOOGLE_RESULTS_READ_BY_ID,
+        Permission.GOOGLE_STATS_READ_OWN);
   }
 
-  private List<GrantedAuthority> createPrivacyPolicyAuthorities() {
-    return Arrays.asList(
-        new SimpleGrantedAuthority(ROLE_PRIVACY_POLICY_AUTHORITY),
-        new SimpleGrantedAuthority("developer.manage"),
-        new SimpleGrantedAuthority("developer.read"),
-        new SimpleGrantedAuthority("form.manage"),
-        new SimpleGrantedAuthority("form.read"),
-        new SimpleGrantedAuthority("stats.update"));
+  private Set<Permission> createPrivacyPolicyPermissions() {
+    return EnumSet.of(
+        Permission.DEVELOPER_MANAGE,
+        Permission.DEVELOPER_READ,
+        Permission.FORM_MANAGE,
+        Permission.FORM_READ,
+        Permission.STATS_UPDATE,
+        Permission.TOKEN_REVOKE);
   }
 
   /**
@@ -155,37 +186,39 @@ public class TokenManager {
    * @return сгенерированный JWT токен
    */
   public final String generateToken(final String username, final String role, final int userId) {
+    Date now = new Date();
+    Date validity = new Date(now.getTime() + TOKEN_VALIDITY_MILLISECONDS);
     Claims claims = createClaims(username, role, userId);
-    String token = buildToken(claims);
-    storeActiveToken(token);
+    String token = buildToken(claims, now, validity);
+    sessionStore.register(claims.getId(), userId, validity.getTime());
     return token;
   }
 
   private Claims createClaims(final String username, final String role, final int userId) {
-    Claims claims = Jwts.claims().setSubject(username);
+    Claims claims = Jwts.claims().setSubject(username).setId(UUID.randomUUID().toString());
     claims.put(ROLE_CLAIM, role);
     claims.put(USER_ID_CLAIM, userId);
     return claims;
   }
 
-  private String buildToken(final Claims claims) {
-    Date now = new Date();
-    Date validity = new Date(now.getTime() + TOKEN_VALIDITY_MILLISECONDS);
+  /**
+   * Возвращает максимальный срок жизни выдаваемых токенов.
+   *
+   * @return срок жизни токена в миллисекундах
+   */
+  public final long getTokenValidityMillis() {
+    return TOKEN_VALIDITY_MILLISECONDS;
+  }
 
-    return Jwts.builder()
+  private String buildToken(final Claims claims, final Date now, final Date validity) {
+    return jwtKeyRing
+        .builder()
         .setClaims(claims)
         .setIssuedAt(now)
         .setExpiration(validity)
-        .signWith(SignatureAlgorithm.valueOf(SIGNATURE_ALGORITHM), SECRET_KEY)
         .compact();
   }
 
-  private void storeActiveToken(final String token) {
-    String hashedToken = passwordEncoder.encode(token);
-    activeTokens.put(hashedToken, true);
-    updateActiveSessionsMetric();
-  }
-
   /**
    * Извлекает claims из JWT токена.
    *
@@ -193,7 +226,7 @@ public class TokenManager {
    * @return claims из токена
    */
   public final Claims getClaimsFromToken(final String token) {
-    return Jwts.parser().setSigningKey(SECRET_KEY).parseClaimsJws(token).getBody();
+    return jwtKeyRing.parser().parseClaimsJws(token).getBody();
   }
 
   /**
@@ -203,52 +236,68 @@ public class TokenManager {
    * @return true если токен валиден, false в противном случае
    */
   public final boolean isTokenValid(final String token) {
+    return verifyToken(token) != null;
+  }
+
+  /**
+   * Проверяет подпись и срок действия JWT токена, разбирая его один раз.
+   *
+   * @param token JWT токен для проверки
+   * @return claims валидного токена или null, если токен невалиден, истёк или отозван
+   */
+  public final Claims verifyToken(final String token) {
     try {
       Claims claims = validateTokenAndGetClaims(token);
       Date expiration = claims.getExpiration();
 
-      System.out.println(EXPIRATION_LOG + expiration);
+      logger.debug(EXPIRATION_LOG, expiration);
+
+      if (isRevoked(claims.getId())) {
+        logger.info(TOKEN_REVOKED_LOG);
+        return null;
+      }
 
       if (isTokenNotExpired(expiration)) {
-        System.out.println(TOKEN_VALID_LOG);
-        return true;
+        logger.debug(TOKEN_VALID_LOG);
+        return claims;
       }
 
-      removeExpiredToken(token);
-      System.out.println(TOKEN_EXPIRED_LOG);
-      return false;
+      sessionStore.remove(claims.getId());
+      logger.info(TOKEN_EXPIRED_LOG);
+      return null;
 
     } catch (SignatureException signatureException) {
-      System.out.println(INVALID_SIGNATURE_LOG);
+      logger.warn(INVALID_SIGNATURE_LOG);
     } catch (ExpiredJwtException expiredJwtException) {
-      System.out.println(TOKEN_EXPIRED_LOG);
+      sessionStore.remove(expiredJwtException.getClaims().getId());
+      logger.info(TOKEN_EXPIRED_LOG);
     } catch (MalformedJwtException malformedJwtException) {
-      System.out.println(MALFORMED_TOKEN_LOG);
+      logger.warn(MALFORMED_TOKEN_LOG);
     } catch (Exception exception) {
-      System.out.println(TOKEN_VALIDATION_ERROR_LOG + exception.getMessage());
+      logger.error(TOKEN_VALIDATION_ERROR_LOG, exception.getMessage());
     }
 
-    return false;
+    return null;
+  }
+
+  /**
+   * Проверяет, отозван ли токен в кластере.
+   *
+   * @param tokenId идентификатор токена (claim jti)
+   * @return true, если токен отозван
+   */
+  public final boolean isRevoked(final String tokenId) {
+    return revocationList.isRevoked(tokenId);
   }
 
   private Claims validateTokenAndGetClaims(final String token) {
-    return Jwts.parser().setSigningKey(SECRET_KEY).parseClaimsJws(token).getBody();
+    return jwtKeyRing.parser().parseClaimsJws(token).getBody();
   }
 
   private boolean isTokenNotExpired(final Date expiration) {
     return expiration != null && expiration.after(new Date());
   }
 
-  private void removeExpiredToken(final String token) {
-    String hashedToken = passwordEncoder.encode(token);
-    activeTokens.remove(hashedToken);
-    updateActiveSessionsMetric();
-  }
-
-  private void updateActiveSessionsMetric() {
-    activeSessionsGauge.set(activeTokens.size());
-  }
-
   /**
    * Возвращает список authorities для указанной роли.
    *
@@ -258,4 +307,14 @@ public class TokenManager {
   public final List<GrantedAuthority> getAuthoritiesByRole(final String role) {
     return roleAuthorities.get(role.toUpperCase());
   }
+
+  /**
+   * Возвращает битовую маску прав для указанной роли.
+   *
+   * @param role роль пользователя
+   * @return маска прав роли, 0 для неизвестной роли
+   */
+  public final long getPermissionsByRole(final String role) {
+    return rolePermissionMasks.getOrDefault(role.toUpperCase(), 0L);
+  }
 }
@@ -0,0 +1,172 @@
+package org.lab1.security;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import org.lab.logger.Logger;
+import org.lab1.config.RabbitMQConfig;
+import org.lab1.json.RevokedToken;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+/**
+ * Отзыв JWT токенов во всём кластере. Отозванные идентификаторы сразу попадают в локальный
+ * {@link RevocationList}, сохраняются в {@link RevocationStore} и рассылаются через fanout
+ * exchange, откуда их забирают остальные экземпляры приложения. Экземпляр, пропустивший рассылку,
+ * получает отзыв из {@link RevocationStore} при старте или при очередной синхронизации.
+ *
+ * <p>Отзыв всех токенов пользователя рассылается отдельным сообщением с заголовком
+ * revoked-user-id: каждый экземпляр находит выданные им токены пользователя в своём
+ * {@link SessionStore} и рассылает их идентификаторы обычным образом.
+ */
+@Service
+public class TokenRevocationService {
+  private static final String ROUTING_KEY = "";
+  private static final TypeReference<List<RevokedToken>> REVOKED_TOKENS_TYPE =
+      new TypeReference<>() {};
+  private static final String REVOKED_USER_HEADER = "revoked-user-id";
+  private static final byte[] EMPTY_BODY = new byte[0];
+  private static final String REVOKED_LOG = "Revoked {} token(s) locally.";
+  private static final String REVOKED_USER_LOG = "Revoking sessions of user {} in the cluster.";
+  private static final String RECEIVED_LOG = "Received {} revoked token(s) from the cluster.";
+  private static final String PUBLISH_FAILED_LOG = "Failed to publish token revocation: {}";
+  private static final String MALFORMED_MESSAGE_LOG = "Malformed token revocation message: {}";
+  private static final String SERIALIZATION_ERROR = "Failed to serialize token revocation";
+
+  private final RevocationList revocationList;
+  private final RevocationStore revocationStore;
+  private final SessionStore sessionStore;
+  private final RabbitTemplate rabbitTemplate;
+  private final ObjectMapper objectMapper;
+  private final Logger logger;
+
+  @Autowired
+  public TokenRevocationService(
+      final RevocationList revocationListParam,
+      final RevocationStore revocationStoreParam,
+      final SessionStore sessionStoreParam,
+      final RabbitTemplate rabbitTemplateParam,
+      final ObjectMapper objectMapperParam,
+      @Qualifier("correlationLogger") final Logger loggerParam) {
+    this.revocationList = revocationListParam;
+    this.revocationStore = revocationStoreParam;
+    this.sessionStore = sessionStoreParam;
+    this.rabbitTemplate = rabbitTemplateParam;
+    this.objectMapper = objectMapperParam;
+    this.logger = loggerParam;
+  }
+
+  /**
+   * Отзывает один токен.
+   *
+   * @param tokenId идентификатор токена (claim jti)
+   * @param expiresAtMillis момент истечения токена в миллисекундах
+   */
+  public final void revoke(final String tokenId, final long expiresAtMillis) {
+    revokeTokens(Collections.singletonList(new RevokedToken(tokenId, expiresAtMillis)));
+  }
+
+  /**
+   * Отзывает набор токенов. Для токенов, выданных этим экземпляром, берётся их собственный срок
+   * истечения из {@link SessionStore}, для остальных — переданная верхняя граница.
+   *
+   * @param tokenIds идентификаторы токенов
+   * @param maxExpiresAtMillis момент, после которого любой из токенов заведомо истёк
+   */
+  public final void revokeAll(final List<String> tokenIds, final long maxExpiresAtMillis) {
+    List<RevokedToken> tokens = new ArrayList<>(tokenIds.size());
+    for (String tokenId : tokenIds) {
+      Long expiresAtMillis = sessionStore.getExpiresAt(tokenId);
+      long tokenExpiresAtMillis = expiresAtMillis != null ? expiresAtMillis : maxExpiresAtMillis;
+      tokens.add(new RevokedToken(tokenId, tokenExpiresAtMillis));
+    }
+    revokeTokens(tokens);
+  }
+
+  /**
+   * Отзывает все активные токены пользователя во всём кластере.
+   *
+   * @param userId идентификатор пользователя
+   */
+  public final void revokeUser(final int userId) {
+    logger.info(REVOKED_USER_LOG, userId);
+    revokeLocalSessions(userId);
+    try {
+      MessageProperties properties = new MessageProperties();
+      properties.setHeader(REVOKED_USER_HEADER, userId);
+      rabbitTemplate.send(
+          RabbitMQConfig.REVOCATION_EXCHANGE, ROUTING_KEY, new Message(EMPTY_BODY, properties));
+    } catch (AmqpException amqpException) {
+      logger.error(PUBLISH_FAILED_LOG, amqpException.getMessage());
+    }
+  }
+
+  private void revokeLocalSessions(final int userId) {
+    Map<String, Long> sessions = sessionStore.findByUser(userId);
+    if (sessions.isEmpty()) {
+      return;
+    }
+    List<RevokedToken> tokens = new ArrayList<>(sessions.size());
+    sessions.forEach(
+        (tokenId, expiresAtMillis) -> tokens.add(new RevokedToken(tokenId, expiresAtMillis)));
+    revokeTokens(tokens);
+  }
+
+  private void revokeTokens(final List<RevokedToken> tokens) {
+    apply(tokens);
+    revocationStore.saveAll(tokens);
+    logger.info(REVOKED_LOG, tokens.size());
+    publish(tokens);
+  }
+
+  /**
+   * Принимает отозванные токены от других экземпляров (и собственные рассылки).
+   *
+   * @param message сообщение со списком отозванных токенов
+   */
+  @RabbitListener(queues = "#{" + RabbitMQConfig.REVOCATION_QUEUE_BEAN + ".name}")
+  public void onRevocation(final Message message) {
+    Object revokedUserId = message.getMessageProperties().getHeader(REVOKED_USER_HEADER);
+    if (revokedUserId != null) {
+      revokeLocalSessions(Integer.parseInt(revokedUserId.toString()));
+      return;
+    }
+    try {
+      List<RevokedToken> tokens = objectMapper.readValue(message.getBody(), REVOKED_TOKENS_TYPE);
+      apply(tokens);
+      logger.debug(RECEIVED_LOG, tokens.size());
+    } catch (IOException ioException) {
+      logger.warn(MALFORMED_MESSAGE_LOG, ioException.getMessage());
+    }
+  }
+
+  private void apply(final List<RevokedToken> tokens) {
+    for (RevokedToken token : tokens) {
+      revocationList.add(token.getTokenId(), token.getExpiresAt());
+      sessionStore.remove(token.getTokenId());
+    }
+  }
+
+  private void publish(final List<RevokedToken> tokens) {
+    try {
+      Message message =
+          new Message(objectMapper.writeValueAsBytes(tokens), new MessageProperties());
+      rabbitTemplate.send(RabbitMQConfig.REVOCATION_EXCHANGE, ROUTING_KEY, message);
+    } catch (JsonProcessingException jsonProcessingException) {
+      throw new IllegalStateException(SERIALIZATION_ERROR, jsonProcessingException);
+    } catch (AmqpException amqpException) {
+      logger.error(PUBLISH_FAILED_LOG, amqpException.getMessage());
+    }
+  }
+}
@@ -0,0 +1,136 @@
+package org.lab1.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.lab1.config.EnvConfig;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+/**
+ * Кэш уже проверенных JWT токенов. Ключ — SHA-256 дайджест токена, значение — готовый объект
+ * Authentication и момент истечения токена. Повторный запрос с известным токеном не проверяет
+ * подпись и не разбирает Base64/JSON заново. Размер кэша ограничен, просроченные записи
+ * удаляются при обращении и при переполнении.
+ */
+@Component
+public class VerifiedTokenCache {
+  private static final String DIGEST_ALGORITHM = "SHA-256";
+  private static final String MAX_SIZE_KEY = "JWT_CACHE_MAX_SIZE";
+  private static final String DEFAULT_MAX_SIZE = "10000";
+  private static final int EVICTION_DIVISOR = 10;
+  private static final String CACHE_METRIC = "auth.token.cache";
+  private static final String CACHE_SIZE_METRIC = "auth.token.cache.size";
+  private static final String RESULT_TAG = "result";
+  private static final String HIT_TAG = "hit";
+  private static final String MISS_TAG = "miss";
+
+  private static final ThreadLocal<MessageDigest> DIGESTS =
+      ThreadLocal.withInitial(VerifiedTokenCache::createDigest);
+
+  private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+  private final int maxSize;
+  private final Counter hitCounter;
+  private final Counter missCounter;
+
+  @Autowired
+  public VerifiedTokenCache(final MeterRegistry meterRegistry) {
+    this.maxSize = Integer.parseInt(EnvConfig.get(MAX_SIZE_KEY, DEFAULT_MAX_SIZE));
+    this.hitCounter =
+        Counter.builder(CACHE_METRIC).tag(RESULT_TAG, HIT_TAG).register(meterRegistry);
+    this.missCounter =
+        Counter.builder(CACHE_METRIC).tag(RESULT_TAG, MISS_TAG).register(meterRegistry);
+    Gauge.builder(CACHE_SIZE_METRIC, entries, Map::size).register(meterRegistry);
+  }
+
+  /**
+   * Возвращает сохранённую аутентификацию для токена.
+   *
+   * @param token JWT токен
+   * @return Authentication или null, если токен не проверялся или уже истёк
+   */
+  public Authentication get(final String token) {
+    String key = digest(token);
+    Entry entry = entries.get(key);
+    if (entry == null) {
+      missCounter.increment();
+      return null;
+    }
+    if (entry.expiresAtMillis <= System.currentTimeMillis()) {
+      entries.remove(key, entry);
+      missCounter.increment();
+      return null;
+    }
+    hitCounter.increment();
+    return entry.authentication;
+  }
+
+  /**
+   * Сохраняет результат успешной проверки токена до момента его истечения.
+   *
+   * @param token JWT токен
+   * @param authentication готовый объект аутентификации
+   * @param expiresAtMillis момент истечения токена в миллисекундах
+   */
+  public void put(
+      final String token, final Authentication authentication, final long expiresAtMillis) {
+    if (maxSize <= 0 || expiresAtMillis <= System.currentTimeMillis()) {
+      return;
+    }
+    if (entries.size() >= maxSize) {
+      evict();
+    }
+    entries.put(digest(token), new Entry(authentication, expiresAtMillis));
+  }
+
+  /**
+   * Удаляет токен из кэша, например при выходе пользователя.
+   *
+   * @param token JWT токен
+   */
+  public void invalidate(final String token) {
+    entries.remove(digest(token));
+  }
+
+  private void evict() {
+    long now = System.currentTimeMillis();
+    entries.values().removeIf(entry -> entry.expiresAtMillis <= now);
+    int toRemove = entries.size() - maxSize + Math.max(1, maxSize / EVICTION_DIVISOR);
+    Iterator<String> iterator = entries.keySet().iterator();
+    while (toRemove-- > 0 && iterator.hasNext()) {
+      iterator.next();
+      iterator.remove();
+    }
+  }
+
+  private static String digest(final String token) {
+    byte[] hash = DIGESTS.get().digest(token.getBytes(StandardCharsets.US_ASCII));
+    return Base64.getEncoder().withoutPadding().encodeToString(hash);
+  }
+
+  private static MessageDigest createDigest() {
+    try {
+      return MessageDigest.getInstance(DIGEST_ALGORITHM);
+    } catch (NoSuchAlgorithmException noSuchAlgorithmException) {
+      throw new IllegalStateException(noSuchAlgorithmException);
+    }
+  }
+
+  private static final class Entry {
+    private final Authentication authentication;
+    private final long expiresAtMillis;
+
+    private Entry(final Authentication authenticationParam, final long expiresAtMillisParam) {
+      this.authentication = authenticationParam;
+      this.expiresAtMillis = expiresAtMillisParam;
+    }
+  }
+}
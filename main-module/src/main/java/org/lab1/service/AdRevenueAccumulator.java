@@ -0,0 +1,239 @@
+package org.lab1.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.lab.logger.Logger;
+import org.lab1.config.EnvConfig;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Отложенная запись дохода от просмотров рекламы. В режиме AD_REVENUE_COALESCING начисления
+ * копятся в памяти в {@link DoubleAdder} по каждому монетизированному приложению и раз в
+ * AD_REVENUE_FLUSH_MILLIS применяются одним UPDATE ... FROM (VALUES ...), так что горячая строка
+ * monetized_application блокируется один раз за интервал, а не на каждый просмотр.
+ *
+ * <p>Каждое начисление сначала пишется в {@link AdRevenueJournal}. Пачка применяется вместе с
+ * вставкой её идентификатора в ad_revenue_flush, поэтому сегменты, оставшиеся после падения,
+ * применяются при старте ровно один раз.
+ */
+@Component
+public class AdRevenueAccumulator {
+  private static final String ENABLED_KEY = "AD_REVENUE_COALESCING";
+  private static final String DEFAULT_ENABLED = "false";
+  private static final String FLUSH_MILLIS_KEY = "AD_REVENUE_FLUSH_MILLIS";
+  private static final String DEFAULT_FLUSH_MILLIS = "500";
+  private static final String JOURNAL_DIR_KEY = "AD_REVENUE_JOURNAL_DIR";
+  private static final String DEFAULT_JOURNAL_DIR = "/app/ad-revenue-journal";
+  private static final int MAX_ROWS_PER_STATEMENT = 1000;
+  private static final String BATCH_ID_SEPARATOR = "#";
+  private static final String FLUSHER_THREAD_NAME = "ad-revenue-flusher";
+  private static final String APPLY_SQL_PREFIX =
+      "WITH flush AS (INSERT INTO ad_revenue_flush (batch_id) VALUES (?) "
+          + "ON CONFLICT DO NOTHING RETURNING batch_id) "
+          + "UPDATE monetized_application m "
+          + "SET current_balance = m.current_balance + v.amount, "
+          + "revenue = m.revenue + v.amount, "
+          + "ads_revenue = m.ads_revenue + v.amount "
+          + "FROM flush, (VALUES ";
+  private static final String APPLY_SQL_ROW = "(?::integer, ?::double precision)";
+  private static final String APPLY_SQL_SUFFIX = ") AS v (id, amount) WHERE m.id = v.id";
+  private static final String ROW_SEPARATOR = ", ";
+  private static final String FORGET_BATCHES_SQL =
+      "DELETE FROM ad_revenue_flush WHERE batch_id LIKE ?";
+  private static final String LIKE_ANY = "%";
+  private static final String PENDING_METRIC = "revenue.ads.pending.applications";
+  private static final String FLUSH_METRIC = "revenue.ads.flush";
+  private static final String RESULT_TAG = "result";
+  private static final String SUCCESS_RESULT = "success";
+  private static final String FAILURE_RESULT = "failure";
+  private static final String ENABLED_LOG = "Ad revenue coalescing enabled, flush every {} ms";
+  private static final String RECOVERED_LOG = "Recovered unapplied ad revenue journal segment {}";
+  private static final String JOURNAL_FAILED_LOG =
+      "Ad revenue journal unavailable, falling back to direct updates: {}";
+  private static final String FLUSH_FAILED_LOG = "Ad revenue flush of segment {} failed: {}";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final Logger logger;
+  private final ReadWriteLock drainLock = new ReentrantReadWriteLock();
+  private final Deque<PendingBatch> pendingBatches = new ArrayDeque<>();
+  private final Counter flushSuccessCounter;
+  private final Counter flushFailureCounter;
+  private final AdRevenueJournal journal;
+  private final ScheduledExecutorService flusher;
+  private volatile Map<Integer, DoubleAdder> stripes = new ConcurrentHashMap<>();
+
+  @Autowired
+  public AdRevenueAccumulator(
+      final JdbcTemplate jdbcTemplateParam,
+      @Qualifier("correlationLogger") final Logger loggerParam,
+      final MeterRegistry meterRegistry) {
+    this.jdbcTemplate = jdbcTemplateParam;
+    this.logger = loggerParam;
+    this.flushSuccessCounter =
+        Counter.builder(FLUSH_METRIC).tag(RESULT_TAG, SUCCESS_RESULT).register(meterRegistry);
+    this.flushFailureCounter =
+        Counter.builder(FLUSH_METRIC).tag(RESULT_TAG, FAILURE_RESULT).register(meterRegistry);
+    Gauge.builder(PENDING_METRIC, this, accumulator -> accumulator.stripes.size())
+        .register(meterRegistry);
+
+    this.journal =
+        Boolean.parseBoolean(EnvConfig.get(ENABLED_KEY, DEFAULT_ENABLED)) ? openJournal() : null;
+    if (journal == null) {
+      this.flusher = null;
+      return;
+    }
+    long flushMillis = Long.parseLong(EnvConfig.get(FLUSH_MILLIS_KEY, DEFAULT_FLUSH_MILLIS));
+    this.flusher =
+        Executors.newSingleThreadScheduledExecutor(
+            runnable -> {
+              Thread thread = new Thread(runnable, FLUSHER_THREAD_NAME);
+              thread.setDaemon(true);
+              return thread;
+            });
+    flusher.scheduleWithFixedDelay(this::flush, 0, flushMillis, TimeUnit.MILLISECONDS);
+    logger.info(ENABLED_LOG, flushMillis);
+  }
+
+  public boolean isEnabled() {
+    return journal != null;
+  }
+
+  /**
+   * Учитывает доход от просмотра рекламы до следующего сброса.
+   *
+   * @param monetizedApplicationId идентификатор монетизированного приложения
+   * @param amount сумма начисления
+   * @return false, если режим выключен или журнал недоступен и начисление нужно применить сразу
+   */
+  public boolean add(final int monetizedApplicationId, final double amount) {
+    if (journal == null) {
+      return false;
+    }
+    drainLock.readLock().lock();
+    try {
+      journal.append(monetizedApplicationId, amount);
+      stripes.computeIfAbsent(monetizedApplicationId, id -> new DoubleAdder()).add(amount);
+      return true;
+    } catch (IOException ioException) {
+      logger.error(JOURNAL_FAILED_LOG, ioException.getMessage());
+      return false;
+    } finally {
+      drainLock.readLock().unlock();
+    }
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    if (journal == null) {
+      return;
+    }
+    flusher.shutdownNow();
+    flush();
+    try {
+      journal.close();
+    } catch (IOException ioException) {
+      logger.error(JOURNAL_FAILED_LOG, ioException.getMessage());
+    }
+  }
+
+  private AdRevenueJournal openJournal() {
+    try {
+      AdRevenueJournal opened =
+          new AdRevenueJournal(Paths.get(EnvConfig.get(JOURNAL_DIR_KEY, DEFAULT_JOURNAL_DIR)));
+      for (String segmentId : opened.open()) {
+        pendingBatches.add(new PendingBatch(segmentId, opened.read(segmentId)));
+        logger.warn(RECOVERED_LOG, segmentId);
+      }
+      return opened;
+    } catch (IOException ioException) {
+      logger.error(JOURNAL_FAILED_LOG, ioException.getMessage());
+      return null;
+    }
+  }
+
+  private synchronized void flush() {
+    drain();
+    while (!pendingBatches.isEmpty()) {
+      PendingBatch batch = pendingBatches.peek();
+      try {
+        apply(batch);
+        journal.delete(batch.segmentId);
+        jdbcTemplate.update(FORGET_BATCHES_SQL, batch.segmentId + BATCH_ID_SEPARATOR + LIKE_ANY);
+        pendingBatches.poll();
+        flushSuccessCounter.increment();
+      } catch (DataAccessException | IOException exception) {
+        flushFailureCounter.increment();
+        logger.error(FLUSH_FAILED_LOG, batch.segmentId, exception.getMessage());
+        return;
+      }
+    }
+  }
+
+  private void drain() {
+    drainLock.writeLock().lock();
+    try {
+      if (stripes.isEmpty()) {
+        return;
+      }
+      String segmentId = journal.rotate();
+      Map<Integer, DoubleAdder> drained = stripes;
+      stripes = new ConcurrentHashMap<>();
+      Map<Integer, Double> totals = new HashMap<>();
+      drained.forEach((id, adder) -> totals.put(id, adder.sum()));
+      pendingBatches.add(new PendingBatch(segmentId, totals));
+    } catch (IOException ioException) {
+      logger.error(JOURNAL_FAILED_LOG, ioException.getMessage());
+    } finally {
+      drainLock.writeLock().unlock();
+    }
+  }
+
+  private void apply(final PendingBatch batch) {
+    List<Map.Entry<Integer, Double>> rows = new ArrayList<>(batch.totals.entrySet());
+    rows.sort(Map.Entry.comparingByKey());
+    for (int from = 0, chunk = 0; from < rows.size(); from += MAX_ROWS_PER_STATEMENT, chunk++) {
+      List<Map.Entry<Integer, Double>> slice =
+          rows.subList(from, Math.min(from + MAX_ROWS_PER_STATEMENT, rows.size()));
+      StringBuilder sql = new StringBuilder(APPLY_SQL_PREFIX);
+      List<Object> arguments = new ArrayList<>(1 + slice.size() * 2);
+      arguments.add(batch.segmentId + BATCH_ID_SEPARATOR + chunk);
+      for (int index = 0; index < slice.size(); index++) {
+        sql.append(index == 0 ? "" : ROW_SEPARATOR).append(APPLY_SQL_ROW);
+        arguments.add(slice.get(index).getKey());
+        arguments.add(slice.get(index).getValue());
+      }
+      jdbcTemplate.update(sql.append(APPLY_SQL_SUFFIX).toString(), arguments.toArray());
+    }
+  }
+
+  private static final class PendingBatch {
+    private final String segmentId;
+    private final Map<Integer, Double> totals;
+
+    private PendingBatch(final String segmentIdParam, final Map<Integer, Double> totalsParam) {
+      this.segmentId = segmentIdParam;
+      this.totals = totalsParam;
+    }
+  }
+}
@@ -0,0 +1,151 @@
+package org.lab1.service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Журнал ещё не записанных в БД начислений за рекламу. Каждое начисление дописывается в текущий
+ * сегмент фиксированной записью (id приложения, сумма). При сбросе сегмент закрывается и
+ * удаляется только после успешного UPDATE, поэтому после падения процесса оставшиеся сегменты
+ * можно применить повторно. Имя сегмента служит ключом идемпотентности в ad_revenue_flush.
+ *
+ * <p>Записи пишутся по явной позиции сразу за последней целой записью, поэтому оборванная запись
+ * перезаписывается следующей, а при закрытии сегмент обрезается до границы записи.
+ */
+final class AdRevenueJournal {
+  private static final String SEGMENT_SUFFIX = ".journal";
+  private static final String SEGMENT_GLOB = "*" + SEGMENT_SUFFIX;
+  private static final int RECORD_BYTES = Integer.BYTES + Double.BYTES;
+
+  private final Path directory;
+  private Segment current;
+
+  AdRevenueJournal(final Path directoryParam) throws IOException {
+    this.directory = Files.createDirectories(directoryParam);
+  }
+
+  /**
+   * Возвращает сегменты, оставшиеся от предыдущего запуска, и открывает новый текущий сегмент.
+   *
+   * @return идентификаторы незавершённых сегментов
+   * @throws IOException если каталог журнала недоступен
+   */
+  List<String> open() throws IOException {
+    List<String> leftovers = new ArrayList<>();
+    try (DirectoryStream<Path> segments = Files.newDirectoryStream(directory, SEGMENT_GLOB)) {
+      for (Path segment : segments) {
+        String fileName = segment.getFileName().toString();
+        leftovers.add(fileName.substring(0, fileName.length() - SEGMENT_SUFFIX.length()));
+      }
+    }
+    current = Segment.create(directory);
+    return leftovers;
+  }
+
+  void append(final int monetizedApplicationId, final double amount) throws IOException {
+    ByteBuffer record = ByteBuffer.allocate(RECORD_BYTES);
+    record.putInt(monetizedApplicationId).putDouble(amount).flip();
+    current.append(record);
+  }
+
+  /**
+   * Закрывает текущий сегмент и начинает новый. Вызывающий должен исключить параллельные
+   * {@link #append}. Если закрыть текущий сегмент не удалось, он остаётся текущим, а новый
+   * удаляется, так что начисления остаются только в одном сегменте.
+   *
+   * @return идентификатор закрытого сегмента
+   * @throws IOException если не удалось создать новый сегмент или закрыть текущий
+   */
+  String rotate() throws IOException {
+    Segment next = Segment.create(directory);
+    try {
+      current.seal();
+    } catch (IOException ioException) {
+      next.discard(directory, ioException);
+      throw ioException;
+    }
+    Segment closed = current;
+    current = next;
+    return closed.id;
+  }
+
+  Map<Integer, Double> read(final String segmentId) throws IOException {
+    Map<Integer, Double> totals = new HashMap<>();
+    ByteBuffer records = ByteBuffer.wrap(Files.readAllBytes(path(directory, segmentId)));
+    while (records.remaining() >= RECORD_BYTES) {
+      totals.merge(records.getInt(), records.getDouble(), Double::sum);
+    }
+    return totals;
+  }
+
+  void delete(final String segmentId) throws IOException {
+    Files.deleteIfExists(path(directory, segmentId));
+  }
+
+  void close() throws IOException {
+    if (current != null) {
+      current.seal();
+      if (current.size == 0) {
+        delete(current.id);
+      }
+    }
+  }
+
+  private static Path path(final Path directory, final String segmentId) {
+    return directory.resolve(segmentId + SEGMENT_SUFFIX);
+  }
+
+  private static final class Segment {
+    private final String id;
+    private final FileChannel channel;
+    private long size;
+
+    private Segment(final String idParam, final FileChannel channelParam) {
+      this.id = idParam;
+      this.channel = channelParam;
+    }
+
+    private static Segment create(final Path directory) throws IOException {
+      String id = UUID.randomUUID().toString();
+      FileChannel channel =
+          FileChannel.open(
+              path(directory, id),
+              StandardOpenOption.CREATE_NEW,
+              StandardOpenOption.WRITE);
+      return new Segment(id, channel);
+    }
+
+    private void append(final ByteBuffer record) throws IOException {
+      long position = size;
+      while (record.hasRemaining()) {
+        position += channel.write(record, position);
+      }
+      size = position;
+    }
+
+    private void seal() throws IOException {
+      channel.truncate(size);
+      channel.force(false);
+      channel.close();
+    }
+
+    private void discard(final Path directory, final IOException cause) {
+      try {
+        channel.close();
+        Files.deleteIfExists(path(directory, id));
+      } catch (IOException ioException) {
+        cause.addSuppressed(ioException);
+      }
+    }
+  }
+}
@@ -0,0 +1,109 @@
+package org.lab1.service;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.lab.logger.Logger;
+import org.lab1.config.EnvConfig;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Реестр уже применённых пачек показов рекламы (таблица ad_view_batch). Идентификатор пачки
+ * занимается в той же транзакции, что и начисление дохода, поэтому повтор пачки после сбоя
+ * получает сохранённые результаты и не начисляется второй раз. Записи старше
+ * AD_VIEW_BATCH_RETENTION_HOURS удаляются фоновой очисткой.
+ */
+@Component
+public class AdViewBatchRegistry {
+  private static final String RETENTION_KEY = "AD_VIEW_BATCH_RETENTION_HOURS";
+  private static final String DEFAULT_RETENTION_HOURS = "24";
+  private static final long SWEEP_INTERVAL_MINUTES = 60;
+  private static final String SWEEPER_THREAD_NAME = "ad-view-batch-sweeper";
+  private static final String CLAIM_SQL =
+      "INSERT INTO ad_view_batch (user_id, batch_id, results) VALUES (?1, ?2, ?3) "
+          + "ON CONFLICT (user_id, batch_id) DO NOTHING";
+  private static final String FIND_SQL =
+      "SELECT results FROM ad_view_batch WHERE user_id = ? AND batch_id = ?";
+  private static final String DELETE_EXPIRED_SQL = "DELETE FROM ad_view_batch WHERE created_at < ?";
+  private static final String SWEEP_FAILED_LOG = "Ad view batch cleanup failed: {}";
+
+  @PersistenceContext private EntityManager entityManager;
+
+  private final JdbcTemplate jdbcTemplate;
+  private final Logger logger;
+  private final long retentionMillis;
+  private final ScheduledExecutorService sweeper =
+      Executors.newSingleThreadScheduledExecutor(
+          runnable -> {
+            Thread thread = new Thread(runnable, SWEEPER_THREAD_NAME);
+            thread.setDaemon(true);
+            return thread;
+          });
+
+  @Autowired
+  public AdViewBatchRegistry(
+      final JdbcTemplate jdbcTemplateParam,
+      @Qualifier("correlationLogger") final Logger loggerParam) {
+    this.jdbcTemplate = jdbcTemplateParam;
+    this.logger = loggerParam;
+    this.retentionMillis =
+        TimeUnit.HOURS.toMillis(
+            Long.parseLong(EnvConfig.get(RETENTION_KEY, DEFAULT_RETENTION_HOURS)));
+    sweeper.scheduleWithFixedDelay(
+        this::removeExpired, SWEEP_INTERVAL_MINUTES, SWEEP_INTERVAL_MINUTES, TimeUnit.MINUTES);
+  }
+
+  /**
+   * Возвращает сохранённые результаты пачки.
+   *
+   * @param userId идентификатор пользователя
+   * @param batchId клиентский идентификатор пачки
+   * @return результаты в JSON или null, если пачка ещё не применялась
+   */
+  public String find(final int userId, final String batchId) {
+    List<String> rows = jdbcTemplate.queryForList(FIND_SQL, String.class, userId, batchId);
+    return rows.isEmpty() ? null : rows.get(0);
+  }
+
+  /**
+   * Занимает идентификатор пачки в текущей транзакции. Параллельный повтор той же пачки ждёт
+   * фиксации первой транзакции и получает false.
+   *
+   * @param userId идентификатор пользователя
+   * @param batchId клиентский идентификатор пачки
+   * @param results результаты пачки в JSON
+   * @return true, если пачка применяется впервые
+   */
+  public boolean claim(final int userId, final String batchId, final String results) {
+    return entityManager
+            .createNativeQuery(CLAIM_SQL)
+            .setParameter(1, userId)
+            .setParameter(2, batchId)
+            .setParameter(3, results)
+            .executeUpdate()
+        == 1;
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    sweeper.shutdownNow();
+  }
+
+  private void removeExpired() {
+    try {
+      jdbcTemplate.update(
+          DELETE_EXPIRED_SQL, new Timestamp(System.currentTimeMillis() - retentionMillis));
+    } catch (DataAccessException dataAccessException) {
+      logger.error(SWEEP_FAILED_LOG, dataAccessException.getMessage());
+    }
+  }
+}
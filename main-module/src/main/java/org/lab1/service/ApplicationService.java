@@ -21,36 +21,36 @@ import org.springframework.stereotype.Service;
 @Service
 public class ApplicationService {
   private static final String FETCH_ALL_APPS_LOG = "Fetching all applications";
-  private static final String FOUND_APPS_LOG = "Found ";
-  private static final String APPLICATIONS_LOG = " applications";
-  private static final String SUBMIT_APP_LOG = "Submitting application for check: ";
-  private static final String SUBMIT_SUCCESS_LOG = "Application submitted successfully with ID: ";
-  private static final String SUBMIT_ERROR_LOG = "Failed to submit application: ";
-  private static final String CHECK_STATUS_LOG = "Checking status for application ID: ";
-  private static final String FOUND_STATUS_LOG = "Found status for application ID: ";
+  private static final String FOUND_APPS_LOG = "Found {} applications";
+  private static final String SUBMIT_APP_LOG = "Submitting application for check: {}";
+  private static final String SUBMIT_SUCCESS_LOG = "Application submitted successfully with ID: {}";
+  private static final String SUBMIT_ERROR_LOG = "Failed to submit application: {}";
+  private static final String CHECK_STATUS_LOG = "Checking status for application ID: {}";
+  private static final String FOUND_STATUS_LOG = "Found status for application ID: {} - {}";
   private static final String STATUS_NOT_FOUND_LOG =
-      "Application not found for status check with ID: ";
-  private static final String FETCH_APP_LOG = "Fetching application with ID: ";
-  private static final String FOUND_APP_LOG = "Found application with ID: ";
-  private static final String APP_NOT_FOUND_LOG = "Application not found with ID: ";
-  private static final String FETCH_BY_DEV_LOG = "Fetching applications for developer ID: ";
-  private static final String FOUND_FOR_DEV_LOG = "Found ";
-  private static final String APPS_FOR_DEV_LOG = " applications for developer ID: ";
-  private static final String CREATE_APP_LOG = "Creating new application for developer ID: ";
-  private static final String DEV_NOT_FOUND_LOG = "Developer not found with ID: ";
+      "Application not found for status check with ID: {}";
+  private static final String FETCH_APP_LOG = "Fetching application with ID: {}";
+  private static final String FOUND_APP_LOG = "Found application with ID: {}";
+  private static final String APP_NOT_FOUND_LOG = "Application not found with ID: {}";
+  private static final String FETCH_BY_DEV_LOG = "Fetching applications for developer ID: {}";
+  private static final String FOUND_FOR_DEV_LOG = "Found {} applications for developer ID: {}";
+  private static final String CREATE_APP_LOG = "Creating new application for developer ID: {}";
+  private static final String DEV_NOT_FOUND_LOG = "Developer not found with ID: {}";
   private static final String DEV_NOT_FOUND_MSG = "Developer not found";
-  private static final String CREATED_APP_LOG = "Created application with ID: ";
-  private static final String CREATE_ERROR_LOG = "Failed to create application: ";
-  private static final String LOOKUP_APP_LOG = "Looking up application with ID: ";
+  private static final String CREATED_APP_LOG = "Created application with ID: {}";
+  private static final String CREATE_ERROR_LOG = "Failed to create application: {}";
+  private static final String LOOKUP_APP_LOG = "Looking up application with ID: {}";
   private static final String APP_NOT_FOUND_MSG = "Application not found";
-  private static final String UPDATE_APP_LOG = "Updating application with ID: ";
-  private static final String UPDATE_SUCCESS_LOG = "Successfully updated application with ID: ";
-  private static final String UPDATE_ERROR_LOG = "Failed to update application with ID: ";
-  private static final String DELETE_APP_LOG = "Attempting to delete application with ID: ";
-  private static final String DELETE_SUCCESS_LOG = "Successfully deleted application with ID: ";
-  private static final String DELETE_NOT_FOUND_LOG = "Application not found for deletion with ID: ";
-  private static final String DELETE_ERROR_LOG = "Failed to delete application with ID: ";
-  private static final String ERROR_LOG = ". Error: ";
+  private static final String UPDATE_APP_LOG = "Updating application with ID: {}";
+  private static final String UPDATE_SUCCESS_LOG = "Successfully updated application with ID: {}";
+  private static final String UPDATE_ERROR_LOG =
+      "Failed to update application with ID: {}. Error: {}";
+  private static final String DELETE_APP_LOG = "Attempting to delete application with ID: {}";
+  private static final String DELETE_SUCCESS_LOG = "Successfully deleted application with ID: {}";
+  private static final String DELETE_NOT_FOUND_LOG =
+      "Application not found for deletion with ID: {}";
+  private static final String DELETE_ERROR_LOG =
+      "Failed to delete application with ID: {}. Error: {}";
 
   private final ApplicationRepository applicationRepository;
   private final DeveloperRepository developerRepository;
@@ -72,26 +72,26 @@ public class ApplicationService {
   public final List<Application> getAllApplications() {
     logger.info(FETCH_ALL_APPS_LOG);
     List<Application> applications = applicationRepository.findAll();
-    logger.info(FOUND_APPS_LOG + applications.size() + APPLICATIONS_LOG);
+    logger.info(FOUND_APPS_LOG, applications.size());
     return applications;
   }
 
   public final List<ApplicationJson> getAllApplicationsAsJson() {
     logger.info(FETCH_ALL_APPS_LOG);
     List<Application> applications = applicationRepository.findAll();
-    logger.info(FOUND_APPS_LOG + applications.size() + APPLICATIONS_LOG);
+    logger.info(FOUND_APPS_LOG, applications.size());
     return applications.stream().map(applicationMapper::toDto).toList();
   }
 
   public final ResponseEntity<Application> submitApplicationForCheck(
       final Application application) {
-    logger.info(SUBMIT_APP_LOG + application.getName());
+    logger.info(SUBMIT_APP_LOG, application.getName());
     try {
       Application savedApplication = applicationRepository.save(application);
-      logger.info(SUBMIT_SUCCESS_LOG + savedApplication.getId());
+      logger.info(SUBMIT_SUCCESS_LOG, savedApplication.getId());
       return ResponseEntity.ok(savedApplication);
     } catch (Exception exception) {
-      logger.error(SUBMIT_ERROR_LOG + exception.getMessage());
+      logger.error(SUBMIT_ERROR_LOG, exception.getMessage());
       throw new ConflictException(
           "Failed to submit application: " + exception.getMessage(), exception);
     }
@@ -99,14 +99,14 @@ public class ApplicationService {
 
   public final ResponseEntity<ApplicationJson> submitApplicationForCheckFromJson(
       final ApplicationJson applicationJson) {
-    logger.info(SUBMIT_APP_LOG + applicationJson.getName());
+    logger.info(SUBMIT_APP_LOG, applicationJson.getName());
     try {
       Application application = applicationMapper.toEntity(applicationJson);
       Application savedApplication = applicationRepository.save(application);
-      logger.info(SUBMIT_SUCCESS_LOG + savedApplication.getId());
+      logger.info(SUBMIT_SUCCESS_LOG, savedApplication.getId());
       return ResponseEntity.ok(applicationMapper.toDto(savedApplication));
     } catch (Exception exception) {
-      logger.error(SUBMIT_ERROR_LOG + exception.getMessage());
+      logger.error(SUBMIT_ERROR_LOG, exception.getMessage());
       throw new ConflictException(
           "Failed to submit application: " + exception.getMessage(), exception);
     }
@@ -114,67 +114,67 @@ public class ApplicationService {
 
   public final ResponseEntity<ApplicationStatus> getApplicationCheckStatus(
       final int applicationId) {
-    logger.info(CHECK_STATUS_LOG + applicationId);
+    logger.info(CHECK_STATUS_LOG, applicationId);
     Optional<Application> application = applicationRepository.findById(applicationId);
 
     if (application.isPresent()) {
-      logger.info(FOUND_STATUS_LOG + applicationId + " - " + application.get().getStatus());
+      logger.info(FOUND_STATUS_LOG, applicationId, application.get().getStatus());
       return ResponseEntity.ok(application.get().getStatus());
     }
 
-    logger.error(STATUS_NOT_FOUND_LOG + applicationId);
+    logger.error(STATUS_NOT_FOUND_LOG, applicationId);
     throw new NotFoundException("Application not found with ID: " + applicationId);
   }
 
   public final ResponseEntity<Application> getApplication(final int applicationId) {
-    logger.info(FETCH_APP_LOG + applicationId);
+    logger.info(FETCH_APP_LOG, applicationId);
     Optional<Application> application = applicationRepository.findById(applicationId);
 
     if (application.isPresent()) {
-      logger.info(FOUND_APP_LOG + applicationId);
+      logger.info(FOUND_APP_LOG, applicationId);
       return ResponseEntity.ok(application.get());
     }
 
-    logger.error(APP_NOT_FOUND_LOG + applicationId);
+    logger.error(APP_NOT_FOUND_LOG, applicationId);
     throw new NotFoundException("Application not found with ID: " + applicationId);
   }
 
   public final ResponseEntity<ApplicationJson> getApplicationAsJson(final int applicationId) {
-    logger.info(FETCH_APP_LOG + applicationId);
+    logger.info(FETCH_APP_LOG, applicationId);
     Optional<Application> application = applicationRepository.findById(applicationId);
 
     if (application.isPresent()) {
-      logger.info(FOUND_APP_LOG + applicationId);
+      logger.info(FOUND_APP_LOG, applicationId);
       return ResponseEntity.ok(applicationMapper.toDto(application.get()));
     }
 
-    logger.error(APP_NOT_FOUND_LOG + applicationId);
+    logger.error(APP_NOT_FOUND_LOG, applicationId);
     throw new NotFoundException("Application not found with ID: " + applicationId);
   }
 
   public final List<Application> getApplicationsByDeveloperId(final int developerId) {
-    logger.info(FETCH_BY_DEV_LOG + developerId);
+    logger.info(FETCH_BY_DEV_LOG, developerId);
     List<Application> applications = applicationRepository.findByDeveloperId(developerId);
-    logger.info(FOUND_FOR_DEV_LOG + applications.size() + APPS_FOR_DEV_LOG + developerId);
+    logger.info(FOUND_FOR_DEV_LOG, applications.size(), developerId);
     return applications;
   }
 
   public final List<ApplicationJson> getApplicationsByDeveloperIdAsJson(final int developerId) {
-    logger.info(FETCH_BY_DEV_LOG + developerId);
+    logger.info(FETCH_BY_DEV_LOG, developerId);
     List<Application> applications = applicationRepository.findByDeveloperId(developerId);
-    logger.info(FOUND_FOR_DEV_LOG + applications.size() + APPS_FOR_DEV_LOG + developerId);
+    logger.info(FOUND_FOR_DEV_LOG, applications.size(), developerId);
     return applications.stream().map(applicationMapper::toDto).toList();
   }
 
   public final Application createApplication(final ApplicationJson applicationJson) {
-    logger.info(CREATE_APP_LOG + applicationJson.getDeveloperId());
+    logger.info(CREATE_APP_LOG, applicationJson.getDeveloperId());
 
     Developer developer =
         developerRepository
             .findById(applicationJson.getDeveloperId())
             .orElseThrow(
                 () -> {
-                  logger.error(DEV_NOT_FOUND_LOG + applicationJson.getDeveloperId());
+                  logger.error(DEV_NOT_FOUND_LOG, applicationJson.getDeveloperId());
                   return new NotFoundException(
                       "Developer not found with ID: " + applicationJson.getDeveloperId());
                 });
@@ -184,10 +184,10 @@ public class ApplicationService {
 
     try {
       Application savedApplication = applicationRepository.save(application);
-      logger.info(CREATED_APP_LOG + savedApplication.getId());
+      logger.info(CREATED_APP_LOG, savedApplication.getId());
       return savedApplication;
     } catch (Exception exception) {
-      logger.error(CREATE_ERROR_LOG + exception.getMessage());
+      logger.error(CREATE_ERROR_LOG, exception.getMessage());
       throw new ConflictException(
           "Failed to create application: " + exception.getMessage(), exception);
     }
@@ -200,13 +200,13 @@ public class ApplicationService {
   }
 
   public final Optional<Application> getApplicationById(final int id) {
-    logger.info(LOOKUP_APP_LOG + id);
+    logger.info(LOOKUP_APP_LOG, id);
     Optional<Application> application = applicationRepository.findById(id);
 
     if (application.isPresent()) {
-      logger.info(FOUND_APP_LOG + id);
+      logger.info(FOUND_APP_LOG, id);
     } else {
-      logger.error(APP_NOT_FOUND_LOG + id);
+      logger.error(APP_NOT_FOUND_LOG, id);
     }
 
     return application;
@@ -231,13 +231,13 @@ public class ApplicationService {
       final double price,
       final String description,
       final ApplicationStatus status) {
-    logger.info(UPDATE_APP_LOG + id);
+    logger.info(UPDATE_APP_LOG, id);
     Application application =
         applicationRepository
             .findById(id)
             .orElseThrow(
                 () -> {
-                  logger.error(APP_NOT_FOUND_LOG + id);
+                  logger.error(APP_NOT_FOUND_LOG, id);
                   return new NotFoundException("Application not found with ID: " + id);
                 });
 
@@ -250,24 +250,24 @@ public class ApplicationService {
 
     try {
       Application updatedApplication = applicationRepository.save(application);
-      logger.info(UPDATE_SUCCESS_LOG + id);
+      logger.info(UPDATE_SUCCESS_LOG, id);
       return updatedApplication;
     } catch (Exception exception) {
-      logger.error(UPDATE_ERROR_LOG + id + ERROR_LOG + exception.getMessage());
+      logger.error(UPDATE_ERROR_LOG, id, exception.getMessage());
       throw new ConflictException("Failed to update application with ID: " + id, exception);
     }
   }
 
   public final ApplicationJson updateApplicationFromJson(
       final int id, final ApplicationJson applicationJson) {
-    logger.info(UPDATE_APP_LOG + id);
+    logger.info(UPDATE_APP_LOG, id);
 
     Application application =
         applicationRepository
             .findById(id)
             .orElseThrow(
                 () -> {
-                  logger.error(APP_NOT_FOUND_LOG + id);
+                  logger.error(APP_NOT_FOUND_LOG, id);
                   return new NotFoundException("Application not found with ID: " + id);
                 });
 
@@ -277,7 +277,7 @@ public class ApplicationService {
               .findById(applicationJson.getDeveloperId())
               .orElseThrow(
                   () -> {
-                    logger.error(DEV_NOT_FOUND_LOG + applicationJson.getDeveloperId());
+                    logger.error(DEV_NOT_FOUND_LOG, applicationJson.getDeveloperId());
                     return new NotFoundException(
                         "Developer not found with ID: " + applicationJson.getDeveloperId());
                   });
@@ -288,28 +288,28 @@ public class ApplicationService {
 
     try {
       Application updatedApplication = applicationRepository.save(application);
-      logger.info(UPDATE_SUCCESS_LOG + id);
+      logger.info(UPDATE_SUCCESS_LOG, id);
       return applicationMapper.toDto(updatedApplication);
     } catch (Exception exception) {
-      logger.error(UPDATE_ERROR_LOG + id + ERROR_LOG + exception.getMessage());
+      logger.error(UPDATE_ERROR_LOG, id, exception.getMessage());
       throw new ConflictException("Failed to update application with ID: " + id, exception);
     }
   }
 
   public final void deleteApplication(final int id) {
-    logger.info(DELETE_APP_LOG + id);
+    logger.info(DELETE_APP_LOG, id);
     try {
       if (applicationRepository.existsById(id)) {
         applicationRepository.deleteById(id);
-        logger.info(DELETE_SUCCESS_LOG + id);
+        logger.info(DELETE_SUCCESS_LOG, id);
       } else {
-        logger.error(DELETE_NOT_FOUND_LOG + id);
+        logger.error(DELETE_NOT_FOUND_LOG, id);
         throw new NotFoundException("Application not found with ID: " + id);
       }
     } catch (NotFoundException notFoundException) {
       throw notFoundException;
     } catch (Exception exception) {
-      logger.error(DELETE_ERROR_LOG + id + ERROR_LOG + exception.getMessage());
+      logger.error(DELETE_ERROR_LOG, id, exception.getMessage());
       throw new ConflictException("Failed to delete application with ID: " + id, exception);
     }
   }
@@ -0,0 +1,125 @@
+package org.lab1.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.lab1.config.EnvConfig;
+import org.lab1.model.GoogleAuthData;
+import org.lab1.repository.GoogleAuthDataRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Кэш GoogleAuthData по пользователю. Запись обновляется при каждом сохранении и удалении через
+ * сервисы OAuth, а TTL ограничивает расхождение с изменениями, сделанными другими экземплярами.
+ * Отсутствие подключения тоже кэшируется, чтобы повторные проверки не ходили в базу.
+ *
+ * <p>Загруженные из базы данные устанавливаются, только если запись не менялась с начала загрузки
+ * (сравнение по ссылке через putIfAbsent/replace). Сброс оставляет пустую отметку вместо удаления,
+ * поэтому загрузка, начатая до сброса или сохранения, не вернёт в кэш устаревшие данные.
+ */
+@Component
+public class GoogleAuthDataCache {
+  private static final String TTL_KEY = "GOOGLE_AUTH_CACHE_TTL_SECONDS";
+  private static final String DEFAULT_TTL_SECONDS = "300";
+
+  private final GoogleAuthDataRepository googleAuthDataRepository;
+  private final Map<Integer, Entry> entries = new ConcurrentHashMap<>();
+  private final long ttlMillis;
+
+  @Autowired
+  public GoogleAuthDataCache(final GoogleAuthDataRepository googleAuthDataRepositoryParam) {
+    this.googleAuthDataRepository = googleAuthDataRepositoryParam;
+    this.ttlMillis =
+        TimeUnit.SECONDS.toMillis(Long.parseLong(EnvConfig.get(TTL_KEY, DEFAULT_TTL_SECONDS)));
+  }
+
+  /**
+   * Возвращает данные авторизации пользователя, загружая их из базы при промахе.
+   *
+   * @param userId идентификатор пользователя
+   * @return данные авторизации или пустой Optional, если Google не подключён
+   */
+  public Optional<GoogleAuthData> find(final int userId) {
+    while (true) {
+      long now = System.currentTimeMillis();
+      Entry observed = entries.get(userId);
+      if (observed != null && observed.loaded && observed.loadedAtMillis + ttlMillis > now) {
+        return Optional.ofNullable(observed.authData);
+      }
+      GoogleAuthData authData = googleAuthDataRepository.findByUserId(userId).orElse(null);
+      Entry loaded = new Entry(authData, now, true);
+      boolean installed =
+          observed == null
+              ? entries.putIfAbsent(userId, loaded) == null
+              : entries.replace(userId, observed, loaded);
+      if (installed) {
+        return Optional.ofNullable(authData);
+      }
+    }
+  }
+
+  /**
+   * Обновляет запись после сохранения в базу.
+   *
+   * @param authData сохранённые данные авторизации
+   */
+  public void put(final GoogleAuthData authData) {
+    entries.put(authData.getUserId(), new Entry(authData, System.currentTimeMillis(), true));
+  }
+
+  /**
+   * Сбрасывает запись после изменения в базе. Вместо удаления ставится отметка, которая
+   * отклоняет установку результатов уже идущих загрузок.
+   *
+   * @param userId идентификатор пользователя
+   */
+  public void invalidate(final int userId) {
+    entries.put(userId, new Entry(null, System.currentTimeMillis(), false));
+  }
+
+  /**
+   * Возвращает закэшированные подключения, срок действия токена которых истекает раньше
+   * указанного момента.
+   *
+   * @param deadlineMillis граница срока действия в миллисекундах
+   * @return идентификаторы пользователей
+   */
+  public List<Integer> findExpiringBefore(final long deadlineMillis) {
+    long now = System.currentTimeMillis();
+    List<Integer> userIds = new ArrayList<>();
+    entries.forEach(
+        (userId, entry) -> {
+          if (entry.loadedAtMillis + ttlMillis <= now) {
+            entries.remove(userId, entry);
+            return;
+          }
+          GoogleAuthData authData = entry.authData;
+          if (authData != null
+              && authData.getRefreshToken() != null
+              && authData.getExpiryDate() != null
+              && authData.getExpiryDate().toEpochMilli() < deadlineMillis) {
+            userIds.add(userId);
+          }
+        });
+    return userIds;
+  }
+
+  private static final class Entry {
+    private final GoogleAuthData authData;
+    private final long loadedAtMillis;
+    private final boolean loaded;
+
+    private Entry(
+        final GoogleAuthData authDataParam,
+        final long loadedAtMillisParam,
+        final boolean loadedParam) {
+      this.authData = authDataParam;
+      this.loadedAtMillis = loadedAtMillisParam;
+      this.loaded = loadedParam;
+    }
+  }
+}
@@ -5,6 +5,9 @@ import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
 import java.time.Instant;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 import org.lab1.config.EnvConfig;
 import org.lab1.exception.OAuthException;
 import org.lab1.json.GoogleTokenResponse;
@@ -72,6 +75,9 @@ public class GoogleOAuthQueryService {
   private final RestTemplate restTemplate;
   private final OAuthStateService googleStateService;
   private final GoogleAuthDataRepository googleAuthDataRepository;
+  private final GoogleAuthDataCache googleAuthDataCache;
+  private final Map<Integer, CompletableFuture<Void>> refreshesInFlight =
+      new ConcurrentHashMap<>();
   private final MeterRegistry meterRegistry;
   private final Counter googleAuthSuccessCounter;
   private final Counter googleAuthFailCounter;
@@ -82,10 +88,12 @@ public class GoogleOAuthQueryService {
       final RestTemplate restTemplateParam,
       final OAuthStateService googleStateServiceParam,
       final GoogleAuthDataRepository googleAuthDataRepositoryParam,
+      final GoogleAuthDataCache googleAuthDataCacheParam,
       final MeterRegistry meterRegistryParam) {
     this.restTemplate = restTemplateParam;
     this.googleStateService = googleStateServiceParam;
     this.googleAuthDataRepository = googleAuthDataRepositoryParam;
+    this.googleAuthDataCache = googleAuthDataCacheParam;
     this.meterRegistry = meterRegistryParam;
     this.googleAuthSuccessCounter =
         Counter.builder(GOOGLE_AUTH_METRIC)
@@ -155,8 +163,8 @@ public class GoogleOAuthQueryService {
   public final boolean isGoogleConnected(final int userId) throws OAuthException {
     try {
       GoogleAuthData authData =
-          googleAuthDataRepository
-              .findByUserId(userId)
+          googleAuthDataCache
+              .find(userId)
               .orElseThrow(() -> new OAuthException(ACCOUNT_NOT_CONNECTED_ERROR));
 
       if (Instant.now().isBefore(authData.getExpiryDate())) {
@@ -168,6 +176,7 @@ public class GoogleOAuthQueryService {
       }
 
       googleAuthDataRepository.delete(authData);
+      googleAuthDataCache.invalidate(userId);
       return false;
 
     } catch (DataAccessException dataAccessException) {
@@ -175,7 +184,44 @@ public class GoogleOAuthQueryService {
     }
   }
 
+  /**
+   * Обновляет access token пользователя. Одновременные вызовы для одного пользователя выполняют
+   * один запрос к Google: первый вызов обновляет токен, остальные дожидаются его результата.
+   *
+   * @param userId идентификатор пользователя
+   * @throws OAuthException если обновить токен не удалось
+   */
   public final void refreshAccessToken(final int userId) throws OAuthException {
+    CompletableFuture<Void> flight = new CompletableFuture<>();
+    CompletableFuture<Void> existing = refreshesInFlight.putIfAbsent(userId, flight);
+    if (existing != null) {
+      awaitRefresh(existing);
+      return;
+    }
+
+    try {
+      doRefreshAccessToken(userId);
+      flight.complete(null);
+    } catch (RuntimeException exception) {
+      flight.completeExceptionally(exception);
+      throw exception;
+    } finally {
+      refreshesInFlight.remove(userId, flight);
+    }
+  }
+
+  private void awaitRefresh(final CompletableFuture<Void> flight) throws OAuthException {
+    try {
+      flight.join();
+    } catch (CompletionException completionException) {
+      if (completionException.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw completionException;
+    }
+  }
+
+  private void doRefreshAccessToken(final int userId) throws OAuthException {
     try {
       GoogleAuthData authData =
           googleAuthDataRepository
@@ -214,11 +260,12 @@ public class GoogleOAuthQueryService {
       authData.setTokenType(tokenResponse.getTokenType());
       authData.setScope(tokenResponse.getScope());
 
-      googleAuthDataRepository.save(authData);
+      googleAuthDataCache.put(googleAuthDataRepository.save(authData));
 
     } catch (HttpClientErrorException httpClientException) {
       if (httpClientException.getStatusCode() == HttpStatus.BAD_REQUEST) {
         googleAuthDataRepository.deleteByUserId(userId);
+        googleAuthDataCache.invalidate(userId);
       }
       throw new OAuthException(GOOGLE_API_ERROR + httpClientException.getResponseBodyAsString());
 
@@ -232,8 +279,8 @@ public class GoogleOAuthQueryService {
 
   public final String getUserGoogleEmail(final int userId) throws OAuthException {
     GoogleAuthData authData =
-        googleAuthDataRepository
-            .findByUserId(userId)
+        googleAuthDataCache
+            .find(userId)
             .orElseThrow(() -> new OAuthException(ACCOUNT_NOT_CONNECTED_ERROR));
     return authData.getUserEmail();
   }
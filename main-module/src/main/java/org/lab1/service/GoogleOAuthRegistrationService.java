@@ -53,6 +53,7 @@ public class GoogleOAuthRegistrationService {
   private final RestTemplate restTemplate;
   private final OAuthStateService googleStateService;
   private final GoogleAuthDataRepository googleAuthDataRepository;
+  private final GoogleAuthDataCache googleAuthDataCache;
   private final MeterRegistry meterRegistry;
   private final Counter googleAuthSuccessCounter;
   private final Counter googleAuthFailCounter;
@@ -63,10 +64,12 @@ public class GoogleOAuthRegistrationService {
       final RestTemplate restTemplateParam,
       final OAuthStateService googleStateServiceParam,
       final GoogleAuthDataRepository googleAuthDataRepositoryParam,
+      final GoogleAuthDataCache googleAuthDataCacheParam,
       final MeterRegistry meterRegistryParam) {
     this.restTemplate = restTemplateParam;
     this.googleStateService = googleStateServiceParam;
     this.googleAuthDataRepository = googleAuthDataRepositoryParam;
+    this.googleAuthDataCache = googleAuthDataCacheParam;
     this.meterRegistry = meterRegistryParam;
     this.googleAuthSuccessCounter =
         Counter.builder(GOOGLE_AUTH_METRIC)
@@ -200,7 +203,7 @@ public class GoogleOAuthRegistrationService {
       authData.setTokenType(tokenResponse.getTokenType());
       authData.setScope(tokenResponse.getScope());
 
-      googleAuthDataRepository.save(authData);
+      googleAuthDataCache.put(googleAuthDataRepository.save(authData));
 
     } catch (DataAccessException dataAccessException) {
       throw new OAuthException(DB_SAVE_ERROR + dataAccessException.getMessage());
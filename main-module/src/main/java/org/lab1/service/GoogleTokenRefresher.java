@@ -0,0 +1,77 @@
+package org.lab1.service;
+
+import jakarta.annotation.PreDestroy;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.lab.logger.Logger;
+import org.lab1.config.EnvConfig;
+import org.lab1.exception.OAuthException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+/**
+ * Фоновое обновление Google access token незадолго до истечения. Обходит только пользователей из
+ * {@link GoogleAuthDataCache}, то есть недавно активных; повторные обновления одного пользователя
+ * отсекаются single-flight логикой {@link GoogleOAuthQueryService#refreshAccessToken}.
+ */
+@Component
+public class GoogleTokenRefresher {
+  private static final String REFRESH_AHEAD_KEY = "GOOGLE_TOKEN_REFRESH_AHEAD_SECONDS";
+  private static final String DEFAULT_REFRESH_AHEAD_SECONDS = "300";
+  private static final long CHECK_INTERVAL_SECONDS = 60;
+  private static final String REFRESHER_THREAD_NAME = "google-token-refresher";
+  private static final String REFRESHED_LOG = "Proactively refreshed Google token for user ID: {}";
+  private static final String REFRESH_FAILED_LOG =
+      "Proactive Google token refresh failed for user ID: {}. Reason: {}";
+
+  private final GoogleAuthDataCache googleAuthDataCache;
+  private final GoogleOAuthQueryService googleOAuthQueryService;
+  private final Logger logger;
+  private final long refreshAheadMillis;
+  private final ScheduledExecutorService scheduler =
+      Executors.newSingleThreadScheduledExecutor(
+          runnable -> {
+            Thread thread = new Thread(runnable, REFRESHER_THREAD_NAME);
+            thread.setDaemon(true);
+            return thread;
+          });
+
+  @Autowired
+  public GoogleTokenRefresher(
+      final GoogleAuthDataCache googleAuthDataCacheParam,
+      final GoogleOAuthQueryService googleOAuthQueryServiceParam,
+      @Qualifier("correlationLogger") final Logger loggerParam) {
+    this.googleAuthDataCache = googleAuthDataCacheParam;
+    this.googleOAuthQueryService = googleOAuthQueryServiceParam;
+    this.logger = loggerParam;
+    this.refreshAheadMillis =
+        TimeUnit.SECONDS.toMillis(
+            Long.parseLong(EnvConfig.get(REFRESH_AHEAD_KEY, DEFAULT_REFRESH_AHEAD_SECONDS)));
+    scheduler.scheduleWithFixedDelay(
+        this::refreshExpiringTokens,
+        CHECK_INTERVAL_SECONDS,
+        CHECK_INTERVAL_SECONDS,
+        TimeUnit.SECONDS);
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    scheduler.shutdownNow();
+  }
+
+  private void refreshExpiringTokens() {
+    long deadline = System.currentTimeMillis() + refreshAheadMillis;
+    for (Integer userId : googleAuthDataCache.findExpiringBefore(deadline)) {
+      try {
+        googleOAuthQueryService.refreshAccessToken(userId);
+        logger.debug(REFRESHED_LOG, userId);
+      } catch (OAuthException oAuthException) {
+        logger.warn(REFRESH_FAILED_LOG, userId, oAuthException.getMessage());
+      } catch (RuntimeException exception) {
+        logger.error(REFRESH_FAILED_LOG, userId, exception.getMessage());
+      }
+    }
+  }
+}
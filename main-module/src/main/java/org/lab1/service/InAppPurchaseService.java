@@ -22,37 +22,39 @@ import org.springframework.transaction.support.DefaultTransactionDefinition;
 
 @Service
 public class InAppPurchaseService {
-  private static final String CREATE_REQUEST_LOG = "Creating InAppPurchases. Titles count: ";
-  private static final String DESCRIPTIONS_COUNT_LOG = ", Descriptions count: ";
-  private static final String PRICES_COUNT_LOG = ", Prices count: ";
+  private static final String CREATE_REQUEST_LOG =
+      "Creating InAppPurchases. Titles count: {}, Descriptions count: {}, Prices count: {}";
   private static final String SAME_COUNT_ERROR =
       "The number of titles, prices, and descriptions must be the same.";
-  private static final String CREATED_PURCHASE_LOG = "Created InAppPurchase: ";
-  private static final String WITH_ID_LOG = " with ID: ";
-  private static final String TRANSACTION_COMMITTED_LOG = "Transaction committed. Created ";
-  private static final String IN_APP_PURCHASES_LOG = " InAppPurchases.";
-  private static final String CREATION_ERROR_LOG = "Error during InAppPurchases creation. Reason: ";
+  private static final String CREATED_PURCHASE_LOG = "Created InAppPurchase: {} with ID: {}";
+  private static final String TRANSACTION_COMMITTED_LOG =
+      "Transaction committed. Created {} InAppPurchases.";
+  private static final String CREATION_ERROR_LOG =
+      "Error during InAppPurchases creation. Reason: {}";
+  private static final String CREATE_FROM_JSON_LOG = "Creating InAppPurchases from JSON. Count: {}";
   private static final String FETCH_ALL_LOG = "Fetching all InAppPurchases.";
-  private static final String FOUND_ALL_LOG = "Found ";
-  private static final String FETCH_BY_ID_LOG = "Fetching InAppPurchase by ID: ";
-  private static final String FOUND_BY_ID_LOG = "InAppPurchase found with ID: ";
-  private static final String TITLE_LOG = ", title: ";
-  private static final String NOT_FOUND_BY_ID_LOG = "InAppPurchase not found with ID: ";
+  private static final String FOUND_ALL_LOG = "Found {} InAppPurchases.";
+  private static final String FETCH_BY_ID_LOG = "Fetching InAppPurchase by ID: {}";
+  private static final String FOUND_BY_ID_LOG = "InAppPurchase found with ID: {}, title: {}";
+  private static final String NOT_FOUND_BY_ID_LOG = "InAppPurchase not found with ID: {}";
   private static final String LINK_REQUEST_LOG =
-      "Linking InAppPurchases to MonetizedApplication ID: ";
+      "Linking InAppPurchases to MonetizedApplication ID: {}";
   private static final String MONETIZED_APP_NOT_FOUND_LOG =
-      "Monetized application not found with ID: ";
+      "Monetized application not found with ID: {}";
   private static final String MONETIZED_APP_NOT_FOUND_MSG = "Monetized application not found";
   private static final String CREATE_SINGLE_LOG = "Creating single InAppPurchase";
-  private static final String UPDATE_LOG = "Updating InAppPurchase ID: ";
-  private static final String DELETE_LOG = "Deleting InAppPurchase ID: ";
-  private static final String FOUND_NULL_PURCHASES_LOG = "Found ";
-  private static final String NULL_PURCHASES_LOG =
-      " InAppPurchases with null MonetizedApplication.";
-  private static final String LINKED_PURCHASE_LOG = "Linked InAppPurchase ID: ";
-  private static final String TO_APP_ID_LOG = " to MonetizedApplication ID: ";
-  private static final String LINK_SUCCESS_LOG = "Successfully linked ";
-  private static final String PURCHASES_TO_APP_LOG = " InAppPurchases to MonetizedApplication ID: ";
+  private static final String CREATED_SINGLE_LOG = "Created single purchase with ID: {}";
+  private static final String UPDATE_LOG = "Updating InAppPurchase ID: {}";
+  private static final String UPDATED_LOG = "Updated purchase ID: {}";
+  private static final String DELETE_LOG = "Deleting InAppPurchase ID: {}";
+  private static final String DELETED_LOG = "Deleted purchase ID: {}";
+  private static final String FETCH_BY_APP_LOG = "Getting purchases for monetized app ID: {}";
+  private static final String FOUND_NULL_PURCHASES_LOG =
+      "Found {} InAppPurchases with null MonetizedApplication.";
+  private static final String LINKED_PURCHASE_LOG =
+      "Linked InAppPurchase ID: {} to MonetizedApplication ID: {}";
+  private static final String LINK_SUCCESS_LOG =
+      "Successfully linked {} InAppPurchases to MonetizedApplication ID: {}";
 
   private final InAppPurchaseRepository inAppPurchaseRepository;
   private final MonetizedApplicationRepository monetizedApplicationRepository;
@@ -80,13 +82,7 @@ public class InAppPurchaseService {
     int descriptionsCount = descriptions != null ? descriptions.size() : 0;
     int pricesCount = prices != null ? prices.size() : 0;
 
-    logger.info(
-        CREATE_REQUEST_LOG
-            + titlesCount
-            + DESCRIPTIONS_COUNT_LOG
-            + descriptionsCount
-            + PRICES_COUNT_LOG
-            + pricesCount);
+    logger.info(CREATE_REQUEST_LOG, titlesCount, descriptionsCount, pricesCount);
 
     TransactionDefinition definition = new DefaultTransactionDefinition();
     TransactionStatus status = transactionManager.getTransaction(definition);
@@ -111,15 +107,15 @@ public class InAppPurchaseService {
         purchase.setMonetizedApplication(null);
         inAppPurchaseRepository.save(purchase);
         purchases.add(purchase);
-        logger.info(CREATED_PURCHASE_LOG + purchase.getTitle() + WITH_ID_LOG + purchase.getId());
+        logger.info(CREATED_PURCHASE_LOG, purchase.getTitle(), purchase.getId());
       }
 
       transactionManager.commit(status);
-      logger.info(TRANSACTION_COMMITTED_LOG + purchases.size() + IN_APP_PURCHASES_LOG);
+      logger.info(TRANSACTION_COMMITTED_LOG, purchases.size());
 
     } catch (Exception exception) {
       transactionManager.rollback(status);
-      logger.error(CREATION_ERROR_LOG + exception.getMessage());
+      logger.error(CREATION_ERROR_LOG, exception.getMessage());
       throw exception;
     }
 
@@ -128,7 +124,7 @@ public class InAppPurchaseService {
 
   public final List<InAppPurchaseJson> createInAppPurchasesFromJson(
       final List<InAppPurchaseJson> purchaseJsons) {
-    logger.info("Creating InAppPurchases from JSON. Count: " + purchaseJsons.size());
+    logger.info(CREATE_FROM_JSON_LOG, purchaseJsons.size());
 
     TransactionDefinition definition = new DefaultTransactionDefinition();
     TransactionStatus status = transactionManager.getTransaction(definition);
@@ -139,17 +135,17 @@ public class InAppPurchaseService {
         InAppPurchase purchase = inAppPurchaseMapper.toEntity(purchaseJson);
         inAppPurchaseRepository.save(purchase);
         purchases.add(purchase);
-        logger.info(CREATED_PURCHASE_LOG + purchase.getTitle() + WITH_ID_LOG + purchase.getId());
+        logger.info(CREATED_PURCHASE_LOG, purchase.getTitle(), purchase.getId());
       }
 
       transactionManager.commit(status);
-      logger.info(TRANSACTION_COMMITTED_LOG + purchases.size() + IN_APP_PURCHASES_LOG);
+      logger.info(TRANSACTION_COMMITTED_LOG, purchases.size());
 
       return purchases.stream().map(inAppPurchaseMapper::toDto).toList();
 
     } catch (Exception exception) {
       transactionManager.rollback(status);
-      logger.error(CREATION_ERROR_LOG + exception.getMessage());
+      logger.error(CREATION_ERROR_LOG, exception.getMessage());
       throw exception;
     }
   }
@@ -157,25 +153,25 @@ public class InAppPurchaseService {
   public final List<InAppPurchase> getAllInAppPurchases() {
     logger.info(FETCH_ALL_LOG);
     List<InAppPurchase> purchases = inAppPurchaseRepository.findAll();
-    logger.info(FOUND_ALL_LOG + purchases.size() + IN_APP_PURCHASES_LOG);
+    logger.info(FOUND_ALL_LOG, purchases.size());
     return purchases;
   }
 
   public final List<InAppPurchaseJson> getAllInAppPurchasesAsJson() {
     logger.info(FETCH_ALL_LOG);
     List<InAppPurchase> purchases = inAppPurchaseRepository.findAll();
-    logger.info(FOUND_ALL_LOG + purchases.size() + IN_APP_PURCHASES_LOG);
+    logger.info(FOUND_ALL_LOG, purchases.size());
     return purchases.stream().map(inAppPurchaseMapper::toDto).toList();
   }
 
   public final Optional<InAppPurchase> getInAppPurchaseById(final int id) {
-    logger.info(FETCH_BY_ID_LOG + id);
+    logger.info(FETCH_BY_ID_LOG, id);
     Optional<InAppPurchase> purchase = inAppPurchaseRepository.findById(id);
 
     if (purchase.isPresent()) {
-      logger.info(FOUND_BY_ID_LOG + id + TITLE_LOG + purchase.get().getTitle());
+      logger.info(FOUND_BY_ID_LOG, id, purchase.get().getTitle());
     } else {
-      logger.info(NOT_FOUND_BY_ID_LOG + id);
+      logger.info(NOT_FOUND_BY_ID_LOG, id);
     }
 
     return purchase;
@@ -193,29 +189,28 @@ public class InAppPurchaseService {
   }
 
   public final List<InAppPurchase> linkMonetizedAppToPurchases(final int monetizedApplicationId) {
-    logger.info(LINK_REQUEST_LOG + monetizedApplicationId);
+    logger.info(LINK_REQUEST_LOG, monetizedApplicationId);
 
     MonetizedApplication monetizedApplication =
         monetizedApplicationRepository
             .findById(monetizedApplicationId)
             .orElseThrow(
                 () -> {
-                  logger.error(MONETIZED_APP_NOT_FOUND_LOG + monetizedApplicationId);
+                  logger.error(MONETIZED_APP_NOT_FOUND_LOG, monetizedApplicationId);
                   return new NotFoundException(
                       "Monetized application not found with ID: " + monetizedApplicationId);
                 });
 
     List<InAppPurchase> purchases = inAppPurchaseRepository.findByMonetizedApplicationNull();
-    logger.info(FOUND_NULL_PURCHASES_LOG + purchases.size() + NULL_PURCHASES_LOG);
+    logger.info(FOUND_NULL_PURCHASES_LOG, purchases.size());
 
     for (InAppPurchase purchase : purchases) {
       purchase.setMonetizedApplication(monetizedApplication);
       inAppPurchaseRepository.save(purchase);
-      logger.info(LINKED_PURCHASE_LOG + purchase.getId() + TO_APP_ID_LOG + monetizedApplicationId);
+      logger.debug(LINKED_PURCHASE_LOG, purchase.getId(), monetizedApplicationId);
     }
 
-    logger.info(
-        LINK_SUCCESS_LOG + purchases.size() + PURCHASES_TO_APP_LOG + monetizedApplicationId);
+    logger.info(LINK_SUCCESS_LOG, purchases.size(), monetizedApplicationId);
     return purchases;
   }
 
@@ -252,12 +247,12 @@ public class InAppPurchaseService {
     }
 
     InAppPurchase saved = inAppPurchaseRepository.save(purchase);
-    logger.info("Created single purchase with ID: " + saved.getId());
+    logger.info(CREATED_SINGLE_LOG, saved.getId());
     return saved;
   }
 
   public InAppPurchase updateInAppPurchase(final int id, final InAppPurchaseJson purchaseJson) {
-    logger.info(UPDATE_LOG + id);
+    logger.info(UPDATE_LOG, id);
 
     InAppPurchase purchase = getInAppPurchaseByIdOrThrow(id);
 
@@ -274,20 +269,20 @@ public class InAppPurchaseService {
     }
 
     InAppPurchase updated = inAppPurchaseRepository.save(purchase);
-    logger.info("Updated purchase ID: " + id);
+    logger.info(UPDATED_LOG, id);
     return updated;
   }
 
   public void deleteInAppPurchase(final int id) {
-    logger.info(DELETE_LOG + id);
+    logger.info(DELETE_LOG, id);
 
     InAppPurchase purchase = getInAppPurchaseByIdOrThrow(id);
     inAppPurchaseRepository.delete(purchase);
-    logger.info("Deleted purchase ID: " + id);
+    logger.info(DELETED_LOG, id);
   }
 
   public List<InAppPurchase> getPurchasesByMonetizedApp(final int monetizedAppId) {
-    logger.info("Getting purchases for monetized app ID: " + monetizedAppId);
+    logger.info(FETCH_BY_APP_LOG, monetizedAppId);
 
     return inAppPurchaseRepository.findByMonetizedApplicationId(monetizedAppId);
   }
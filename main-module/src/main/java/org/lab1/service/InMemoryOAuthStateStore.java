@@ -0,0 +1,51 @@
+package org.lab1.service;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * State в памяти одного экземпляра. У всех записей одинаковый TTL, поэтому очередь в порядке
+ * сохранения упорядочена по сроку истечения, и очистка просматривает только её просроченную голову.
+ */
+final class InMemoryOAuthStateStore implements OAuthStateStore {
+  private final Map<Integer, StoredState> states = new ConcurrentHashMap<>();
+  private final Queue<Expiration> expirations = new ConcurrentLinkedQueue<>();
+
+  @Override
+  public void save(final int userId, final String state, final long expiresAtMillis) {
+    StoredState stored = new StoredState(state, expiresAtMillis);
+    states.put(userId, stored);
+    expirations.add(new Expiration(userId, stored));
+  }
+
+  @Override
+  public StoredState remove(final int userId) {
+    return states.remove(userId);
+  }
+
+  @Override
+  public int removeExpired(final long nowMillis) {
+    int removed = 0;
+    Expiration head = expirations.peek();
+    while (head != null && head.state.getExpiresAtMillis() <= nowMillis) {
+      expirations.poll();
+      if (states.remove(head.userId, head.state)) {
+        removed++;
+      }
+      head = expirations.peek();
+    }
+    return removed;
+  }
+
+  private static final class Expiration {
+    private final int userId;
+    private final StoredState state;
+
+    private Expiration(final int userIdParam, final StoredState stateParam) {
+      this.userId = userIdParam;
+      this.state = stateParam;
+    }
+  }
+}
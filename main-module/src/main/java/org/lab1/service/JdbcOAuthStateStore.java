@@ -0,0 +1,51 @@
+package org.lab1.service;
+
+import java.sql.Timestamp;
+import java.util.List;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * State в таблице oauth_state, общей для всех экземпляров: callback может прийти на любой узел за
+ * балансировщиком. Извлечение выполняется одним DELETE ... RETURNING, поэтому state нельзя
+ * использовать дважды.
+ */
+final class JdbcOAuthStateStore implements OAuthStateStore {
+  private static final String UPSERT_SQL =
+      "INSERT INTO oauth_state (user_id, state, expires_at) VALUES (?, ?, ?) "
+          + "ON CONFLICT (user_id) DO UPDATE "
+          + "SET state = EXCLUDED.state, expires_at = EXCLUDED.expires_at";
+  private static final String TAKE_SQL =
+      "DELETE FROM oauth_state WHERE user_id = ? RETURNING state, expires_at";
+  private static final String DELETE_EXPIRED_SQL = "DELETE FROM oauth_state WHERE expires_at <= ?";
+  private static final String STATE_COLUMN = "state";
+  private static final String EXPIRES_AT_COLUMN = "expires_at";
+
+  private final JdbcTemplate jdbcTemplate;
+
+  JdbcOAuthStateStore(final JdbcTemplate jdbcTemplateParam) {
+    this.jdbcTemplate = jdbcTemplateParam;
+  }
+
+  @Override
+  public void save(final int userId, final String state, final long expiresAtMillis) {
+    jdbcTemplate.update(UPSERT_SQL, userId, state, new Timestamp(expiresAtMillis));
+  }
+
+  @Override
+  public StoredState remove(final int userId) {
+    List<StoredState> rows =
+        jdbcTemplate.query(
+            TAKE_SQL,
+            (resultSet, rowNumber) ->
+                new StoredState(
+                    resultSet.getString(STATE_COLUMN),
+                    resultSet.getTimestamp(EXPIRES_AT_COLUMN).getTime()),
+            userId);
+    return rows.isEmpty() ? null : rows.get(0);
+  }
+
+  @Override
+  public int removeExpired(final long nowMillis) {
+    return jdbcTemplate.update(DELETE_EXPIRED_SQL, new Timestamp(nowMillis));
+  }
+}
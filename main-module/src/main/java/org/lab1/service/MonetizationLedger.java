@@ -0,0 +1,186 @@
+package org.lab1.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.lab.logger.Logger;
+import org.lab1.config.EnvConfig;
+import org.lab1.exception.ServiceUnavailableException;
+import org.lab1.json.MonetizationEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Журнал событий монетизации в таблице monetization_event. Таблица только дополняется, и событие
+ * вставляется в той же транзакции, что и атомарное изменение баланса (по схеме outbox), поэтому
+ * балансы monetized_application можно пересчитать как сумму событий: выплаты пишутся событием
+ * PAYOUT с отрицательной суммой. Несколько событий одной операции пишутся одним многострочным
+ * INSERT.
+ *
+ * <p>Таблица разбита на дневные партиции (UTC) без партиции по умолчанию. Партиции создаются
+ * заранее на MONETIZATION_LEDGER_PARTITION_DAYS_AHEAD дней вперёд при старте и раз в час; если
+ * партиции на текущий день нет и создать её не удалось, запись отклоняется вместе с транзакцией.
+ * DDL выполняется только в потоке партиционирования, вне транзакций запросов: иначе CREATE TABLE
+ * держал бы блокировку monetization_event до конца запроса и откатывался бы вместе с ним, а
+ * partitionedThrough сдвигается только после того, как партиция создана.
+ */
+@Component
+public class MonetizationLedger {
+  private static final String DAYS_AHEAD_KEY = "MONETIZATION_LEDGER_PARTITION_DAYS_AHEAD";
+  private static final String DEFAULT_DAYS_AHEAD = "7";
+  private static final long PARTITION_CHECK_INTERVAL_MINUTES = 60;
+  private static final String PARTITIONER_THREAD_NAME = "monetization-ledger-partitioner";
+  private static final String INSERT_SQL_PREFIX =
+      "INSERT INTO monetization_event "
+          + "(event_type, user_id, application_id, item_id, amount, views, occurred_at) VALUES ";
+  private static final String INSERT_SQL_ROW = "(?, ?, ?, ?, ?, ?, ?)";
+  private static final String ROW_SEPARATOR = ", ";
+  private static final int COLUMNS_PER_ROW = 7;
+  private static final String CREATE_PARTITION_SQL =
+      "CREATE TABLE IF NOT EXISTS monetization_event_%s PARTITION OF monetization_event "
+          + "FOR VALUES FROM ('%s 00:00:00+00') TO ('%s 00:00:00+00')";
+  private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.BASIC_ISO_DATE;
+  private static final String WRITTEN_METRIC = "monetization.ledger.written";
+  private static final String PARTITION_FAILED_METRIC = "monetization.ledger.partition.failed";
+  private static final String PARTITION_FAILED_LOG =
+      "Monetization ledger partition for {} not created: {}";
+  private static final String NO_PARTITION_MSG = "Monetization ledger is not ready for ";
+  private static final long PARTITION_WAIT_SECONDS = 5;
+  private static final String PARTITION_WAIT_FAILED_LOG =
+      "Waiting for monetization ledger partitions failed: {}";
+
+  @PersistenceContext private EntityManager entityManager;
+
+  private final JdbcTemplate jdbcTemplate;
+  private final Logger logger;
+  private final int daysAhead;
+  private final Counter writtenCounter;
+  private final Counter partitionFailedCounter;
+  private volatile LocalDate partitionedThrough;
+  private final ScheduledExecutorService partitioner =
+      Executors.newSingleThreadScheduledExecutor(
+          runnable -> {
+            Thread thread = new Thread(runnable, PARTITIONER_THREAD_NAME);
+            thread.setDaemon(true);
+            return thread;
+          });
+
+  @Autowired
+  public MonetizationLedger(
+      final JdbcTemplate jdbcTemplateParam,
+      @Qualifier("correlationLogger") final Logger loggerParam,
+      final MeterRegistry meterRegistry) {
+    this.jdbcTemplate = jdbcTemplateParam;
+    this.logger = loggerParam;
+    this.daysAhead = Integer.parseInt(EnvConfig.get(DAYS_AHEAD_KEY, DEFAULT_DAYS_AHEAD));
+    this.writtenCounter = Counter.builder(WRITTEN_METRIC).register(meterRegistry);
+    this.partitionFailedCounter = Counter.builder(PARTITION_FAILED_METRIC).register(meterRegistry);
+    partitioner.scheduleWithFixedDelay(
+        this::ensurePartitions, 0, PARTITION_CHECK_INTERVAL_MINUTES, TimeUnit.MINUTES);
+  }
+
+  /**
+   * Вставляет событие в текущей транзакции.
+   *
+   * @param event событие монетизации
+   */
+  public void record(final MonetizationEvent event) {
+    recordAll(List.of(event));
+  }
+
+  /**
+   * Вставляет события одним INSERT в текущей транзакции. Должен вызываться внутри транзакции,
+   * в которой меняется баланс.
+   *
+   * @param events события монетизации
+   * @throws ServiceUnavailableException если партиция на сегодня не создана
+   */
+  public void recordAll(final List<MonetizationEvent> events) {
+    if (events.isEmpty()) {
+      return;
+    }
+    LocalDate today = LocalDate.now(ZoneOffset.UTC);
+    if (partitionedThrough == null || partitionedThrough.isBefore(today)) {
+      awaitPartitions();
+      if (partitionedThrough == null || partitionedThrough.isBefore(today)) {
+        throw new ServiceUnavailableException(NO_PARTITION_MSG + today);
+      }
+    }
+
+    StringBuilder sql = new StringBuilder(INSERT_SQL_PREFIX);
+    for (int index = 0; index < events.size(); index++) {
+      sql.append(index == 0 ? "" : ROW_SEPARATOR).append(INSERT_SQL_ROW);
+    }
+    Query query = entityManager.createNativeQuery(sql.toString());
+    Timestamp occurredAt = new Timestamp(System.currentTimeMillis());
+    int position = 1;
+    for (MonetizationEvent event : events) {
+      query.setParameter(position, event.getEventType().name());
+      query.setParameter(position + 1, event.getUserId());
+      query.setParameter(position + 2, event.getApplicationId());
+      query.setParameter(position + 3, event.getItemId());
+      query.setParameter(position + 4, event.getAmount());
+      query.setParameter(position + 5, event.getViews());
+      query.setParameter(position + 6, occurredAt);
+      position += COLUMNS_PER_ROW;
+    }
+    query.executeUpdate();
+    writtenCounter.increment(events.size());
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    partitioner.shutdownNow();
+  }
+
+  private void awaitPartitions() {
+    try {
+      partitioner.submit(this::ensurePartitions).get(PARTITION_WAIT_SECONDS, TimeUnit.SECONDS);
+    } catch (ExecutionException | TimeoutException | RejectedExecutionException exception) {
+      logger.error(PARTITION_WAIT_FAILED_LOG, exception.toString());
+    } catch (InterruptedException interruptedException) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void ensurePartitions() {
+    LocalDate today = LocalDate.now(ZoneOffset.UTC);
+    LocalDate last = today.plusDays(daysAhead);
+    if (partitionedThrough != null && !partitionedThrough.isBefore(last)) {
+      return;
+    }
+    LocalDate day =
+        partitionedThrough == null || partitionedThrough.isBefore(today)
+            ? today
+            : partitionedThrough.plusDays(1);
+    for (; !day.isAfter(last); day = day.plusDays(1)) {
+      try {
+        jdbcTemplate.execute(
+            String.format(
+                CREATE_PARTITION_SQL, day.format(PARTITION_SUFFIX), day, day.plusDays(1)));
+      } catch (DataAccessException dataAccessException) {
+        partitionFailedCounter.increment();
+        logger.error(PARTITION_FAILED_LOG, day, dataAccessException.getMessage());
+        return;
+      }
+      partitionedThrough = day;
+    }
+  }
+}
@@ -6,12 +6,17 @@ import io.micrometer.core.instrument.MeterRegistry;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import org.lab.logger.Logger;
+import org.lab1.json.MonetizationEvent;
 import org.lab1.model.MonetizedApplication;
 import org.lab1.model.PaymentRequest;
 import org.lab1.repository.MonetizedApplicationRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
 
 @Service
 public class MonetizationService {
@@ -27,32 +32,35 @@ public class MonetizationService {
   private static final String APP_NOT_FOUND_REASON = "app_not_found";
   private static final String MONETIZATION_AMOUNT_METRIC = "monetization.payout.amount";
   private static final String USD_UNIT = "USD";
-  private static final String FETCH_INFO_LOG = "Fetching monetization info for application ID: ";
-  private static final String INFO_FOUND_LOG = "Monetization info found for application ID: ";
-  private static final String CURRENT_BALANCE_LOG = ". Current balance: ";
+  private static final String FETCH_INFO_LOG = "Fetching monetization info for application ID: {}";
+  private static final String INFO_FOUND_LOG =
+      "Monetization info found for application ID: {}. Current balance: {}";
   private static final String INFO_NOT_FOUND_LOG =
-      "Monetization info not found for application ID: ";
-  private static final String GENERATE_FORM_LOG = "Generating payout form for application ID: ";
-  private static final String AMOUNT_LOG = ", amount: ";
-  private static final String FORM_GENERATED_LOG = "Payout form generated for application ID: ";
-  private static final String REQUEST_ID_LOG = ", request ID: ";
-  private static final String PROCESS_PAYOUT_LOG = "Processing payout for application ID: ";
-  private static final String APP_NOT_FOUND_LOG = "Application not found with ID: ";
+      "Monetization info not found for application ID: {}";
+  private static final String GENERATE_FORM_LOG =
+      "Generating payout form for application ID: {}, amount: {}";
+  private static final String FORM_GENERATED_LOG =
+      "Payout form generated for application ID: {}, request ID: {}, amount: {}";
+  private static final String PROCESS_PAYOUT_LOG =
+      "Processing payout for application ID: {}, amount: {}";
+  private static final String APP_NOT_FOUND_LOG = "Application not found with ID: {}";
   private static final String APP_NOT_FOUND_MSG = "Application not found.";
   private static final String REQUEST_TIME_MISSING_LOG =
-      "Request time is missing for payout of application ID: ";
+      "Request time is missing for payout of application ID: {}";
   private static final String REQUEST_TIME_MISSING_MSG = "Request time is missing.";
   private static final int REQUEST_EXPIRY_MINUTES = 30;
-  private static final String PAYMENT_EXPIRED_LOG = "Payment request expired for application ID: ";
+  private static final String PAYMENT_EXPIRED_LOG =
+      "Payment request expired for application ID: {} (more than 30 minutes).";
   private static final String PAYMENT_EXPIRED_MSG =
       "Payment request expired (more than 30 minutes).";
   private static final String CARD_INVALID_LOG =
-      "Card details are invalid for payout of application ID: ";
+      "Card details are invalid for payout of application ID: {}";
   private static final String CARD_INVALID_MSG = "Card details are invalid.";
-  private static final String INSUFFICIENT_FUNDS_LOG = "Insufficient funds for application ID: ";
+  private static final String INSUFFICIENT_FUNDS_LOG =
+      "Insufficient funds for application ID: {}. Current balance: {}, amount: {}";
   private static final String INSUFFICIENT_FUNDS_MSG = "Insufficient funds.";
-  private static final String PAYOUT_SUCCESSFUL_LOG = "Payout successful for application ID: ";
-  private static final String NEW_BALANCE_LOG = ". New balance: ";
+  private static final String PAYOUT_SUCCESSFUL_LOG =
+      "Payout successful for application ID: {}, amount: {}";
   private static final String PAYMENT_SUCCESSFUL_MSG = "Payment successful. Amount deducted: ";
 
   private final Counter payoutSuccessCounter;
@@ -63,14 +71,20 @@ public class MonetizationService {
   private final Counter appNotFoundCounter;
   private final DistributionSummary payoutAmountSummary;
   private final MonetizedApplicationRepository monetizedApplicationRepository;
+  private final PlatformTransactionManager transactionManager;
+  private final MonetizationLedger monetizationLedger;
   private final Logger logger;
 
   @Autowired
   public MonetizationService(
       final MonetizedApplicationRepository monetizedApplicationRepositoryParam,
+      final PlatformTransactionManager transactionManagerParam,
+      final MonetizationLedger monetizationLedgerParam,
       final MeterRegistry meterRegistry,
       @Qualifier("correlationLogger") final Logger loggerParam) {
     this.monetizedApplicationRepository = monetizedApplicationRepositoryParam;
+    this.transactionManager = transactionManagerParam;
+    this.monetizationLedger = monetizationLedgerParam;
     this.logger = loggerParam;
     this.payoutSuccessCounter =
         Counter.builder(MONETIZATION_RESULT_METRIC)
@@ -103,93 +117,111 @@ public class MonetizationService {
   }
 
   public final MonetizedApplication getMonetizationInfo(final int applicationId) {
-    logger.info(FETCH_INFO_LOG + applicationId);
+    logger.info(FETCH_INFO_LOG, applicationId);
     MonetizedApplication monetizedApp =
         monetizedApplicationRepository.findByApplicationId(applicationId);
 
     if (monetizedApp != null) {
-      logger.info(
-          INFO_FOUND_LOG + applicationId + CURRENT_BALANCE_LOG + monetizedApp.getCurrentBalance());
+      logger.info(INFO_FOUND_LOG, applicationId, monetizedApp.getCurrentBalance());
     } else {
-      logger.info(INFO_NOT_FOUND_LOG + applicationId);
+      logger.info(INFO_NOT_FOUND_LOG, applicationId);
     }
 
     return monetizedApp;
   }
 
   public final PaymentRequest sendForm(final int applicationId, final double amount) {
-    logger.info(GENERATE_FORM_LOG + applicationId + AMOUNT_LOG + amount);
+    logger.info(GENERATE_FORM_LOG, applicationId, amount);
     PaymentRequest paymentRequest = new PaymentRequest(applicationId, amount);
     logger.info(
-        FORM_GENERATED_LOG
-            + applicationId
-            + REQUEST_ID_LOG
-            + paymentRequest.getApplicationId()
-            + AMOUNT_LOG
-            + paymentRequest.getAmount());
+        FORM_GENERATED_LOG,
+        applicationId,
+        paymentRequest.getApplicationId(),
+        paymentRequest.getAmount());
     return paymentRequest;
   }
 
   public final String makePayout(final PaymentRequest paymentRequest) {
     logger.info(
-        PROCESS_PAYOUT_LOG
-            + paymentRequest.getApplicationId()
-            + AMOUNT_LOG
-            + paymentRequest.getAmount());
+        PROCESS_PAYOUT_LOG, paymentRequest.getApplicationId(), paymentRequest.getAmount());
 
     MonetizedApplication monetizedApp =
         monetizedApplicationRepository.findByApplicationId(paymentRequest.getApplicationId());
     if (monetizedApp == null) {
       appNotFoundCounter.increment();
-      logger.error(APP_NOT_FOUND_LOG + paymentRequest.getApplicationId());
+      logger.error(APP_NOT_FOUND_LOG, paymentRequest.getApplicationId());
       return APP_NOT_FOUND_MSG;
     }
 
     if (paymentRequest.getRequestTime() == null) {
       payoutFailCounter.increment();
-      logger.error(REQUEST_TIME_MISSING_LOG + paymentRequest.getApplicationId());
+      logger.error(REQUEST_TIME_MISSING_LOG, paymentRequest.getApplicationId());
       return REQUEST_TIME_MISSING_MSG;
     }
 
     Duration timeElapsed = Duration.between(paymentRequest.getRequestTime(), LocalDateTime.now());
     if (timeElapsed.toMinutes() > REQUEST_EXPIRY_MINUTES) {
       payoutExpiredCounter.increment();
-      logger.error(
-          PAYMENT_EXPIRED_LOG + paymentRequest.getApplicationId() + " (more than 30 minutes).");
+      logger.error(PAYMENT_EXPIRED_LOG, paymentRequest.getApplicationId());
       return PAYMENT_EXPIRED_MSG;
     }
 
     if (!paymentRequest.isCardValid()) {
       invalidCardCounter.increment();
-      logger.error(CARD_INVALID_LOG + paymentRequest.getApplicationId());
+      logger.error(CARD_INVALID_LOG, paymentRequest.getApplicationId());
       return CARD_INVALID_MSG;
     }
 
-    if (monetizedApp.getCurrentBalance() < paymentRequest.getAmount()) {
+    if (!withdraw(monetizedApp, paymentRequest)) {
       insufficientFundsCounter.increment();
       logger.error(
-          INSUFFICIENT_FUNDS_LOG
-              + paymentRequest.getApplicationId()
-              + CURRENT_BALANCE_LOG
-              + monetizedApp.getCurrentBalance()
-              + AMOUNT_LOG
-              + paymentRequest.getAmount());
+          INSUFFICIENT_FUNDS_LOG,
+          paymentRequest.getApplicationId(),
+          monetizedApp.getCurrentBalance(),
+          paymentRequest.getAmount());
       return INSUFFICIENT_FUNDS_MSG;
     }
 
-    monetizedApp.setCurrentBalance(monetizedApp.getCurrentBalance() - paymentRequest.getAmount());
-    monetizedApplicationRepository.save(monetizedApp);
-
     payoutSuccessCounter.increment();
     payoutAmountSummary.record(paymentRequest.getAmount());
     logger.info(
-        PAYOUT_SUCCESSFUL_LOG
-            + paymentRequest.getApplicationId()
-            + AMOUNT_LOG
-            + paymentRequest.getAmount()
-            + NEW_BALANCE_LOG
-            + monetizedApp.getCurrentBalance());
+        PAYOUT_SUCCESSFUL_LOG, paymentRequest.getApplicationId(), paymentRequest.getAmount());
 
     return PAYMENT_SUCCESSFUL_MSG + paymentRequest.getAmount();
   }
+
+  /**
+   * Списывает сумму выплаты и пишет событие PAYOUT в журнал в одной транзакции.
+   *
+   * @param monetizedApp монетизированное приложение
+   * @param paymentRequest запрос на выплату
+   * @return false, если на балансе недостаточно средств
+   */
+  private boolean withdraw(
+      final MonetizedApplication monetizedApp, final PaymentRequest paymentRequest) {
+    TransactionDefinition definition = new DefaultTransactionDefinition();
+    TransactionStatus status = transactionManager.getTransaction(definition);
+    try {
+      if (monetizedApplicationRepository.withdrawBalance(
+              monetizedApp.getId(), paymentRequest.getAmount())
+          == 0) {
+        transactionManager.rollback(status);
+        return false;
+      }
+      monetizationLedger.record(
+          new MonetizationEvent(
+              MonetizationEvent.EventType.PAYOUT,
+              monetizedApp.getDeveloper().getUser().getId(),
+              paymentRequest.getApplicationId(),
+              paymentRequest.getId(),
+              -paymentRequest.getAmount()));
+      transactionManager.commit(status);
+      return true;
+    } catch (Exception exception) {
+      if (!status.isCompleted()) {
+        transactionManager.rollback(status);
+      }
+      throw exception;
+    }
+  }
 }
@@ -1,85 +1,103 @@
 package org.lab1.service;
 
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import jakarta.annotation.PreDestroy;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import org.lab.logger.Logger;
+import org.lab1.config.EnvConfig;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 
 @Service
 public class OAuthStateService {
   private static final long STATE_TTL_MILLIS = TimeUnit.MINUTES.toMillis(5);
+  private static final long SWEEP_INTERVAL_SECONDS = 30;
+  private static final String STORE_KEY = "OAUTH_STATE_STORE";
+  private static final String MEMORY_STORE = "memory";
+  private static final String JDBC_STORE = "jdbc";
+  private static final String SWEEPER_THREAD_NAME = "oauth-state-sweeper";
   private static final String STORE_STATE_LOG = "Stored Google auth state for user ID: ";
   private static final String NO_STATE_LOG = "No stored Google auth state found for user ID: ";
   private static final String VALIDATE_STATE_LOG = "Validated Google auth state for user ID: ";
   private static final String RESULT_LOG = ". Result: ";
-  private static final String STATE_EXPIRED_LOG = "Google auth state expired. Creation time: ";
+  private static final String STATE_EXPIRED_LOG = "Google auth state expired. Expiry time: ";
   private static final String TTL_LOG = ", TTL: ";
   private static final String MS_LOG = " ms.";
   private static final String CLEANUP_LOG = "Cleaned up ";
   private static final String EXPIRED_STATES_LOG = " expired Google auth states.";
+  private static final String CLEANUP_FAILED_LOG = "Google auth state cleanup failed: ";
+  private static final String STORE_SELECTED_LOG = "Using Google auth state store: ";
 
-  private final Map<Integer, StateInfo> stateStorage = new ConcurrentHashMap<>();
+  private final OAuthStateStore stateStore;
+  private final Logger logger;
+  private final ScheduledExecutorService sweeper =
+      Executors.newSingleThreadScheduledExecutor(
+          runnable -> {
+            Thread thread = new Thread(runnable, SWEEPER_THREAD_NAME);
+            thread.setDaemon(true);
+            return thread;
+          });
 
   @Autowired
-  @Qualifier("correlationLogger")
-  private Logger logger;
+  public OAuthStateService(
+      final JdbcTemplate jdbcTemplate, @Qualifier("correlationLogger") final Logger loggerParam) {
+    this.logger = loggerParam;
+    String storeType = EnvConfig.get(STORE_KEY, MEMORY_STORE);
+    this.stateStore =
+        JDBC_STORE.equalsIgnoreCase(storeType)
+            ? new JdbcOAuthStateStore(jdbcTemplate)
+            : new InMemoryOAuthStateStore();
+    logger.info(STORE_SELECTED_LOG + storeType);
+    sweeper.scheduleWithFixedDelay(
+        this::cleanupExpiredStates,
+        SWEEP_INTERVAL_SECONDS,
+        SWEEP_INTERVAL_SECONDS,
+        TimeUnit.SECONDS);
+  }
 
   public final void storeGoogleAuthState(final int userId, final String stateParam) {
-    stateStorage.put(userId, new StateInfo(stateParam, System.currentTimeMillis()));
+    stateStore.save(userId, stateParam, System.currentTimeMillis() + STATE_TTL_MILLIS);
     logger.info(STORE_STATE_LOG + userId);
-    cleanupExpiredStates();
   }
 
   public final boolean validateGoogleAuthState(final int userId, final String stateParam) {
-    StateInfo storedState = stateStorage.get(userId);
+    OAuthStateStore.StoredState storedState = stateStore.remove(userId);
     if (storedState == null) {
       logger.error(NO_STATE_LOG + userId);
       return false;
     }
 
-    stateStorage.remove(userId);
     boolean isValid =
-        storedState.getState().equals(stateParam) && !isStateExpired(storedState.getCreationTime());
+        storedState.getState().equals(stateParam)
+            && !isStateExpired(storedState.getExpiresAtMillis());
     logger.info(VALIDATE_STATE_LOG + userId + RESULT_LOG + isValid);
     return isValid;
   }
 
-  private boolean isStateExpired(final long creationTime) {
-    boolean isExpired = System.currentTimeMillis() - creationTime > STATE_TTL_MILLIS;
+  @PreDestroy
+  public void shutdown() {
+    sweeper.shutdownNow();
+  }
+
+  private boolean isStateExpired(final long expiresAtMillis) {
+    boolean isExpired = System.currentTimeMillis() >= expiresAtMillis;
     if (isExpired) {
-      logger.error(STATE_EXPIRED_LOG + creationTime + TTL_LOG + STATE_TTL_MILLIS + MS_LOG);
+      logger.error(STATE_EXPIRED_LOG + expiresAtMillis + TTL_LOG + STATE_TTL_MILLIS + MS_LOG);
     }
     return isExpired;
   }
 
   private void cleanupExpiredStates() {
-    int initialSize = stateStorage.size();
-    stateStorage.entrySet().removeIf(entry -> isStateExpired(entry.getValue().getCreationTime()));
-    int removedCount = initialSize - stateStorage.size();
-
-    if (removedCount > 0) {
-      logger.info(CLEANUP_LOG + removedCount + EXPIRED_STATES_LOG);
-    }
-  }
-
-  private static class StateInfo {
-    private final String state;
-    private final long creationTime;
-
-    StateInfo(final String stateParam, final long creationTimeParam) {
-      this.state = stateParam;
-      this.creationTime = creationTimeParam;
-    }
-
-    public String getState() {
-      return state;
-    }
-
-    public long getCreationTime() {
-      return creationTime;
+    try {
+      int removedCount = stateStore.removeExpired(System.currentTimeMillis());
+      if (removedCount > 0) {
+        logger.info(CLEANUP_LOG + removedCount + EXPIRED_STATES_LOG);
+      }
+    } catch (RuntimeException exception) {
+      logger.warn(CLEANUP_FAILED_LOG + exception.getMessage());
     }
   }
 }
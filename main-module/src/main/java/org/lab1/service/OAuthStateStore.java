@@ -0,0 +1,40 @@
+package org.lab1.service;
+
+/** Хранилище одноразовых OAuth state значений, ключ — идентификатор пользователя. */
+interface OAuthStateStore {
+  void save(int userId, String state, long expiresAtMillis);
+
+  /**
+   * Извлекает и удаляет state пользователя.
+   *
+   * @param userId идентификатор пользователя
+   * @return сохранённый state или null, если его нет
+   */
+  StoredState remove(int userId);
+
+  /**
+   * Удаляет просроченные записи.
+   *
+   * @param nowMillis текущее время в миллисекундах
+   * @return число удалённых записей
+   */
+  int removeExpired(long nowMillis);
+
+  final class StoredState {
+    private final String state;
+    private final long expiresAtMillis;
+
+    StoredState(final String stateParam, final long expiresAtMillisParam) {
+      this.state = stateParam;
+      this.expiresAtMillis = expiresAtMillisParam;
+    }
+
+    String getState() {
+      return state;
+    }
+
+    long getExpiresAtMillis() {
+      return expiresAtMillis;
+    }
+  }
+}
@@ -1,20 +1,29 @@
 package org.lab1.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.DistributionSummary;
 import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 import org.lab1.exception.NotFoundException;
 import org.lab1.exception.ValidationException;
+import org.lab1.json.AdImpression;
+import org.lab1.json.AdImpressionResult;
 import org.lab1.json.MonetizationEvent;
 import org.lab1.model.InAppAdd;
 import org.lab1.model.InAppPurchase;
 import org.lab1.model.MonetizedApplication;
-import org.lab1.model.User;
 import org.lab1.repository.InAppAddRepository;
 import org.lab1.repository.InAppPurchaseRepository;
 import org.lab1.repository.MonetizedApplicationRepository;
-import org.lab1.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.PlatformTransactionManager;
@@ -36,17 +45,33 @@ public class UserMonetizationService {
   private static final String AD_TYPE = "ad";
   private static final String REVENUE_AMOUNT_METRIC = "revenue.amount";
   private static final String USD_UNIT = "USD";
-  private static final String USER_NOT_FOUND_MSG = "User not found";
   private static final String INVALID_CARD_MSG = "Invalid card";
   private static final String APP_NOT_FOUND_MSG = "Application not found";
   private static final String INSUFFICIENT_BALANCE_MSG = "Insufficient card balance";
   private static final String IN_APP_PURCHASE_NOT_FOUND_MSG = "In-app purchase item not found";
+  private static final String AD_NOT_FOUND_MSG = "InAppAdd not found with ID: ";
+  private static final int MAX_AD_BATCH_SIZE = 1000;
+  private static final long MAX_CLOCK_SKEW_MILLIS = TimeUnit.MINUTES.toMillis(5);
+  private static final int MIXED_ADS_ITEM_ID = 0;
+  private static final String EMPTY_BATCH_MSG = "Ad view batch is empty";
+  private static final String BATCH_TOO_LARGE_MSG = "Ad view batch exceeds limit of ";
+  private static final String MISSING_TIMESTAMP_MSG = "Impression timestamp is required";
+  private static final String FUTURE_TIMESTAMP_MSG = "Impression timestamp is in the future";
+  private static final int MAX_BATCH_ID_LENGTH = 64;
+  private static final String MISSING_BATCH_ID_MSG = "Ad view batch id is required";
+  private static final String BATCH_ID_TOO_LONG_MSG = "Ad view batch id exceeds length of ";
+  private static final String BATCH_RESULTS_JSON_ERROR = "Failed to convert ad view batch results";
+  private static final TypeReference<List<AdImpressionResult>> RESULTS_TYPE =
+      new TypeReference<>() {};
 
   private final MonetizedApplicationRepository monetizedApplicationRepository;
   private final InAppPurchaseRepository inAppPurchaseRepository;
   private final InAppAddRepository inAppAddRepository;
-  private final UserRepository userRepository;
   private final PlatformTransactionManager transactionManager;
+  private final AdRevenueAccumulator adRevenueAccumulator;
+  private final MonetizationLedger monetizationLedger;
+  private final AdViewBatchRegistry adViewBatchRegistry;
+  private final ObjectMapper objectMapper;
   private final Counter downloadRevenueCounter;
   private final Counter purchaseRevenueCounter;
   private final Counter adRevenueCounter;
@@ -59,14 +84,20 @@ public class UserMonetizationService {
       final MonetizedApplicationRepository monetizedApplicationRepositoryParam,
       final InAppPurchaseRepository inAppPurchaseRepositoryParam,
       final InAppAddRepository inAppAddRepositoryParam,
-      final UserRepository userRepositoryParam,
       final PlatformTransactionManager transactionManagerParam,
+      final AdRevenueAccumulator adRevenueAccumulatorParam,
+      final MonetizationLedger monetizationLedgerParam,
+      final AdViewBatchRegistry adViewBatchRegistryParam,
+      final ObjectMapper objectMapperParam,
       final MeterRegistry meterRegistry) {
     this.monetizedApplicationRepository = monetizedApplicationRepositoryParam;
     this.inAppPurchaseRepository = inAppPurchaseRepositoryParam;
     this.inAppAddRepository = inAppAddRepositoryParam;
-    this.userRepository = userRepositoryParam;
     this.transactionManager = transactionManagerParam;
+    this.adRevenueAccumulator = adRevenueAccumulatorParam;
+    this.monetizationLedger = monetizationLedgerParam;
+    this.adViewBatchRegistry = adViewBatchRegistryParam;
+    this.objectMapper = objectMapperParam;
 
     this.downloadRevenueCounter =
         Counter.builder(REVENUE_SOURCE_METRIC).tag(TYPE_TAG, DOWNLOAD_TYPE).register(meterRegistry);
@@ -102,13 +133,6 @@ public class UserMonetizationService {
     TransactionStatus status = transactionManager.getTransaction(definition);
 
     try {
-      Optional<User> userOptional = userRepository.findById(userId);
-      if (userOptional.isEmpty()) {
-        throw new NotFoundException(USER_NOT_FOUND_MSG);
-      }
-
-      User user = userOptional.get();
-
       if (!isValidCard(cardNumber, cardHolderName, expiryDate, cvv)) {
         throw new ValidationException(INVALID_CARD_MSG);
       }
@@ -123,20 +147,12 @@ public class UserMonetizationService {
         throw new ValidationException(INSUFFICIENT_BALANCE_MSG);
       }
 
-      monetizedApplication.setCurrentBalance(
-          monetizedApplication.getCurrentBalance()
-              + monetizedApplication.getApplication().getPrice());
-      monetizedApplication.setDownloadRevenue(
-          monetizedApplication.getDownloadRevenue()
-              + monetizedApplication.getApplication().getPrice());
-      monetizedApplication.setRevenue(
-          monetizedApplication.getRevenue() + monetizedApplication.getApplication().getPrice());
-
-      userRepository.save(user);
-      monetizedApplicationRepository.save(monetizedApplication);
-      downloadRevenueCounter.increment();
-      downloadAmountSummary.record(monetizedApplication.getApplication().getPrice());
+      double price = monetizedApplication.getApplication().getPrice();
+      monetizedApplicationRepository.addDownloadRevenue(monetizedApplication.getId(), price);
+      monetizationLedger.record(createDownloadEvent(userId, applicationId, price));
       transactionManager.commit(status);
+      downloadRevenueCounter.increment();
+      downloadAmountSummary.record(price);
 
       return true;
     } catch (Exception exception) {
@@ -156,13 +172,6 @@ public class UserMonetizationService {
     TransactionStatus status = transactionManager.getTransaction(definition);
 
     try {
-      Optional<User> userOptional = userRepository.findById(userId);
-      if (userOptional.isEmpty()) {
-        throw new NotFoundException(USER_NOT_FOUND_MSG);
-      }
-
-      User user = userOptional.get();
-
       if (!isValidCard(cardNumber, cardHolderName, expiryDate, cvv)) {
         throw new ValidationException(INVALID_CARD_MSG);
       }
@@ -179,17 +188,18 @@ public class UserMonetizationService {
       InAppPurchase purchase = purchaseOptional.get();
       MonetizedApplication monetizedApplication = purchase.getMonetizedApplication();
 
-      monetizedApplication.setCurrentBalance(
-          monetizedApplication.getCurrentBalance() + purchase.getPrice());
-      monetizedApplication.setPurchasesRevenue(
-          monetizedApplication.getPurchasesRevenue() + purchase.getPrice());
-      monetizedApplication.setRevenue(monetizedApplication.getRevenue() + purchase.getPrice());
-
-      userRepository.save(user);
-      monetizedApplicationRepository.save(monetizedApplication);
+      monetizedApplicationRepository.addPurchaseRevenue(
+          monetizedApplication.getId(), purchase.getPrice());
+      monetizationLedger.record(
+          new MonetizationEvent(
+              MonetizationEvent.EventType.PURCHASE,
+              userId,
+              monetizedApplication.getApplication().getId(),
+              purchaseId,
+              purchase.getPrice()));
+      transactionManager.commit(status);
       purchaseRevenueCounter.increment();
       purchaseAmountSummary.record(purchase.getPrice());
-      transactionManager.commit(status);
       return true;
     } catch (Exception exception) {
       transactionManager.rollback(status);
@@ -208,25 +218,170 @@ public class UserMonetizationService {
         && cvv.matches(CVV_REGEX);
   }
 
-  public final boolean viewAdvertisement(final int adId) {
+  public final boolean viewAdvertisement(final int adId, final int userId) {
     Optional<InAppAdd> adOptional = inAppAddRepository.findById(adId);
     if (adOptional.isEmpty()) {
-      throw new NotFoundException("InAppAdd not found with ID: " + adId);
+      throw new NotFoundException(AD_NOT_FOUND_MSG + adId);
     }
 
     InAppAdd ad = adOptional.get();
     MonetizedApplication monetizedApplication = ad.getMonetizedApplication();
-    monetizedApplication.setCurrentBalance(
-        monetizedApplication.getCurrentBalance() + ad.getPrice());
-    monetizedApplication.setAdsRevenue(monetizedApplication.getAdsRevenue() + ad.getPrice());
-    monetizedApplication.setRevenue(monetizedApplication.getRevenue() + ad.getPrice());
+    boolean coalesced = adRevenueAccumulator.isEnabled();
+    TransactionDefinition definition = new DefaultTransactionDefinition();
+    TransactionStatus status = transactionManager.getTransaction(definition);
+    try {
+      if (!coalesced) {
+        monetizedApplicationRepository.addAdsRevenue(monetizedApplication.getId(), ad.getPrice());
+      }
+      monetizationLedger.record(
+          new MonetizationEvent(
+              MonetizationEvent.EventType.AD_VIEW,
+              userId,
+              monetizedApplication.getApplication().getId(),
+              adId,
+              ad.getPrice()));
+      transactionManager.commit(status);
+    } catch (Exception exception) {
+      transactionManager.rollback(status);
+      throw exception;
+    }
+    if (coalesced && !adRevenueAccumulator.add(monetizedApplication.getId(), ad.getPrice())) {
+      monetizedApplicationRepository.addAdsRevenue(monetizedApplication.getId(), ad.getPrice());
+    }
 
     adRevenueCounter.increment();
     adAmountSummary.record(ad.getPrice());
-    monetizedApplicationRepository.save(monetizedApplication);
     return true;
   }
 
+  /**
+   * Применяет пачку показов рекламы. Показы группируются по монетизированному приложению, доход
+   * каждого приложения начисляется одним атомарным UPDATE в общей транзакции, и на приложение
+   * создаётся одно событие AD_VIEW с суммарным доходом и числом показов в views. В itemId события
+   * стоит id рекламы, если все показы приложения относятся к одной рекламе, иначе 0.
+   *
+   * <p>Клиентский batchId занимается в той же транзакции через {@link AdViewBatchRegistry}, поэтому
+   * повтор уже применённой пачки не начисляет доход второй раз, а возвращает сохранённые
+   * результаты без событий.
+   *
+   * @param batchId клиентский идентификатор пачки, одинаковый для всех повторов
+   * @param impressions показы рекламы
+   * @param userId идентификатор пользователя
+   * @return результаты по каждому показу и события для отправки в google-module
+   */
+  public final AdViewBatch viewAdvertisements(
+      final String batchId, final List<AdImpression> impressions, final int userId) {
+    if (batchId == null || batchId.isBlank()) {
+      throw new ValidationException(MISSING_BATCH_ID_MSG);
+    }
+    if (batchId.length() > MAX_BATCH_ID_LENGTH) {
+      throw new ValidationException(BATCH_ID_TOO_LONG_MSG + MAX_BATCH_ID_LENGTH);
+    }
+    String storedResults = adViewBatchRegistry.find(userId, batchId);
+    if (storedResults != null) {
+      return replay(storedResults);
+    }
+    if (impressions == null || impressions.isEmpty()) {
+      throw new ValidationException(EMPTY_BATCH_MSG);
+    }
+    if (impressions.size() > MAX_AD_BATCH_SIZE) {
+      throw new ValidationException(BATCH_TOO_LARGE_MSG + MAX_AD_BATCH_SIZE);
+    }
+
+    Map<Integer, InAppAdd> ads = new HashMap<>();
+    for (InAppAdd ad :
+        inAppAddRepository.findAllById(impressions.stream().map(AdImpression::getAdId).toList())) {
+      ads.put(ad.getId(), ad);
+    }
+
+    long latestAllowed = System.currentTimeMillis() + MAX_CLOCK_SKEW_MILLIS;
+    List<AdImpressionResult> results = new ArrayList<>(impressions.size());
+    Map<Integer, AppAdRevenue> revenueByApp = new LinkedHashMap<>();
+    for (AdImpression impression : impressions) {
+      InAppAdd ad = ads.get(impression.getAdId());
+      String error = validateImpression(impression, ad, latestAllowed);
+      results.add(
+          new AdImpressionResult(
+              impression.getAdId(), impression.getTimestamp(), error == null, error));
+      if (error == null) {
+        revenueByApp
+            .computeIfAbsent(ad.getMonetizedApplication().getId(), id -> new AppAdRevenue(ad))
+            .add(ad);
+      }
+    }
+
+    List<MonetizationEvent> events = new ArrayList<>(revenueByApp.size());
+    for (AppAdRevenue appRevenue : revenueByApp.values()) {
+      events.add(
+          new MonetizationEvent(
+              MonetizationEvent.EventType.AD_VIEW,
+              userId,
+              appRevenue.applicationId,
+              appRevenue.adId,
+              appRevenue.amount,
+              appRevenue.views));
+    }
+
+    TransactionDefinition definition = new DefaultTransactionDefinition();
+    TransactionStatus status = transactionManager.getTransaction(definition);
+    boolean claimed;
+    try {
+      claimed = adViewBatchRegistry.claim(userId, batchId, toJson(results));
+      if (claimed) {
+        for (Map.Entry<Integer, AppAdRevenue> entry : revenueByApp.entrySet()) {
+          monetizedApplicationRepository.addAdsRevenue(entry.getKey(), entry.getValue().amount);
+        }
+        monetizationLedger.recordAll(events);
+        transactionManager.commit(status);
+      } else {
+        transactionManager.rollback(status);
+      }
+    } catch (Exception exception) {
+      transactionManager.rollback(status);
+      throw exception;
+    }
+    if (!claimed) {
+      return replay(adViewBatchRegistry.find(userId, batchId));
+    }
+
+    for (AppAdRevenue appRevenue : revenueByApp.values()) {
+      adRevenueCounter.increment(appRevenue.views);
+      adAmountSummary.record(appRevenue.amount);
+    }
+    return new AdViewBatch(results, events, false);
+  }
+
+  private AdViewBatch replay(final String storedResults) {
+    try {
+      return new AdViewBatch(
+          objectMapper.readValue(storedResults, RESULTS_TYPE), List.of(), true);
+    } catch (JsonProcessingException jsonProcessingException) {
+      throw new RuntimeException(BATCH_RESULTS_JSON_ERROR, jsonProcessingException);
+    }
+  }
+
+  private String toJson(final List<AdImpressionResult> results) {
+    try {
+      return objectMapper.writeValueAsString(results);
+    } catch (JsonProcessingException jsonProcessingException) {
+      throw new RuntimeException(BATCH_RESULTS_JSON_ERROR, jsonProcessingException);
+    }
+  }
+
+  private String validateImpression(
+      final AdImpression impression, final InAppAdd ad, final long latestAllowed) {
+    if (ad == null) {
+      return AD_NOT_FOUND_MSG + impression.getAdId();
+    }
+    if (impression.getTimestamp() <= 0) {
+      return MISSING_TIMESTAMP_MSG;
+    }
+    if (impression.getTimestamp() > latestAllowed) {
+      return FUTURE_TIMESTAMP_MSG;
+    }
+    return null;
+  }
+
   public final InAppPurchase getInAppPurchaseById(final int purchaseId) {
     return inAppPurchaseRepository
         .findById(purchaseId)
@@ -236,7 +391,7 @@ public class UserMonetizationService {
   public final InAppAdd getInAppAddById(final int adId) {
     return inAppAddRepository
         .findById(adId)
-        .orElseThrow(() -> new NotFoundException("InAppAdd not found with ID: " + adId));
+        .orElseThrow(() -> new NotFoundException(AD_NOT_FOUND_MSG + adId));
   }
 
   public final MonetizationEvent createPurchaseEvent(
@@ -262,4 +417,53 @@ public class UserMonetizationService {
     return new MonetizationEvent(
         MonetizationEvent.EventType.DOWNLOAD, userId, applicationId, applicationId, price);
   }
+
+  /** Итог обработки пачки показов рекламы. */
+  public static final class AdViewBatch {
+    private final List<AdImpressionResult> results;
+    private final List<MonetizationEvent> events;
+    private final boolean replayed;
+
+    private AdViewBatch(
+        final List<AdImpressionResult> resultsParam,
+        final List<MonetizationEvent> eventsParam,
+        final boolean replayedParam) {
+      this.results = resultsParam;
+      this.events = eventsParam;
+      this.replayed = replayedParam;
+    }
+
+    public List<AdImpressionResult> getResults() {
+      return results;
+    }
+
+    public List<MonetizationEvent> getEvents() {
+      return events;
+    }
+
+    /** Пачка уже применялась раньше; результаты взяты из реестра, событий нет. */
+    public boolean isReplayed() {
+      return replayed;
+    }
+  }
+
+  private static final class AppAdRevenue {
+    private final int applicationId;
+    private int adId;
+    private int views;
+    private double amount;
+
+    private AppAdRevenue(final InAppAdd firstAdParam) {
+      this.applicationId = firstAdParam.getMonetizedApplication().getApplication().getId();
+      this.adId = firstAdParam.getId();
+    }
+
+    private void add(final InAppAdd ad) {
+      if (ad.getId() != adId) {
+        adId = MIXED_ADS_ITEM_ID;
+      }
+      views++;
+      amount += ad.getPrice();
+    }
+  }
 }
@@ -8,11 +8,10 @@ import org.lab1.exception.UnauthorizedException;
 import org.lab1.json.Token;
 import org.lab1.model.User;
 import org.lab1.repository.UserRepository;
+import org.lab1.security.CurrentUser;
+import org.lab1.security.PasswordHasher;
 import org.lab1.security.TokenManager;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -25,20 +24,23 @@ public class UserQueryService {
   private static final String USER_NOT_FOUND_MSG = "User not found";
 
   private final UserRepository userRepository;
-  private final PasswordEncoder passwordEncoder;
+  private final PasswordHasher passwordHasher;
   private final TokenManager tokenManager;
+  private final CurrentUser currentUser;
   private final Counter loginSuccessCounter;
   private final Counter loginFailCounter;
 
   @Autowired
   public UserQueryService(
       final UserRepository userRepositoryParam,
-      final PasswordEncoder passwordEncoderParam,
+      final PasswordHasher passwordHasherParam,
       final TokenManager tokenManagerParam,
+      final CurrentUser currentUserParam,
       final MeterRegistry meterRegistry) {
     this.userRepository = userRepositoryParam;
-    this.passwordEncoder = passwordEncoderParam;
+    this.passwordHasher = passwordHasherParam;
     this.tokenManager = tokenManagerParam;
+    this.currentUser = currentUserParam;
     this.loginSuccessCounter =
         Counter.builder(AUTH_LOGIN_METRIC).tag(STATUS_TAG, SUCCESS_TAG).register(meterRegistry);
     this.loginFailCounter =
@@ -54,7 +56,7 @@ public class UserQueryService {
 
       User user = userOptional.get();
 
-      if (!passwordEncoder.matches(password, user.getPasswordHash())) {
+      if (!passwordHasher.matches(password, user.getPasswordHash())) {
         throw new UnauthorizedException(INVALID_CREDENTIALS_MSG);
       }
 
@@ -81,12 +83,11 @@ public class UserQueryService {
   }
 
   public final User getCurrentAuthenticatedUser() {
-    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-    String username = authentication.getPrincipal().toString();
+    return currentUser.getUser();
+  }
 
-    return userRepository
-        .findByUsername(username)
-        .orElseThrow(() -> new UnauthorizedException(USER_NOT_FOUND_MSG));
+  public final int getCurrentAuthenticatedUserId() {
+    return currentUser.getId();
   }
 
   public final User getUserByUsername(final String username) {
@@ -7,9 +7,9 @@ import org.lab1.json.Token;
 import org.lab1.model.Role;
 import org.lab1.model.User;
 import org.lab1.repository.UserRepository;
+import org.lab1.security.PasswordHasher;
 import org.lab1.security.TokenManager;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -22,7 +22,7 @@ public class UserRegistrationService {
   private static final String EMAIL_EXISTS_MSG = "Email already exists";
 
   private final UserRepository userRepository;
-  private final PasswordEncoder passwordEncoder;
+  private final PasswordHasher passwordHasher;
   private final TokenManager tokenManager;
   private final Counter registerFailCounter;
   private final Counter tokenGeneratedCounter;
@@ -30,11 +30,11 @@ public class UserRegistrationService {
   @Autowired
   public UserRegistrationService(
       final UserRepository userRepositoryParam,
-      final PasswordEncoder passwordEncoderParam,
+      final PasswordHasher passwordHasherParam,
       final TokenManager tokenManagerParam,
       final MeterRegistry meterRegistry) {
     this.userRepository = userRepositoryParam;
-    this.passwordEncoder = passwordEncoderParam;
+    this.passwordHasher = passwordHasherParam;
     this.tokenManager = tokenManagerParam;
     this.registerFailCounter =
         Counter.builder(AUTH_REGISTER_METRIC).tag(STATUS_TAG, FAIL_TAG).register(meterRegistry);
@@ -51,7 +51,7 @@ public class UserRegistrationService {
         throw new ConflictException(EMAIL_EXISTS_MSG);
       }
 
-      String passwordHash = passwordEncoder.encode(password);
+      String passwordHash = passwordHasher.encode(password);
 
       User newUser = new User();
       newUser.setUsername(username);
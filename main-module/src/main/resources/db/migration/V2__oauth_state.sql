@@ -0,0 +1,21 @@
+-- V2__oauth_state.sql
+
+--
+-- Name: oauth_state; Type: TABLE; Schema: public; Owner: user
+--
+
+CREATE TABLE public.oauth_state (
+                                  user_id integer NOT NULL,
+                                  state character varying(255) NOT NULL,
+                                  expires_at timestamp(6) with time zone NOT NULL,
+                                  CONSTRAINT oauth_state_pkey PRIMARY KEY (user_id)
+);
+
+
+ALTER TABLE public.oauth_state OWNER TO "user";
+
+--
+-- Name: idx_oauth_state_expires_at; Type: INDEX; Schema: public; Owner: user
+--
+
+CREATE INDEX idx_oauth_state_expires_at ON public.oauth_state USING btree (expires_at);
@@ -0,0 +1,14 @@
+-- V3__ad_revenue_flush.sql
+
+--
+-- Name: ad_revenue_flush; Type: TABLE; Schema: public; Owner: user
+--
+
+CREATE TABLE public.ad_revenue_flush (
+                                       batch_id character varying(64) NOT NULL,
+                                       applied_at timestamp(6) with time zone DEFAULT now() NOT NULL,
+                                       CONSTRAINT ad_revenue_flush_pkey PRIMARY KEY (batch_id)
+);
+
+
+ALTER TABLE public.ad_revenue_flush OWNER TO "user";
@@ -0,0 +1,30 @@
+-- V4__monetization_event.sql
+
+--
+-- Name: monetization_event; Type: TABLE; Schema: public; Owner: user
+--
+-- Append-only ledger of monetization events, range-partitioned by day on occurred_at.
+-- Daily partitions are created ahead of time by the application (MonetizationLedger).
+-- There is no default partition: a row for a day without a partition is rejected.
+--
+
+CREATE TABLE public.monetization_event (
+                                         id bigint GENERATED BY DEFAULT AS IDENTITY,
+                                         event_type character varying(16) NOT NULL,
+                                         user_id integer NOT NULL,
+                                         application_id integer NOT NULL,
+                                         item_id integer NOT NULL,
+                                         amount double precision NOT NULL,
+                                         occurred_at timestamp(6) with time zone NOT NULL,
+                                         CONSTRAINT monetization_event_pkey PRIMARY KEY (id, occurred_at)
+) PARTITION BY RANGE (occurred_at);
+
+
+ALTER TABLE public.monetization_event OWNER TO "user";
+
+--
+-- Name: idx_monetization_event_application_id; Type: INDEX; Schema: public; Owner: user
+--
+
+CREATE INDEX idx_monetization_event_application_id
+    ON public.monetization_event USING btree (application_id, occurred_at);
@@ -0,0 +1,33 @@
+-- V5__ad_view_batch.sql
+
+--
+-- Name: ad_view_batch; Type: TABLE; Schema: public; Owner: user
+--
+-- Client batch ids of applied ad-view batches with their per-item results, so a retried batch
+-- is answered from here instead of being credited again.
+--
+
+CREATE TABLE public.ad_view_batch (
+                                    user_id integer NOT NULL,
+                                    batch_id character varying(64) NOT NULL,
+                                    results text NOT NULL,
+                                    created_at timestamp(6) with time zone DEFAULT now() NOT NULL,
+                                    CONSTRAINT ad_view_batch_pkey PRIMARY KEY (user_id, batch_id)
+);
+
+
+ALTER TABLE public.ad_view_batch OWNER TO "user";
+
+--
+-- Name: idx_ad_view_batch_created_at; Type: INDEX; Schema: public; Owner: user
+--
+
+CREATE INDEX idx_ad_view_batch_created_at ON public.ad_view_batch USING btree (created_at);
+
+--
+-- Name: monetization_event.views; Type: COLUMN; Schema: public; Owner: user
+--
+-- Number of ad views folded into one AD_VIEW event of a batch (item_id is 0 for mixed ads).
+--
+
+ALTER TABLE public.monetization_event ADD COLUMN views integer DEFAULT 1 NOT NULL;
@@ -0,0 +1,23 @@
+-- V6__revoked_token.sql
+
+--
+-- Name: revoked_token; Type: TABLE; Schema: public; Owner: user
+--
+-- Revoked JWT ids (jti) kept until the token itself expires. Replicas load them at startup, so a
+-- replica that was down while a revocation was broadcast still rejects the token.
+--
+
+CREATE TABLE public.revoked_token (
+                                    token_id character varying(64) NOT NULL,
+                                    expires_at timestamp(6) with time zone NOT NULL,
+                                    CONSTRAINT revoked_token_pkey PRIMARY KEY (token_id)
+);
+
+
+ALTER TABLE public.revoked_token OWNER TO "user";
+
+--
+-- Name: idx_revoked_token_expires_at; Type: INDEX; Schema: public; Owner: user
+--
+
+CREATE INDEX idx_revoked_token_expires_at ON public.revoked_token USING btree (expires_at);